@@ -2,7 +2,6 @@ package controleur;
 
 import modele.*;
 import vue.Ihm;
-import java.util.ArrayList;
 
 /**
  * La classe Controleur gère le déroulement des parties d'Othello et d'Awalé.
@@ -11,6 +10,7 @@ public class Controleur {
     private Ihm ihm;
     private Object partie; // Partie peut être Partie (Othello) ou PartieAwale
     private int toursPassesConsecutivement = 0;
+    private final boolean afficherStatistiques;
 
     /**
      * Constructeur de la classe Controleur.
@@ -18,7 +18,18 @@ public class Controleur {
      * @param ihm L'interface utilisateur pour interagir avec le joueur.
      */
     public Controleur(Ihm ihm) {
+        this(ihm, false);
+    }
+
+    /**
+     * Constructeur de la classe Controleur.
+     *
+     * @param ihm                  L'interface utilisateur pour interagir avec le joueur.
+     * @param afficherStatistiques Indique si les statistiques de recherche sont affichées après chaque coup de l'IA.
+     */
+    public Controleur(Ihm ihm, boolean afficherStatistiques) {
         this.ihm = ihm;
+        this.afficherStatistiques = afficherStatistiques;
     }
 
     /**
@@ -64,10 +75,10 @@ public class Controleur {
      */
     private void jouerPartieOthello() {
         PartieOthello partieOthello = (PartieOthello) partie;
-        while (!partieOthello.estTerminee() && toursPassesConsecutivement < 2) {
+        EtatPartie etat;
+        while ((etat = partieOthello.getEtat()) != EtatPartie.TERMINEE && toursPassesConsecutivement < 2) {
             ihm.afficherPlateauOthello(partieOthello.getPlateau());
             Joueur joueurCourant = partieOthello.getJoueurCourant();
-            ArrayList<int[]> coupsPossibles = (ArrayList<int[]>) partieOthello.getCoupsPossibles(joueurCourant.getCouleur());
             boolean tourDejaChange = false;
             String coup;
             boolean coupValide = false;
@@ -82,14 +93,24 @@ public class Controleur {
                     toursPassesConsecutivement++;
                     continue;
                 }
-                coup = (coupIA[0] + 1) + " " + (char) ('A' + coupIA[1]);
-                ihm.afficherMessage("L'IA joue : " + coup);
-                coupValide = partieOthello.jouerCoup(coup);
+                ihm.afficherMessage("L'IA joue : " + Coup.obtenir(coupIA[0], coupIA[1]));
+                if (afficherStatistiques) {
+                    StatistiquesRecherche statistiques = ia.getStrategie().getStatistiquesDernierCoup();
+                    if (statistiques != null) {
+                        ihm.afficherMessage("Recherche : " + statistiques);
+                    }
+                }
+                coupValide = partieOthello.jouerCoup(coupIA[0], coupIA[1]);
             } else {
+                // L'IA adverse cherche à l'avance pendant que le joueur réfléchit
+                Joueur adversaire = (joueurCourant == partieOthello.getJoueur1()) ? partieOthello.getJoueur2() : partieOthello.getJoueur1();
+                if (adversaire instanceof JoueurIA) {
+                    ((JoueurIA) adversaire).getStrategie().commencerPonderation(partieOthello, adversaire.getCouleur());
+                }
                 do {
                     coup = ihm.demanderCoupOthello(joueurCourant.getNom());
                     if (coup.equals("P")) {
-                        if (coupsPossibles.isEmpty()) {
+                        if (etat == EtatPartie.PASSE_OBLIGATOIRE) {
                             ihm.afficherMessage(joueurCourant.getNom() + " ne peut pas jouer et passe son tour.");
                             partieOthello.passerTour();
                             tourDejaChange = true;
@@ -116,6 +137,11 @@ public class Controleur {
                 partieOthello.changerTour();
             }
         }
+        for (Joueur joueur : new Joueur[]{partieOthello.getJoueur1(), partieOthello.getJoueur2()}) {
+            if (joueur instanceof JoueurIA) {
+                ((JoueurIA) joueur).getStrategie().arreterPonderation();
+            }
+        }
         ihm.afficherPlateauOthello(partieOthello.getPlateau());
         afficherResultatsPartieOthello(partieOthello);
     }
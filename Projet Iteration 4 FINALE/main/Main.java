@@ -3,6 +3,8 @@ package main;
 import controleur.Controleur;
 import vue.Ihm;
 
+import java.util.Arrays;
+
 /**
  * La classe principale pour lancer le jeu.
  */
@@ -10,11 +12,12 @@ public class Main {
     /**
      * Point d'entrée principal pour lancer le jeu.
      *
-     * @param args Les arguments de la ligne de commande.
+     * @param args Les arguments de la ligne de commande : {@code --statistiques} affiche les
+     *             statistiques de recherche après chaque coup de l'IA.
      */
     public static void main(String[] args) {
         Ihm ihm = new Ihm();
-        Controleur controleur = new Controleur(ihm);
+        Controleur controleur = new Controleur(ihm, Arrays.asList(args).contains("--statistiques"));
         controleur.jouer();
     }
 }
@@ -0,0 +1,551 @@
+package modele;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Index des positions d'une base de parties d'Othello (par exemple les parties de maîtres
+ * des archives WTHOR), stocké dans un fichier binaire et projeté en mémoire.
+ * <p>
+ * Le fichier commence par un en-tête de 16 octets (signature, version, nombre de positions,
+ * nombre de parties), suivi de trois zones :
+ * <ul>
+ *     <li>les parties, 8 octets chacune : année (2 octets), numéros des joueurs noir et
+ *     blanc (2 octets chacun), nombre de pions noirs en fin de partie et score théorique
+ *     (1 octet chacun) ;</li>
+ *     <li>les positions, 28 octets chacune, triées par hachage croissant : hachage de
+ *     Zobrist de la forme canonique de la position (8 octets, voir {@link Symetries}), rang de la première partie dans la zone suivante, nombre de
+ *     parties, de victoires et de nuls du joueur au trait, somme de ses différences de
+ *     pions finales (4 octets chacun) ;</li>
+ *     <li>les numéros des parties passées par chaque position (4 octets chacun), rangés
+ *     par position et par numéro croissant.</li>
+ * </ul>
+ * Les positions symétriques les unes des autres partagent ainsi une seule entrée, et
+ * leurs parties sont comptées ensemble. Une position est cherchée par recherche
+ * dichotomique : une requête ne coûte que quelques accès à la projection, sans rien
+ * charger à l'ouverture.
+ */
+public class BaseParties {
+    /** Fichier chargé par {@link #getParDefaut()}, relatif au répertoire de travail. */
+    public static final String FICHIER_PAR_DEFAUT = "parties.bin";
+    /** Nombre de parties qu'un coup doit avoir connues pour être proposé par {@link #chercherCoup}. */
+    public static final int PARTIES_MINIMUM = 10;
+
+    private static final int SIGNATURE = 0x4F544857; // "OTHW"
+    private static final int VERSION = 2; // 2 : positions sous forme canonique
+    private static final int TAILLE_EN_TETE = 16;
+    private static final int TAILLE_PARTIE = 8;
+    private static final int TAILLE_POSITION = 28;
+
+    private static BaseParties parDefaut;
+
+    private final ByteBuffer parties; // null pour une base vide
+    private final ByteBuffer positions;
+    private final ByteBuffer identifiants;
+    private final int nbParties;
+    private final int nbPositions;
+
+    /**
+     * Construit une base à partir des zones de son fichier.
+     *
+     * @param parties      La zone des parties, ou null pour une base vide.
+     * @param positions    La zone des positions.
+     * @param identifiants La zone des numéros de parties.
+     * @param nbParties    Le nombre de parties.
+     * @param nbPositions  Le nombre de positions.
+     */
+    private BaseParties(ByteBuffer parties, ByteBuffer positions, ByteBuffer identifiants, int nbParties, int nbPositions) {
+        this.parties = parties;
+        this.positions = positions;
+        this.identifiants = identifiants;
+        this.nbParties = nbParties;
+        this.nbPositions = nbPositions;
+    }
+
+    /**
+     * Retourne une base vide.
+     *
+     * @return Une base sans aucune partie.
+     */
+    public static BaseParties vide() {
+        return new BaseParties(null, null, null, 0, 0);
+    }
+
+    /**
+     * Retourne la base du fichier {@value #FICHIER_PAR_DEFAUT}, ou une base vide si ce
+     * fichier n'existe pas ou n'est pas valide. Le fichier n'est ouvert qu'une fois.
+     *
+     * @return La base par défaut.
+     */
+    public static synchronized BaseParties getParDefaut() {
+        if (parDefaut == null) {
+            Path fichier = Paths.get(FICHIER_PAR_DEFAUT);
+            try {
+                parDefaut = Files.isRegularFile(fichier) ? ouvrir(fichier) : vide();
+            } catch (IOException | IllegalArgumentException e) {
+                parDefaut = vide();
+            }
+        }
+        return parDefaut;
+    }
+
+    /**
+     * Ouvre un fichier de base en le projetant en mémoire.
+     *
+     * @param fichier Le fichier à ouvrir.
+     * @return La base.
+     * @throws IOException              Si le fichier ne peut pas être lu.
+     * @throws IllegalArgumentException Si le fichier n'est pas une base valide.
+     */
+    public static BaseParties ouvrir(Path fichier) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            if (taille < TAILLE_EN_TETE) {
+                throw new IllegalArgumentException("Fichier de base tronqué : " + fichier);
+            }
+            MappedByteBuffer projection = canal.map(FileChannel.MapMode.READ_ONLY, 0, taille);
+            projection.order(ByteOrder.BIG_ENDIAN);
+            int nbPositions = projection.getInt(8);
+            int nbParties = projection.getInt(12);
+            long debutPositions = TAILLE_EN_TETE + (long) nbParties * TAILLE_PARTIE;
+            long debutIdentifiants = debutPositions + (long) nbPositions * TAILLE_POSITION;
+            if (projection.getInt(0) != SIGNATURE || projection.getInt(4) != VERSION || nbPositions < 0
+                    || nbParties < 0 || debutIdentifiants > taille || (taille - debutIdentifiants) % 4 != 0) {
+                throw new IllegalArgumentException("Fichier de base invalide : " + fichier);
+            }
+            // La projection reste valide après la fermeture du canal
+            ByteBuffer parties = projection.position(TAILLE_EN_TETE).limit((int) debutPositions).slice();
+            ByteBuffer positions = projection.limit((int) taille).position((int) debutPositions)
+                    .limit((int) debutIdentifiants).slice();
+            ByteBuffer identifiants = projection.limit((int) taille).position((int) debutIdentifiants).slice();
+            return new BaseParties(parties, positions, identifiants, nbParties, nbPositions);
+        }
+    }
+
+    /**
+     * Retourne le nombre de parties de la base.
+     *
+     * @return Le nombre de parties.
+     */
+    public int getNbParties() {
+        return nbParties;
+    }
+
+    /**
+     * Retourne le nombre de positions distinctes de la base.
+     *
+     * @return Le nombre de positions.
+     */
+    public int getNbPositions() {
+        return nbPositions;
+    }
+
+    /**
+     * Cherche les parties passées par une position.
+     *
+     * @param hash Le hachage canonique de la position ({@link PartieOthello#getHashCanonique()}).
+     * @return Les résultats de ces parties pour le joueur au trait, ou null si la position
+     * n'est pas dans la base (aucune partie ou trop peu, voir {@link Constructeur#ecrire}).
+     */
+    public Resultats chercher(long hash) {
+        int indice = chercherIndice(hash);
+        if (indice < 0) {
+            return null;
+        }
+        int adresse = indice * TAILLE_POSITION;
+        return new Resultats(this, positions.getInt(adresse + 8), positions.getInt(adresse + 12),
+                positions.getInt(adresse + 16), positions.getInt(adresse + 20), positions.getInt(adresse + 24));
+    }
+
+    /**
+     * Choisit le coup qui a le mieux réussi aux joueurs de la base dans la position d'une
+     * partie en cours : celui dont le score moyen est le meilleur parmi les coups joués dans
+     * au moins {@value #PARTIES_MINIMUM} parties, le plus joué en cas d'égalité.
+     *
+     * @param partie La partie d'Othello en cours (elle n'est pas modifiée).
+     * @return Le coup sous forme [ligne, colonne], ou null si aucun coup n'a été assez joué.
+     */
+    public int[] chercherCoup(PartieOthello partie) {
+        if (nbPositions == 0 || partie.getEtat() != EtatPartie.COUPS_POSSIBLES) {
+            return null;
+        }
+        PartieOthello simulation = partie.copier();
+        long coupsPossibles = simulation.getMasqueCoupsPossibles(simulation.getJoueurCourant().getCouleur());
+        int meilleurCoup = -1;
+        double meilleurScore = -1;
+        int meilleurNombre = 0;
+        while (coupsPossibles != 0L) {
+            int coup = Long.numberOfTrailingZeros(coupsPossibles);
+            coupsPossibles &= coupsPossibles - 1;
+            simulation.effectuerCoup(coup);
+            Resultats suite = chercher(simulation.getHashCanonique());
+            simulation.annulerCoup();
+            if (suite == null || suite.getNbParties() < PARTIES_MINIMUM) {
+                continue;
+            }
+            double score = 1 - suite.getScore(); // La suite est vue par l'adversaire
+            if (score > meilleurScore || (score == meilleurScore && suite.getNbParties() > meilleurNombre)) {
+                meilleurCoup = coup;
+                meilleurScore = score;
+                meilleurNombre = suite.getNbParties();
+            }
+        }
+        return (meilleurCoup < 0) ? null : new int[]{meilleurCoup >>> 3, meilleurCoup & 7};
+    }
+
+    /**
+     * Retourne l'année d'une partie.
+     *
+     * @param partie Le numéro de la partie.
+     * @return L'année.
+     */
+    public int getAnnee(int partie) {
+        return parties.getShort(partie * TAILLE_PARTIE) & 0xFFFF;
+    }
+
+    /**
+     * Retourne le numéro du joueur qui avait les noirs dans une partie.
+     *
+     * @param partie Le numéro de la partie.
+     * @return Le numéro du joueur, dans la liste des joueurs des archives.
+     */
+    public int getJoueurNoir(int partie) {
+        return parties.getShort(partie * TAILLE_PARTIE + 2) & 0xFFFF;
+    }
+
+    /**
+     * Retourne le numéro du joueur qui avait les blancs dans une partie.
+     *
+     * @param partie Le numéro de la partie.
+     * @return Le numéro du joueur, dans la liste des joueurs des archives.
+     */
+    public int getJoueurBlanc(int partie) {
+        return parties.getShort(partie * TAILLE_PARTIE + 4) & 0xFFFF;
+    }
+
+    /**
+     * Retourne le nombre de pions noirs à la fin d'une partie.
+     *
+     * @param partie Le numéro de la partie.
+     * @return Le nombre de pions noirs, les cases vides comptant pour le vainqueur.
+     */
+    public int getScoreNoir(int partie) {
+        return parties.get(partie * TAILLE_PARTIE + 6) & 0xFF;
+    }
+
+    /**
+     * Retourne le score théorique d'une partie : le nombre de pions noirs en fin de partie
+     * avec un jeu parfait à partir d'un certain coup.
+     *
+     * @param partie Le numéro de la partie.
+     * @return Le score théorique.
+     */
+    public int getScoreTheorique(int partie) {
+        return parties.get(partie * TAILLE_PARTIE + 7) & 0xFF;
+    }
+
+    /**
+     * Recherche dichotomique d'un hachage parmi les positions.
+     *
+     * @param hash Le hachage recherché.
+     * @return L'indice de la position, ou -1 si le hachage est absent.
+     */
+    private int chercherIndice(long hash) {
+        int bas = 0;
+        int haut = nbPositions - 1;
+        while (bas <= haut) {
+            int milieu = (bas + haut) >>> 1;
+            long cle = positions.getLong(milieu * TAILLE_POSITION);
+            if (cle < hash) {
+                bas = milieu + 1;
+            } else if (cle > hash) {
+                haut = milieu - 1;
+            } else {
+                return milieu;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Résultats des parties passées par une position, pour le joueur qui y avait le trait.
+     */
+    public static class Resultats {
+        private final BaseParties base;
+        private final int debut;
+        private final int nbParties;
+        private final int nbVictoires;
+        private final int nbNuls;
+        private final int sommeDifferences;
+
+        /**
+         * Construit les résultats d'une position.
+         *
+         * @param base             La base qui les contient.
+         * @param debut            Le rang du numéro de la première partie.
+         * @param nbParties        Le nombre de parties.
+         * @param nbVictoires      Le nombre de victoires du joueur au trait.
+         * @param nbNuls           Le nombre de parties nulles.
+         * @param sommeDifferences La somme des différences de pions finales du joueur au trait.
+         */
+        private Resultats(BaseParties base, int debut, int nbParties, int nbVictoires, int nbNuls, int sommeDifferences) {
+            this.base = base;
+            this.debut = debut;
+            this.nbParties = nbParties;
+            this.nbVictoires = nbVictoires;
+            this.nbNuls = nbNuls;
+            this.sommeDifferences = sommeDifferences;
+        }
+
+        /**
+         * Retourne le nombre de parties passées par la position.
+         *
+         * @return Le nombre de parties.
+         */
+        public int getNbParties() {
+            return nbParties;
+        }
+
+        /**
+         * Retourne le nombre de parties gagnées par le joueur au trait.
+         *
+         * @return Le nombre de victoires.
+         */
+        public int getNbVictoires() {
+            return nbVictoires;
+        }
+
+        /**
+         * Retourne le nombre de parties nulles.
+         *
+         * @return Le nombre de nuls.
+         */
+        public int getNbNuls() {
+            return nbNuls;
+        }
+
+        /**
+         * Retourne le nombre de parties perdues par le joueur au trait.
+         *
+         * @return Le nombre de défaites.
+         */
+        public int getNbDefaites() {
+            return nbParties - nbVictoires - nbNuls;
+        }
+
+        /**
+         * Retourne le score moyen du joueur au trait, une victoire valant 1 et un nul 1/2.
+         *
+         * @return Le score, entre 0 et 1.
+         */
+        public double getScore() {
+            return (nbVictoires + nbNuls / 2.0) / nbParties;
+        }
+
+        /**
+         * Retourne la différence de pions finale moyenne du joueur au trait.
+         *
+         * @return La différence moyenne.
+         */
+        public double getDifferenceMoyenne() {
+            return (double) sommeDifferences / nbParties;
+        }
+
+        /**
+         * Retourne les numéros des parties passées par la position, par ordre croissant.
+         *
+         * @return Les numéros des parties.
+         */
+        public int[] getParties() {
+            int[] numeros = new int[nbParties];
+            for (int i = 0; i < nbParties; i++) {
+                numeros[i] = base.identifiants.getInt((debut + i) * 4);
+            }
+            return numeros;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d partie(s) : %d victoire(s), %d nul(s), %d défaite(s), score %.1f %%,"
+                            + " différence moyenne %+.1f", nbParties, nbVictoires, nbNuls, getNbDefaites(),
+                    100 * getScore(), getDifferenceMoyenne());
+        }
+    }
+
+    /**
+     * Construit un fichier de base en mémoire, partie après partie.
+     * <p>
+     * Chaque position d'une partie est ajoutée après la partie elle-même ; les numéros de
+     * parties doivent donc croître, ce qui range les parties de chaque position dans l'ordre.
+     */
+    public static class Constructeur {
+        private long[] enregistrementsParties = new long[1024];
+        private int nbPartiesAjoutees;
+        private long[] hashes = new long[1 << 16];
+        private int[] occurrences = new int[1 << 16]; // Numéro de partie, bit de poids fort : second joueur au trait
+        private int nbOccurrences;
+
+        /**
+         * Ajoute une partie.
+         *
+         * @param annee          L'année de la partie.
+         * @param joueurNoir     Le numéro du joueur noir.
+         * @param joueurBlanc    Le numéro du joueur blanc.
+         * @param scoreNoir      Le nombre de pions noirs en fin de partie.
+         * @param scoreTheorique Le score théorique.
+         * @return Le numéro de la partie, à passer à {@link #ajouterPosition}.
+         */
+        public int ajouterPartie(int annee, int joueurNoir, int joueurBlanc, int scoreNoir, int scoreTheorique) {
+            if (nbPartiesAjoutees == enregistrementsParties.length) {
+                enregistrementsParties = Arrays.copyOf(enregistrementsParties, nbPartiesAjoutees * 2);
+            }
+            enregistrementsParties[nbPartiesAjoutees] = ((long) (annee & 0xFFFF) << 48) | ((long) (joueurNoir & 0xFFFF) << 32)
+                    | ((long) (joueurBlanc & 0xFFFF) << 16) | ((scoreNoir & 0xFF) << 8) | (scoreTheorique & 0xFF);
+            return nbPartiesAjoutees++;
+        }
+
+        /**
+         * Ajoute une position atteinte par une partie.
+         *
+         * @param partie              Le numéro de la partie.
+         * @param hash                Le hachage canonique de la position.
+         * @param secondJoueurAuTrait true si les blancs ont le trait dans cette position.
+         */
+        public void ajouterPosition(int partie, long hash, boolean secondJoueurAuTrait) {
+            if (nbOccurrences == hashes.length) {
+                hashes = Arrays.copyOf(hashes, nbOccurrences * 2);
+                occurrences = Arrays.copyOf(occurrences, nbOccurrences * 2);
+            }
+            hashes[nbOccurrences] = hash;
+            occurrences[nbOccurrences++] = secondJoueurAuTrait ? (partie | Integer.MIN_VALUE) : partie;
+        }
+
+        /**
+         * Retourne le nombre de parties ajoutées.
+         *
+         * @return Le nombre de parties.
+         */
+        public int getNbParties() {
+            return nbPartiesAjoutees;
+        }
+
+        /**
+         * Trie les positions ajoutées et écrit le fichier de base. Les positions atteintes
+         * par trop peu de parties peuvent être écartées : la plupart des positions de milieu
+         * et de fin de partie n'apparaissent que dans une seule partie et n'apprennent rien
+         * sur la valeur d'un coup, mais occupent l'essentiel du fichier.
+         *
+         * @param fichier        Le fichier à écrire.
+         * @param partiesMinimum Le nombre de parties en dessous duquel une position est écartée.
+         * @return Le nombre de positions distinctes écrites.
+         * @throws IOException Si le fichier ne peut pas être écrit.
+         */
+        public int ecrire(Path fichier, int partiesMinimum) throws IOException {
+            trier();
+            int nbPositions = 0;
+            for (int debut = 0, fin; debut < nbOccurrences; debut = fin) {
+                fin = finPosition(debut);
+                if (fin - debut >= partiesMinimum) {
+                    nbPositions++;
+                }
+            }
+            try (DataOutputStream sortie = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(fichier), 1 << 16))) {
+                sortie.writeInt(SIGNATURE);
+                sortie.writeInt(VERSION);
+                sortie.writeInt(nbPositions);
+                sortie.writeInt(nbPartiesAjoutees);
+                for (int i = 0; i < nbPartiesAjoutees; i++) {
+                    sortie.writeLong(enregistrementsParties[i]);
+                }
+                int rang = 0; // Rang dans la zone des numéros de la première partie de la position
+                for (int debut = 0, fin; debut < nbOccurrences; debut = fin) {
+                    fin = finPosition(debut);
+                    if (fin - debut < partiesMinimum) {
+                        continue;
+                    }
+                    int nbVictoires = 0;
+                    int nbNuls = 0;
+                    int sommeDifferences = 0;
+                    for (int i = debut; i < fin; i++) {
+                        int occurrence = occurrences[i];
+                        int scoreNoir = (int) (enregistrementsParties[occurrence & Integer.MAX_VALUE] >>> 8) & 0xFF;
+                        int difference = (occurrence < 0) ? 64 - 2 * scoreNoir : 2 * scoreNoir - 64;
+                        nbVictoires += (difference > 0) ? 1 : 0;
+                        nbNuls += (difference == 0) ? 1 : 0;
+                        sommeDifferences += difference;
+                    }
+                    sortie.writeLong(hashes[debut]);
+                    sortie.writeInt(rang);
+                    sortie.writeInt(fin - debut);
+                    sortie.writeInt(nbVictoires);
+                    sortie.writeInt(nbNuls);
+                    sortie.writeInt(sommeDifferences);
+                    rang += fin - debut;
+                }
+                for (int debut = 0, fin; debut < nbOccurrences; debut = fin) {
+                    fin = finPosition(debut);
+                    for (int i = debut; i < fin && fin - debut >= partiesMinimum; i++) {
+                        sortie.writeInt(occurrences[i] & Integer.MAX_VALUE);
+                    }
+                }
+            }
+            return nbPositions;
+        }
+
+        /**
+         * Retourne la fin de la suite des occurrences triées d'une même position.
+         *
+         * @param debut L'indice de la première occurrence de la position.
+         * @return L'indice qui suit sa dernière occurrence.
+         */
+        private int finPosition(int debut) {
+            int fin = debut + 1;
+            while (fin < nbOccurrences && hashes[fin] == hashes[debut]) {
+                fin++;
+            }
+            return fin;
+        }
+
+        /**
+         * Trie les occurrences par hachage croissant (ordre signé, comme les recherches) par
+         * un tri par base stable, octet par octet : l'ordre des parties est préservé.
+         */
+        private void trier() {
+            long[] hashesTries = new long[nbOccurrences];
+            int[] occurrencesTriees = new int[nbOccurrences];
+            int[] compteurs = new int[257];
+            for (int decalage = 0; decalage < 64; decalage += 8) {
+                int signe = (decalage == 56) ? 0x80 : 0; // Le dernier octet porte le signe
+                Arrays.fill(compteurs, 0);
+                for (int i = 0; i < nbOccurrences; i++) {
+                    compteurs[(((int) (hashes[i] >>> decalage) & 0xFF) ^ signe) + 1]++;
+                }
+                for (int octet = 0; octet < 256; octet++) {
+                    compteurs[octet + 1] += compteurs[octet];
+                }
+                for (int i = 0; i < nbOccurrences; i++) {
+                    int rang = compteurs[((int) (hashes[i] >>> decalage) & 0xFF) ^ signe]++;
+                    hashesTries[rang] = hashes[i];
+                    occurrencesTriees[rang] = occurrences[i];
+                }
+                long[] hashesEchanges = hashes;
+                hashes = hashesTries;
+                hashesTries = hashesEchanges;
+                int[] occurrencesEchangees = occurrences;
+                occurrences = occurrencesTriees;
+                occurrencesTriees = occurrencesEchangees;
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package modele;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bibliothèque d'ouvertures d'Othello stockée dans un fichier binaire trié.
+ * <p>
+ * Le fichier commence par un en-tête de 16 octets (signature, version, nombre d'entrées),
+ * suivi d'entrées de 16 octets triées par hachage croissant : hachage de Zobrist de la
+ * forme canonique de la position (8 octets), meilleur coup dans l'orientation de cette
+ * forme (2 octets), profondeur de recherche (2 octets) et score (4 octets). Les positions
+ * symétriques les unes des autres partagent ainsi une seule entrée (voir {@link Symetries}).
+ * Le fichier est projeté en mémoire avec {@link FileChannel#map} et interrogé par
+ * recherche dichotomique : l'ouverture ne lit ni n'analyse son contenu.
+ */
+public class BibliothequeOuvertures {
+    /** Fichier chargé par {@link #getParDefaut()}, relatif au répertoire de travail. */
+    public static final String FICHIER_PAR_DEFAUT = "ouvertures.bin";
+
+    private static final int SIGNATURE = 0x4F544842; // "OTHB"
+    private static final int VERSION = 2; // 2 : positions sous forme canonique
+    private static final int TAILLE_EN_TETE = 16;
+    private static final int TAILLE_ENTREE = 16;
+
+    private static BibliothequeOuvertures parDefaut;
+
+    private final ByteBuffer entrees; // null pour une bibliothèque vide
+    private final int nbEntrees;
+
+    /**
+     * Construit une bibliothèque à partir de la zone des entrées.
+     *
+     * @param entrees   Les entrées triées, ou null pour une bibliothèque vide.
+     * @param nbEntrees Le nombre d'entrées.
+     */
+    private BibliothequeOuvertures(ByteBuffer entrees, int nbEntrees) {
+        this.entrees = entrees;
+        this.nbEntrees = nbEntrees;
+    }
+
+    /**
+     * Retourne une bibliothèque vide.
+     *
+     * @return Une bibliothèque sans aucune entrée.
+     */
+    public static BibliothequeOuvertures vide() {
+        return new BibliothequeOuvertures(null, 0);
+    }
+
+    /**
+     * Retourne la bibliothèque du fichier {@value #FICHIER_PAR_DEFAUT}, ou une bibliothèque
+     * vide si ce fichier n'existe pas ou n'est pas valide. Le fichier n'est ouvert qu'une fois.
+     *
+     * @return La bibliothèque par défaut.
+     */
+    public static synchronized BibliothequeOuvertures getParDefaut() {
+        if (parDefaut == null) {
+            Path fichier = Paths.get(FICHIER_PAR_DEFAUT);
+            try {
+                parDefaut = Files.isRegularFile(fichier) ? ouvrir(fichier) : vide();
+            } catch (IOException | IllegalArgumentException e) {
+                parDefaut = vide();
+            }
+        }
+        return parDefaut;
+    }
+
+    /**
+     * Ouvre un fichier de bibliothèque en le projetant en mémoire.
+     *
+     * @param fichier Le fichier à ouvrir.
+     * @return La bibliothèque.
+     * @throws IOException              Si le fichier ne peut pas être lu.
+     * @throws IllegalArgumentException Si le fichier n'est pas une bibliothèque valide.
+     */
+    public static BibliothequeOuvertures ouvrir(Path fichier) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            if (taille < TAILLE_EN_TETE) {
+                throw new IllegalArgumentException("Fichier de bibliothèque tronqué : " + fichier);
+            }
+            MappedByteBuffer projection = canal.map(FileChannel.MapMode.READ_ONLY, 0, taille);
+            projection.order(ByteOrder.BIG_ENDIAN);
+            long nbEntrees = projection.getLong(8);
+            if (projection.getInt(0) != SIGNATURE || projection.getInt(4) != VERSION
+                    || nbEntrees < 0 || TAILLE_EN_TETE + nbEntrees * TAILLE_ENTREE != taille) {
+                throw new IllegalArgumentException("Fichier de bibliothèque invalide : " + fichier);
+            }
+            // La projection reste valide après la fermeture du canal
+            ByteBuffer entrees = projection.position(TAILLE_EN_TETE).slice();
+            return new BibliothequeOuvertures(entrees, (int) nbEntrees);
+        }
+    }
+
+    /**
+     * Retourne le nombre de positions de la bibliothèque.
+     *
+     * @return Le nombre d'entrées.
+     */
+    public int getNbEntrees() {
+        return nbEntrees;
+    }
+
+    /**
+     * Cherche le coup de la bibliothèque pour une partie en cours. Le coup n'est renvoyé
+     * que s'il est légal pour le joueur courant, ce qui écarte les collisions de hachage.
+     *
+     * @param partie La partie d'Othello en cours.
+     * @return Le coup sous forme [ligne, colonne], ou null si la position est absente.
+     */
+    public int[] chercherCoup(PartieOthello partie) {
+        if (nbEntrees == 0) {
+            return null;
+        }
+        int symetrie = partie.getSymetrieCanonique();
+        int indice = chercher(partie.getHashCanonique(symetrie));
+        if (indice < 0) {
+            return null;
+        }
+        int coupCanonique = entrees.getShort(indice * TAILLE_ENTREE + 8);
+        if (coupCanonique < 0 || coupCanonique > 63) {
+            return null;
+        }
+        int coup = Symetries.restaurerCase(coupCanonique, symetrie);
+        long coupsPossibles = partie.getMasqueCoupsPossibles(partie.getJoueurCourant().getCouleur());
+        if (((coupsPossibles >>> coup) & 1L) == 0) {
+            return null;
+        }
+        return new int[]{coup >>> 3, coup & 7};
+    }
+
+    /**
+     * Retourne le score enregistré pour une position.
+     *
+     * @param hash Le hachage canonique de la position ({@link PartieOthello#getHashCanonique()}).
+     * @return Le score pour le joueur au trait, ou null si la position est absente.
+     */
+    public Integer chercherScore(long hash) {
+        int indice = chercher(hash);
+        return (indice < 0) ? null : entrees.getInt(indice * TAILLE_ENTREE + 12);
+    }
+
+    /**
+     * Recherche dichotomique d'un hachage parmi les entrées.
+     *
+     * @param hash Le hachage recherché.
+     * @return L'indice de l'entrée, ou -1 si le hachage est absent.
+     */
+    private int chercher(long hash) {
+        int bas = 0;
+        int haut = nbEntrees - 1;
+        while (bas <= haut) {
+            int milieu = (bas + haut) >>> 1;
+            long cle = entrees.getLong(milieu * TAILLE_ENTREE);
+            if (cle < hash) {
+                bas = milieu + 1;
+            } else if (cle > hash) {
+                haut = milieu - 1;
+            } else {
+                return milieu;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Écrit un fichier de bibliothèque. Les entrées sont triées par hachage ; en cas de
+     * doublon, l'entrée de plus grande profondeur est conservée.
+     *
+     * @param fichier Le fichier à écrire.
+     * @param entrees Les entrées, chacune sous la forme {hachage canonique, coup dans
+     *                l'orientation canonique, profondeur, score}.
+     * @throws IOException Si le fichier ne peut pas être écrit.
+     */
+    public static void ecrire(Path fichier, List<long[]> entrees) throws IOException {
+        long[][] triees = entrees.toArray(new long[0][]);
+        Arrays.sort(triees, (a, b) -> (a[0] != b[0]) ? Long.compare(a[0], b[0]) : Long.compare(b[2], a[2]));
+        int nbUniques = 0;
+        for (int i = 0; i < triees.length; i++) {
+            if (i == 0 || triees[i][0] != triees[i - 1][0]) {
+                triees[nbUniques++] = triees[i];
+            }
+        }
+
+        ByteBuffer tampon = ByteBuffer.allocate(TAILLE_EN_TETE + nbUniques * TAILLE_ENTREE).order(ByteOrder.BIG_ENDIAN);
+        tampon.putInt(SIGNATURE).putInt(VERSION).putLong(nbUniques);
+        for (int i = 0; i < nbUniques; i++) {
+            long[] entree = triees[i];
+            tampon.putLong(entree[0]).putShort((short) entree[1]).putShort((short) entree[2]).putInt((int) entree[3]);
+        }
+        tampon.flip();
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (tampon.hasRemaining()) {
+                canal.write(tampon);
+            }
+        }
+    }
+}
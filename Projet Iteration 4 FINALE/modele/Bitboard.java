@@ -0,0 +1,126 @@
+package modele;
+
+/**
+ * Opérations sur les plateaux d'Othello représentés par des bitboards.
+ * <p>
+ * Un bitboard est un {@code long} dont le bit {@code ligne * 8 + colonne} vaut 1
+ * lorsque la case correspondante est occupée. Chaque couleur possède son propre bitboard.
+ */
+public final class Bitboard {
+    /** Toutes les cases sauf la colonne A. */
+    static final long SAUF_COLONNE_A = 0xFEFEFEFEFEFEFEFEL;
+    /** Toutes les cases sauf la colonne H. */
+    static final long SAUF_COLONNE_H = 0x7F7F7F7F7F7F7F7FL;
+
+    private Bitboard() {
+    }
+
+    /**
+     * Décale un bitboard d'une case dans l'une des 8 directions.
+     *
+     * @param b         Le bitboard à décaler.
+     * @param direction La direction (0 à 7).
+     * @return Le bitboard décalé, sans débordement d'un bord à l'autre.
+     */
+    static long decaler(long b, int direction) {
+        switch (direction) {
+            case 0:
+                return (b << 1) & SAUF_COLONNE_A;  // est
+            case 1:
+                return (b >>> 1) & SAUF_COLONNE_H; // ouest
+            case 2:
+                return b << 8;                     // sud
+            case 3:
+                return b >>> 8;                    // nord
+            case 4:
+                return (b << 9) & SAUF_COLONNE_A;  // sud-est
+            case 5:
+                return (b << 7) & SAUF_COLONNE_H;  // sud-ouest
+            case 6:
+                return (b >>> 7) & SAUF_COLONNE_A; // nord-est
+            default:
+                return (b >>> 9) & SAUF_COLONNE_H; // nord-ouest
+        }
+    }
+
+    /**
+     * Calcule l'ensemble des coups légaux d'un joueur.
+     *
+     * @param joueur     Les pions du joueur qui doit jouer.
+     * @param adversaire Les pions de son adversaire.
+     * @return Le masque des cases où le joueur peut jouer.
+     */
+    public static long coupsLegaux(long joueur, long adversaire) {
+        long vides = ~(joueur | adversaire);
+        // Directions déroulées : chaque appel reçoit une direction constante que le compilateur JIT propage
+        return coupsDirection(joueur, adversaire, 0) & vides
+                | coupsDirection(joueur, adversaire, 1) & vides
+                | coupsDirection(joueur, adversaire, 2) & vides
+                | coupsDirection(joueur, adversaire, 3) & vides
+                | coupsDirection(joueur, adversaire, 4) & vides
+                | coupsDirection(joueur, adversaire, 5) & vides
+                | coupsDirection(joueur, adversaire, 6) & vides
+                | coupsDirection(joueur, adversaire, 7) & vides;
+    }
+
+    /**
+     * Calcule les cases situées au bout d'une ligne de pions adverses partant d'un pion
+     * du joueur, dans une direction donnée.
+     *
+     * @param joueur     Les pions du joueur qui doit jouer.
+     * @param adversaire Les pions de son adversaire.
+     * @param direction  La direction (0 à 7).
+     * @return Les cases candidates (occupées ou non).
+     */
+    private static long coupsDirection(long joueur, long adversaire, int direction) {
+        long t = decaler(joueur, direction) & adversaire;
+        t |= decaler(t, direction) & adversaire;
+        t |= decaler(t, direction) & adversaire;
+        t |= decaler(t, direction) & adversaire;
+        t |= decaler(t, direction) & adversaire;
+        t |= decaler(t, direction) & adversaire;
+        return decaler(t, direction);
+    }
+
+    /**
+     * Calcule les pions retournés par un coup.
+     *
+     * @param indiceCase L'indice de la case jouée (0 à 63).
+     * @param joueur     Les pions du joueur qui joue.
+     * @param adversaire Les pions de son adversaire.
+     * @return Le masque des pions adverses retournés, 0 si le coup est invalide.
+     */
+    public static long retournements(int indiceCase, long joueur, long adversaire) {
+        long coup = 1L << indiceCase;
+        if (((joueur | adversaire) & coup) != 0) {
+            return 0L;
+        }
+        return retournementsDirection(coup, joueur, adversaire, 0)
+                | retournementsDirection(coup, joueur, adversaire, 1)
+                | retournementsDirection(coup, joueur, adversaire, 2)
+                | retournementsDirection(coup, joueur, adversaire, 3)
+                | retournementsDirection(coup, joueur, adversaire, 4)
+                | retournementsDirection(coup, joueur, adversaire, 5)
+                | retournementsDirection(coup, joueur, adversaire, 6)
+                | retournementsDirection(coup, joueur, adversaire, 7);
+    }
+
+    /**
+     * Calcule les pions retournés par un coup dans une direction donnée.
+     *
+     * @param coup       Le masque de la case jouée.
+     * @param joueur     Les pions du joueur qui joue.
+     * @param adversaire Les pions de son adversaire.
+     * @param direction  La direction (0 à 7).
+     * @return Le masque des pions retournés dans cette direction.
+     */
+    private static long retournementsDirection(long coup, long joueur, long adversaire, int direction) {
+        long ligne = 0L;
+        long x = decaler(coup, direction);
+        while ((x & adversaire) != 0) {
+            ligne |= x;
+            x = decaler(x, direction);
+        }
+        return ((x & joueur) != 0) ? ligne : 0L;
+    }
+}
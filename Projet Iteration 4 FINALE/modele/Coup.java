@@ -2,10 +2,21 @@ package modele;
 
 /**
  * Représente un coup joué sur le plateau.
+ * <p>
+ * Un coup est immuable : les 64 coups possibles sont créés une seule fois et partagés
+ * par les méthodes {@link #obtenir(int)}, {@link #obtenir(int, int)} et {@link #lire(String)}.
  */
 public class Coup {
-    private int ligne;
-    private int colonne;
+    private static final Coup[] COUPS = new Coup[64];
+
+    static {
+        for (int indiceCase = 0; indiceCase < 64; indiceCase++) {
+            COUPS[indiceCase] = new Coup(indiceCase >>> 3, indiceCase & 7);
+        }
+    }
+
+    private final int ligne;
+    private final int colonne;
 
     /**
      * Construit un objet Coup à partir d'une représentation sous forme de chaîne de caractère.
@@ -29,6 +40,49 @@ public class Coup {
         this.colonne = colonne;
     }
 
+    /**
+     * Retourne le coup correspondant à une case.
+     *
+     * @param indiceCase L'indice de la case (ligne * 8 + colonne, de 0 à 63).
+     * @return Le coup partagé correspondant.
+     * @throws IllegalArgumentException Si l'indice est hors du plateau.
+     */
+    public static Coup obtenir(int indiceCase) {
+        if (indiceCase < 0 || indiceCase > 63) {
+            throw new IllegalArgumentException("Case hors du plateau : " + indiceCase);
+        }
+        return COUPS[indiceCase];
+    }
+
+    /**
+     * Retourne le coup correspondant à une ligne et une colonne.
+     *
+     * @param ligne   La ligne du coup (de 0 à 7).
+     * @param colonne La colonne du coup (de 0 à 7).
+     * @return Le coup partagé correspondant.
+     * @throws IllegalArgumentException Si la case est hors du plateau.
+     */
+    public static Coup obtenir(int ligne, int colonne) {
+        if (ligne < 0 || ligne > 7 || colonne < 0 || colonne > 7) {
+            throw new IllegalArgumentException("Case hors du plateau : " + ligne + ", " + colonne);
+        }
+        return COUPS[ligne * 8 + colonne];
+    }
+
+    /**
+     * Retourne le coup correspondant à sa représentation textuelle, sans découpage de chaîne.
+     *
+     * @param coup La représentation du coup (ex: "3 D").
+     * @return Le coup partagé correspondant.
+     * @throws IllegalArgumentException Si la chaîne ne désigne pas une case du plateau.
+     */
+    public static Coup lire(String coup) {
+        if (coup.length() != 3 || coup.charAt(1) != ' ') {
+            throw new IllegalArgumentException("Coup invalide : " + coup);
+        }
+        return obtenir(coup.charAt(0) - '1', coup.charAt(2) - 'A');
+    }
+
     /**
      * Retourne la ligne du coup.
      *
@@ -46,4 +100,23 @@ public class Coup {
     public int getColonne() {
         return colonne;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retourne l'indice de la case du coup.
+     *
+     * @return ligne * 8 + colonne.
+     */
+    public int getIndiceCase() {
+        return ligne * 8 + colonne;
+    }
+
+    /**
+     * Retourne la représentation textuelle du coup, telle que saisie par les joueurs.
+     *
+     * @return Le coup sous forme de chaîne (ex: "3 D").
+     */
+    @Override
+    public String toString() {
+        return (ligne + 1) + " " + (char) ('A' + colonne);
+    }
+}
@@ -0,0 +1,13 @@
+package modele;
+
+/**
+ * État d'une position d'Othello pour le joueur qui a le trait.
+ */
+public enum EtatPartie {
+    /** Le joueur courant a au moins un coup légal. */
+    COUPS_POSSIBLES,
+    /** Le joueur courant n'a aucun coup légal mais son adversaire en a : il doit passer. */
+    PASSE_OBLIGATOIRE,
+    /** Aucun des deux joueurs ne peut jouer : la partie est terminée. */
+    TERMINEE
+}
@@ -0,0 +1,501 @@
+package modele;
+
+/**
+ * Fonction d'évaluation des positions d'Othello à base de tables précalculées.
+ * <p>
+ * L'évaluation est la somme de termes lus dans des tables indexées par motifs :
+ * <ul>
+ *     <li>la valeur des cases, lue octet par octet pour chacune des 8 lignes ;</li>
+ *     <li>les 4 bords (8 cases), qui pénalisent les cases C devant un coin vide ;</li>
+ *     <li>les 4 régions de coin (3x3 cases), qui pénalisent les cases X devant un coin vide ;</li>
+ *     <li>les 2 grandes diagonales, qui pénalisent les coins offerts à l'adversaire.</li>
+ * </ul>
+ * Un motif est indexé en base 3 (0 : vide, 1 : joueur, 2 : adversaire) ; l'indice se
+ * calcule à partir des octets extraits des deux bitboards. S'y ajoutent la mobilité,
+ * les pions frontières et les pions stables, calculés directement sur les bitboards.
+ * Toutes les tables et tous les poids existent en une version par phase de jeu.
+ * <p>
+ * La valeur des cases ne dépend que des cases modifiées par chaque coup : {@link PartieOthello}
+ * la tient à jour pour toutes les phases, ce qui évite de la recalculer à chaque feuille.
+ */
+public final class EvaluationOthello {
+    /** Score d'une partie gagnée, auquel s'ajoute la différence de pions. */
+    public static final int SCORE_VICTOIRE = 100_000;
+    /** Nombre de phases de jeu, déterminées par le nombre de pions sur le plateau. */
+    static final int NB_PHASES = 4;
+
+    // Poids par phase : ouverture, début de milieu de partie, fin de milieu de partie, finale
+    private static final int[] POIDS_COIN = {40, 35, 30, 20};
+    private static final int[] POIDS_BORD_A = {8, 6, 4, 2};
+    private static final int[] POIDS_BORD_B = {4, 4, 3, 2};
+    private static final int[] POIDS_ANNEAU = {-3, -2, -1, 0};
+    private static final int[] POIDS_CENTRE = {2, 1, 0, 0};
+    private static final int[] PENALITE_CASE_X = {60, 50, 35, 15};
+    private static final int[] PENALITE_CASE_C = {25, 20, 15, 5};
+    private static final int[] PENALITE_COIN_OFFERT = {40, 40, 30, 15};
+    private static final int[] POIDS_MOBILITE = {12, 10, 8, 4};
+    private static final int[] POIDS_FRONTIERE = {6, 5, 4, 2};
+    private static final int[] POIDS_STABILITE = {20, 25, 30, 40};
+    private static final int[] POIDS_PIONS = {0, 0, 0, 3};
+
+    private static final int VIDE = 0;
+    private static final int JOUEUR = 1;
+    private static final int ADVERSAIRE = 2;
+
+    private static final long COLONNE_A = 0x0101010101010101L;
+    private static final long DIAGONALE_A1_H8 = 0x8040201008040201L;
+    private static final long DIAGONALE_H1_A8 = 0x0102040810204080L;
+    private static final long BORDS_HORIZONTAUX = 0x8181818181818181L;
+    private static final long BORDS_VERTICAUX = 0xFF000000000000FFL;
+    private static final long BORDS = BORDS_HORIZONTAUX | BORDS_VERTICAUX;
+
+    /** Valeur en base 3 d'un masque de 9 bits au plus : le bit i vaut 3^i. */
+    private static final int[] TERNAIRE = new int[512];
+    /** Valeur de chaque case, par case puis par phase. */
+    private static final int[][] POIDS_CASES = new int[64][NB_PHASES];
+    /** Valeur des cases, par phase, ligne et contenu de la ligne (octet). */
+    private static final int[][][] TABLE_LIGNES = new int[NB_PHASES][8][256];
+    private static final int[][] TABLE_BORDS = new int[NB_PHASES][6561];
+    private static final int[][] TABLE_COINS = new int[NB_PHASES][19683];
+    private static final int[][] TABLE_DIAGONALES = new int[NB_PHASES][6561];
+    /** Diagonales d'au moins 3 cases, dans les deux sens. */
+    private static final long[] DIAGONALES = new long[22];
+
+    static {
+        for (int masque = 0; masque < TERNAIRE.length; masque++) {
+            int valeur = 0;
+            for (int i = 8; i >= 0; i--) {
+                valeur = valeur * 3 + ((masque >>> i) & 1);
+            }
+            TERNAIRE[masque] = valeur;
+        }
+        for (int phase = 0; phase < NB_PHASES; phase++) {
+            int[] poidsCases = poidsCases(phase);
+            for (int indiceCase = 0; indiceCase < 64; indiceCase++) {
+                POIDS_CASES[indiceCase][phase] = poidsCases[indiceCase];
+            }
+            for (int ligne = 0; ligne < 8; ligne++) {
+                for (int octet = 0; octet < 256; octet++) {
+                    int valeur = 0;
+                    for (int colonne = 0; colonne < 8; colonne++) {
+                        if ((octet & (1 << colonne)) != 0) {
+                            valeur += poidsCases[ligne * 8 + colonne];
+                        }
+                    }
+                    TABLE_LIGNES[phase][ligne][octet] = valeur;
+                }
+            }
+            for (int indice = 0; indice < 6561; indice++) {
+                int[] cases = decoder(indice, 8);
+                TABLE_BORDS[phase][indice] = evaluerBord(cases, phase) - evaluerBord(inverser(cases), phase);
+                TABLE_DIAGONALES[phase][indice] = evaluerDiagonale(cases, phase) - evaluerDiagonale(inverser(cases), phase);
+            }
+            for (int indice = 0; indice < 19683; indice++) {
+                int[] cases = decoder(indice, 9);
+                TABLE_COINS[phase][indice] = evaluerCoin(cases, phase) - evaluerCoin(inverser(cases), phase);
+            }
+        }
+        int nbDiagonales = 0;
+        for (int depart = -5; depart <= 5; depart++) {
+            long diagonale = 0L;
+            long antiDiagonale = 0L;
+            for (int ligne = 0; ligne < 8; ligne++) {
+                int colonne = ligne + depart;
+                if (colonne >= 0 && colonne < 8) {
+                    diagonale |= 1L << (ligne * 8 + colonne);
+                    antiDiagonale |= 1L << (ligne * 8 + 7 - colonne);
+                }
+            }
+            DIAGONALES[nbDiagonales++] = diagonale;
+            DIAGONALES[nbDiagonales++] = antiDiagonale;
+        }
+    }
+
+    private EvaluationOthello() {
+    }
+
+    /**
+     * Évalue une position du point de vue du joueur qui a le trait.
+     *
+     * @param joueur     Les pions du joueur qui a le trait.
+     * @param adversaire Les pions de son adversaire.
+     * @return La valeur de la position, positive si elle est favorable au joueur.
+     */
+    public static int evaluer(long joueur, long adversaire) {
+        int phase = phase(joueur | adversaire);
+        return evaluer(joueur, adversaire, Bitboard.coupsLegaux(joueur, adversaire), Bitboard.coupsLegaux(adversaire, joueur),
+                phase, valeurCases(joueur, phase) - valeurCases(adversaire, phase));
+    }
+
+    /**
+     * Évalue une partie en cours du point de vue d'un joueur, en utilisant la valeur
+     * des cases et les coups légaux tenus à jour par la partie.
+     *
+     * @param partie  La partie d'Othello.
+     * @param couleur La couleur du joueur qui a le trait.
+     * @return La valeur de la position, positive si elle est favorable au joueur.
+     */
+    public static int evaluer(PartieOthello partie, char couleur) {
+        // Les couleurs des joueurs sont libres : l'adversaire est l'autre joueur de la partie
+        char couleurAdversaire = (couleur == partie.getJoueur1().getCouleur())
+                ? partie.getJoueur2().getCouleur() : partie.getJoueur1().getCouleur();
+        long joueur = partie.getPions(couleur);
+        long adversaire = partie.getPions(couleurAdversaire);
+        int phase = phase(joueur | adversaire);
+        return evaluer(joueur, adversaire, partie.getMasqueCoupsPossibles(couleur), partie.getMasqueCoupsPossibles(couleurAdversaire),
+                phase, partie.getValeurCases(couleur, phase));
+    }
+
+    /**
+     * Évalue une position dont la valeur des cases est connue.
+     *
+     * @param joueur             Les pions du joueur qui a le trait.
+     * @param adversaire         Les pions de son adversaire.
+     * @param mobiliteJoueur     Les coups légaux du joueur.
+     * @param mobiliteAdversaire Les coups légaux de l'adversaire.
+     * @param phase              La phase de jeu.
+     * @param valeurCases        La valeur des cases du joueur moins celle des cases de l'adversaire.
+     * @return La valeur de la position, positive si elle est favorable au joueur.
+     */
+    private static int evaluer(long joueur, long adversaire, long mobiliteJoueur, long mobiliteAdversaire,
+                               int phase, int valeurCases) {
+        if (mobiliteJoueur == 0L && mobiliteAdversaire == 0L) {
+            return evaluerFinale(joueur, adversaire);
+        }
+        long occupees = joueur | adversaire;
+
+        int score = valeurCases + evaluerMotifs(joueur, adversaire, phase);
+        score += POIDS_MOBILITE[phase] * (Long.bitCount(mobiliteJoueur) - Long.bitCount(mobiliteAdversaire));
+
+        long voisinesVides = voisines(~occupees);
+        score -= POIDS_FRONTIERE[phase] * (Long.bitCount(joueur & voisinesVides) - Long.bitCount(adversaire & voisinesVides));
+
+        // Lignes pleines : aucun pion ne peut plus y être retourné
+        long horizontales = occupees & (occupees >>> 1);
+        horizontales &= horizontales >>> 2;
+        horizontales &= horizontales >>> 4;
+        horizontales = (horizontales & COLONNE_A) * 0xFF;
+        long verticales = occupees & (occupees >>> 8);
+        verticales &= verticales >>> 16;
+        verticales &= verticales >>> 32;
+        verticales = (verticales & 0xFF) * COLONNE_A;
+        long diagonales = 0L;
+        long antiDiagonales = 0L;
+        for (int i = 0; i < DIAGONALES.length; i += 2) {
+            if ((occupees & DIAGONALES[i]) == DIAGONALES[i]) {
+                diagonales |= DIAGONALES[i];
+            }
+            if ((occupees & DIAGONALES[i + 1]) == DIAGONALES[i + 1]) {
+                antiDiagonales |= DIAGONALES[i + 1];
+            }
+        }
+        score += POIDS_STABILITE[phase]
+                * (Long.bitCount(stables(joueur, horizontales, verticales, diagonales, antiDiagonales))
+                - Long.bitCount(stables(adversaire, horizontales, verticales, diagonales, antiDiagonales)));
+
+        score += POIDS_PIONS[phase] * (Long.bitCount(joueur) - Long.bitCount(adversaire));
+        return score;
+    }
+
+    /**
+     * Évalue une position où plus aucun joueur ne peut jouer.
+     *
+     * @param joueur     Les pions du joueur qui a le trait.
+     * @param adversaire Les pions de son adversaire.
+     * @return {@link #SCORE_VICTOIRE} augmenté de la différence de pions en cas de victoire,
+     * son opposé en cas de défaite, 0 en cas de match nul.
+     */
+    public static int evaluerFinale(long joueur, long adversaire) {
+        int difference = Long.bitCount(joueur) - Long.bitCount(adversaire);
+        if (difference == 0) {
+            return 0;
+        }
+        return (difference > 0) ? SCORE_VICTOIRE + difference : -SCORE_VICTOIRE + difference;
+    }
+
+    /**
+     * Somme les valeurs des tables de motifs (bords, coins et diagonales).
+     *
+     * @param joueur     Les pions du joueur qui a le trait.
+     * @param adversaire Les pions de son adversaire.
+     * @param phase      La phase de jeu.
+     * @return La valeur des motifs de la position.
+     */
+    private static int evaluerMotifs(long joueur, long adversaire, int phase) {
+        // Les quatre coins sont ramenés en haut à gauche par symétrie
+        long joueurV = Long.reverseBytes(joueur);
+        long adversaireV = Long.reverseBytes(adversaire);
+        long joueurR = Long.reverse(joueur);
+        long adversaireR = Long.reverse(adversaire);
+        long joueurH = Long.reverseBytes(joueurR);
+        long adversaireH = Long.reverseBytes(adversaireR);
+
+        int[] coins = TABLE_COINS[phase];
+        int score = coins[indiceCoin(joueur, adversaire)] + coins[indiceCoin(joueurV, adversaireV)]
+                + coins[indiceCoin(joueurH, adversaireH)] + coins[indiceCoin(joueurR, adversaireR)];
+
+        int[] bords = TABLE_BORDS[phase];
+        score += bords[indice(joueur & 0xFF, adversaire & 0xFF)]
+                + bords[indice(joueur >>> 56, adversaire >>> 56)]
+                + bords[indice(colonneA(joueur), colonneA(adversaire))]
+                + bords[indice(colonneA(joueurH), colonneA(adversaireH))];
+
+        int[] diagonales = TABLE_DIAGONALES[phase];
+        score += diagonales[indice(rassembler(joueur, DIAGONALE_A1_H8), rassembler(adversaire, DIAGONALE_A1_H8))]
+                + diagonales[indice(rassembler(joueur, DIAGONALE_H1_A8), rassembler(adversaire, DIAGONALE_H1_A8))];
+        return score;
+    }
+
+    /**
+     * Retourne la phase de jeu d'une position.
+     *
+     * @param occupees Les cases occupées.
+     * @return La phase, de 0 à {@code NB_PHASES - 1}.
+     */
+    static int phase(long occupees) {
+        return (Long.bitCount(occupees) - 4) * NB_PHASES / 61;
+    }
+
+    /**
+     * Calcule la valeur des cases d'un joueur, ligne par ligne.
+     *
+     * @param pions Les pions du joueur.
+     * @param phase La phase de jeu.
+     * @return La somme des valeurs des cases occupées.
+     */
+    static int valeurCases(long pions, int phase) {
+        int[][] lignes = TABLE_LIGNES[phase];
+        int valeur = 0;
+        for (int ligne = 0; ligne < 8; ligne++) {
+            valeur += lignes[ligne][(int) (pions >>> (ligne * 8)) & 0xFF];
+        }
+        return valeur;
+    }
+
+    /**
+     * Répercute un coup sur la valeur des cases de toutes les phases.
+     *
+     * @param valeurs    La valeur des cases par phase, modifiée sur place.
+     * @param indiceCase L'indice de la case jouée.
+     * @param retournes  Le masque des pions retournés.
+     * @param signe      1 si le coup est joué par le joueur du point de vue duquel
+     *                   les valeurs sont comptées, -1 sinon ; l'opposé annule le coup.
+     */
+    static void jouerValeurCases(int[] valeurs, int indiceCase, long retournes, int signe) {
+        int[] poids = POIDS_CASES[indiceCase];
+        for (int phase = 0; phase < NB_PHASES; phase++) {
+            valeurs[phase] += signe * poids[phase];
+        }
+        // Un pion retourné passe d'un camp à l'autre : sa valeur compte deux fois
+        while (retournes != 0L) {
+            poids = POIDS_CASES[Long.numberOfTrailingZeros(retournes)];
+            retournes &= retournes - 1;
+            for (int phase = 0; phase < NB_PHASES; phase++) {
+                valeurs[phase] += 2 * signe * poids[phase];
+            }
+        }
+    }
+
+    /**
+     * Calcule l'indice en base 3 d'un motif.
+     *
+     * @param joueur     Les cases du motif occupées par le joueur.
+     * @param adversaire Les cases du motif occupées par l'adversaire.
+     * @return L'indice du motif.
+     */
+    private static int indice(long joueur, long adversaire) {
+        return TERNAIRE[(int) joueur] + 2 * TERNAIRE[(int) adversaire];
+    }
+
+    /**
+     * Calcule l'indice de la région 3x3 du coin en haut à gauche.
+     *
+     * @param joueur     Les pions du joueur.
+     * @param adversaire Les pions de l'adversaire.
+     * @return L'indice du motif, la case i * 3 + j correspondant à la ligne i et la colonne j.
+     */
+    private static int indiceCoin(long joueur, long adversaire) {
+        return indice(regionCoin(joueur), regionCoin(adversaire));
+    }
+
+    /**
+     * Extrait les 9 cases de la région 3x3 du coin en haut à gauche.
+     *
+     * @param pions Un bitboard.
+     * @return Un masque de 9 bits.
+     */
+    private static long regionCoin(long pions) {
+        return (pions & 0x7) | ((pions >>> 5) & 0x38) | ((pions >>> 10) & 0x1C0);
+    }
+
+    /**
+     * Extrait la colonne A d'un bitboard sous forme d'octet (la ligne i sur le bit i).
+     *
+     * @param pions Un bitboard.
+     * @return Le contenu de la colonne.
+     */
+    private static long colonneA(long pions) {
+        return ((pions & COLONNE_A) * 0x0102040810204080L) >>> 56;
+    }
+
+    /**
+     * Extrait une diagonale d'un bitboard sous forme d'octet (un bit par colonne).
+     *
+     * @param pions     Un bitboard.
+     * @param diagonale Le masque de la diagonale (une case par colonne).
+     * @return Le contenu de la diagonale.
+     */
+    private static long rassembler(long pions, long diagonale) {
+        return ((pions & diagonale) * COLONNE_A) >>> 56;
+    }
+
+    /**
+     * Calcule les cases voisines d'un ensemble de cases.
+     *
+     * @param cases Un bitboard.
+     * @return Les cases adjacentes à au moins une case de l'ensemble.
+     */
+    private static long voisines(long cases) {
+        return Bitboard.decaler(cases, 0) | Bitboard.decaler(cases, 1) | Bitboard.decaler(cases, 2)
+                | Bitboard.decaler(cases, 3) | Bitboard.decaler(cases, 4) | Bitboard.decaler(cases, 5)
+                | Bitboard.decaler(cases, 6) | Bitboard.decaler(cases, 7);
+    }
+
+    /**
+     * Calcule les pions stables d'un joueur : selon chacun des quatre axes, un pion stable
+     * est sur une ligne pleine, contre un bord ou à côté d'un autre pion stable.
+     *
+     * @param pions          Les pions du joueur.
+     * @param horizontales   Les lignes horizontales pleines.
+     * @param verticales     Les lignes verticales pleines.
+     * @param diagonales     Les diagonales (a1-h8) pleines.
+     * @param antiDiagonales Les diagonales (h1-a8) pleines.
+     * @return Les pions qui ne peuvent plus être retournés.
+     */
+    private static long stables(long pions, long horizontales, long verticales, long diagonales, long antiDiagonales) {
+        long horizontal = pions & (horizontales | BORDS_HORIZONTAUX);
+        long vertical = pions & (verticales | BORDS_VERTICAUX);
+        long diagonal = pions & (diagonales | BORDS);
+        long antiDiagonal = pions & (antiDiagonales | BORDS);
+        long stables = horizontal & vertical & diagonal & antiDiagonal;
+        long precedents;
+        do {
+            precedents = stables;
+            stables |= pions
+                    & (horizontal | Bitboard.decaler(stables, 0) | Bitboard.decaler(stables, 1))
+                    & (vertical | Bitboard.decaler(stables, 2) | Bitboard.decaler(stables, 3))
+                    & (diagonal | Bitboard.decaler(stables, 4) | Bitboard.decaler(stables, 7))
+                    & (antiDiagonal | Bitboard.decaler(stables, 5) | Bitboard.decaler(stables, 6));
+        } while (stables != precedents);
+        return stables;
+    }
+
+    /**
+     * Construit la valeur des cases pour une phase. Les cases X et C valent 0 :
+     * elles sont évaluées par les motifs de coin et de bord selon l'état du coin.
+     *
+     * @param phase La phase de jeu.
+     * @return Les valeurs des 64 cases.
+     */
+    private static int[] poidsCases(int phase) {
+        int[] quart = {
+                POIDS_COIN[phase], 0, POIDS_BORD_A[phase], POIDS_BORD_B[phase],
+                0, 0, POIDS_ANNEAU[phase], POIDS_ANNEAU[phase],
+                POIDS_BORD_A[phase], POIDS_ANNEAU[phase], 0, 0,
+                POIDS_BORD_B[phase], POIDS_ANNEAU[phase], 0, POIDS_CENTRE[phase]
+        };
+        int[] poids = new int[64];
+        for (int ligne = 0; ligne < 8; ligne++) {
+            for (int colonne = 0; colonne < 8; colonne++) {
+                int i = Math.min(ligne, 7 - ligne);
+                int j = Math.min(colonne, 7 - colonne);
+                poids[ligne * 8 + colonne] = quart[i * 4 + j];
+            }
+        }
+        return poids;
+    }
+
+    /**
+     * Décode l'indice d'un motif.
+     *
+     * @param indice  L'indice en base 3.
+     * @param nbCases Le nombre de cases du motif.
+     * @return Le contenu des cases ({@code VIDE}, {@code JOUEUR} ou {@code ADVERSAIRE}).
+     */
+    private static int[] decoder(int indice, int nbCases) {
+        int[] cases = new int[nbCases];
+        for (int i = 0; i < nbCases; i++) {
+            cases[i] = indice % 3;
+            indice /= 3;
+        }
+        return cases;
+    }
+
+    /**
+     * Échange les pions des deux joueurs dans un motif décodé.
+     *
+     * @param cases Le contenu des cases.
+     * @return Le contenu des cases vu par l'adversaire.
+     */
+    private static int[] inverser(int[] cases) {
+        int[] inverse = new int[cases.length];
+        for (int i = 0; i < cases.length; i++) {
+            inverse[i] = (cases[i] == VIDE) ? VIDE : JOUEUR + ADVERSAIRE - cases[i];
+        }
+        return inverse;
+    }
+
+    /**
+     * Évalue un bord pour le joueur : une case C occupée devant un coin vide est pénalisée.
+     *
+     * @param cases Les 8 cases du bord, d'un coin à l'autre.
+     * @param phase La phase de jeu.
+     * @return La valeur du bord pour le joueur.
+     */
+    private static int evaluerBord(int[] cases, int phase) {
+        int valeur = 0;
+        if (cases[0] == VIDE && cases[1] == JOUEUR) {
+            valeur -= PENALITE_CASE_C[phase];
+        }
+        if (cases[7] == VIDE && cases[6] == JOUEUR) {
+            valeur -= PENALITE_CASE_C[phase];
+        }
+        return valeur;
+    }
+
+    /**
+     * Évalue une région de coin pour le joueur : une case X occupée devant un coin vide est pénalisée.
+     *
+     * @param cases Les 9 cases de la région, le coin en case 0 et la case X en case 4.
+     * @param phase La phase de jeu.
+     * @return La valeur de la région pour le joueur.
+     */
+    private static int evaluerCoin(int[] cases, int phase) {
+        return (cases[0] == VIDE && cases[4] == JOUEUR) ? -PENALITE_CASE_X[phase] : 0;
+    }
+
+    /**
+     * Évalue une grande diagonale pour le joueur : une suite de pions du joueur partant de la
+     * case X d'un coin vide et bordée par un pion adverse offre ce coin à l'adversaire.
+     *
+     * @param cases Les 8 cases de la diagonale, d'un coin à l'autre.
+     * @param phase La phase de jeu.
+     * @return La valeur de la diagonale pour le joueur.
+     */
+    private static int evaluerDiagonale(int[] cases, int phase) {
+        int valeur = 0;
+        for (int coin = 0, pas = 1; coin <= 7; coin += 7, pas = -1) {
+            if (cases[coin] != VIDE) {
+                continue;
+            }
+            int i = coin + pas;
+            while (i >= 0 && i <= 7 && cases[i] == JOUEUR) {
+                i += pas;
+            }
+            if (i != coin + pas && i >= 0 && i <= 7 && cases[i] == ADVERSAIRE) {
+                valeur -= PENALITE_COIN_OFFERT[phase];
+            }
+        }
+        return valeur;
+    }
+}
@@ -0,0 +1,813 @@
+package modele;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implémente une stratégie d'IA par recherche arborescente Monte-Carlo (MCTS), avec la
+ * formule de sélection UCT.
+ * <p>
+ * Chaque simulation descend dans l'arbre en choisissant à chaque nœud l'enfant qui
+ * maximise {@code taux de victoire + C * sqrt(ln N / n)}, développe la feuille atteinte si
+ * elle a déjà été visitée, termine la partie au hasard puis remonte le résultat (victoire,
+ * nul ou défaite) le long du chemin. Le coup joué est l'enfant de la racine le plus visité.
+ * La recherche s'arrête après un nombre de simulations, à l'échéance du budget de temps ou
+ * au premier des deux.
+ * <p>
+ * L'arbre n'a aucun objet par nœud : ses nœuds sont rangés dans des tableaux de types
+ * primitifs alloués une fois pour toutes, et les enfants d'un nœud y occupent des cases
+ * consécutives. Après un coup, le sous-arbre de la position effectivement atteinte (coup
+ * de l'IA puis réponse de l'adversaire) est conservé et tassé au début des tableaux pour
+ * le coup suivant, au lieu d'être reconstruit.
+ * <p>
+ * Avec plusieurs threads, tous descendent dans le même arbre. Un nœud traversé reçoit
+ * une « perte virtuelle » qui le rend moins attrayant aux autres threads jusqu'à ce que
+ * sa simulation soit remontée : les threads explorent ainsi des branches différentes.
+ * Les compteurs sont mis à jour par des opérations atomiques sur les tableaux.
+ * <p>
+ * L'arbre appartient à l'IA : les coups synchrones et asynchrones et la remise à zéro
+ * sont sérialisés, un appel attendant la fin de la recherche en cours.
+ * <p>
+ * Comme {@link IAMinimax}, l'IA joue sans chercher les coups forcés et ceux de la
+ * bibliothèque d'ouvertures et de la base de parties ; elle ne résout pas la fin de
+ * partie exactement.
+ */
+public class IAMCTS implements ModeleIA {
+    /** Nombre de simulations par coup du constructeur par défaut. */
+    public static final int SIMULATIONS_PAR_DEFAUT = 20_000;
+    /** Taille de l'arbre par défaut, en mégaoctets. */
+    public static final int TAILLE_ARBRE_PAR_DEFAUT_MO = 32;
+    private static final int OCTETS_PAR_NOEUD = 14; // Premier enfant, visites, score, nombre d'enfants et coup
+    private static final int PROFONDEUR_MAXIMALE = 128; // 60 coups et autant de passes au plus
+    private static final int PROFONDEUR_REUTILISATION = 4; // Coup de l'IA et réponse, passes comprises
+    private static final int SIMULATIONS_ENTRE_CONTROLES = 16; // Fréquence de lecture de l'horloge
+    private static final double EXPLORATION = 0.8;
+    private static final int PERTE_VIRTUELLE = 3; // Défaites comptées d'avance à un nœud traversé
+    private static final int PASSE = 64; // Coup d'un nœud atteint par une passe
+    private static final int NON_DEVELOPPE = -1;
+    private static final int EN_DEVELOPPEMENT = -2;
+
+    private static final VarHandle ENTIERS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final int nbSimulations; // Simulations par coup, 0 si seul le temps compte
+    private final long tempsLimiteMs; // Budget de temps par coup, 0 si illimité
+    private final int capacite;
+
+    // Arbre : le nœud 0 est la racine, les enfants d'un nœud sont consécutifs
+    private final int[] premiersEnfants; // Premier enfant, NON_DEVELOPPE ou EN_DEVELOPPEMENT
+    private final byte[] nbEnfants; // 0 pour une position finale développée
+    private final byte[] coups; // Coup menant au nœud depuis son parent, PASSE pour une passe
+    private final int[] visites; // Simulations passées par le nœud, pertes virtuelles en cours comprises
+    private final int[] scores; // Demi-points du joueur qui a joué le coup menant au nœud
+    private final AtomicInteger nbNoeuds = new AtomicInteger();
+    private long racineJoueur; // Pions du joueur au trait à la racine
+    private long racineAdversaire;
+    private long[] marques; // Nœuds conservés lors d'une réutilisation, alloués à la première
+    private int[] rangs; // Nombre de nœuds conservés avant chaque mot de marques
+
+    private final Explorateur[] explorateurs; // Le premier tourne sur le thread de l'appelant
+    private ExecutorService executeur; // Threads des explorateurs auxiliaires, créés au premier coup
+    private final AtomicInteger simulationsLancees = new AtomicInteger();
+    private volatile boolean arret;
+    private long echeanceNanos; // 0 si la recherche n'a pas d'échéance
+    private JetonAnnulation jeton; // Jeton de la recherche en cours, null si elle n'est pas annulable
+
+    private BibliothequeOuvertures bibliotheque; // Consultée avant toute recherche
+    private BaseParties baseParties; // Consultée après la bibliothèque
+    private int derniereSimulations;
+    private int dernieresVisitesReutilisees;
+    private double dernierTauxVictoire;
+    private StatistiquesRecherche statistiquesDernierCoup = new StatistiquesRecherche();
+    private final StatistiquesRecherche statistiquesCumulees = new StatistiquesRecherche();
+
+    private final Object verrouRecherche = new Object(); // Une seule recherche à la fois
+    private ExecutorService executeurAsynchrone; // Thread des coups asynchrones, créé au premier
+
+    /**
+     * Construit une IA MCTS avec le nombre de simulations par défaut, sur un seul thread.
+     */
+    public IAMCTS() {
+        this(SIMULATIONS_PAR_DEFAUT, 0);
+    }
+
+    /**
+     * Construit une IA MCTS avec un nombre de simulations et un budget de temps par coup,
+     * sur un seul thread.
+     *
+     * @param nbSimulations Le nombre de simulations par coup, 0 pour ne limiter que le temps.
+     * @param tempsLimiteMs Le budget de temps par coup en millisecondes, 0 pour ne limiter que les simulations.
+     */
+    public IAMCTS(int nbSimulations, long tempsLimiteMs) {
+        this(nbSimulations, tempsLimiteMs, 1);
+    }
+
+    /**
+     * Construit une IA MCTS dont les simulations sont réparties sur plusieurs threads.
+     *
+     * @param nbSimulations Le nombre de simulations par coup, 0 pour ne limiter que le temps.
+     * @param tempsLimiteMs Le budget de temps par coup en millisecondes, 0 pour ne limiter que les simulations.
+     * @param nbThreads     Le nombre de threads de recherche (au moins 1).
+     */
+    public IAMCTS(int nbSimulations, long tempsLimiteMs, int nbThreads) {
+        this(nbSimulations, tempsLimiteMs, nbThreads, TAILLE_ARBRE_PAR_DEFAUT_MO);
+    }
+
+    /**
+     * Construit une IA MCTS en précisant la taille de son arbre. Quand l'arbre est plein,
+     * les simulations continuent sans le développer.
+     *
+     * @param nbSimulations Le nombre de simulations par coup, 0 pour ne limiter que le temps.
+     * @param tempsLimiteMs Le budget de temps par coup en millisecondes, 0 pour ne limiter que les simulations.
+     * @param nbThreads     Le nombre de threads de recherche (au moins 1).
+     * @param tailleArbreMo La taille de l'arbre en mégaoctets (au moins 1).
+     */
+    public IAMCTS(int nbSimulations, long tempsLimiteMs, int nbThreads, int tailleArbreMo) {
+        if (nbSimulations < 0 || tempsLimiteMs < 0 || (nbSimulations == 0 && tempsLimiteMs == 0)) {
+            throw new IllegalArgumentException("Budget de recherche invalide : " + nbSimulations
+                    + " simulations, " + tempsLimiteMs + " ms");
+        }
+        if (nbThreads < 1) {
+            throw new IllegalArgumentException("Nombre de threads invalide : " + nbThreads);
+        }
+        if (tailleArbreMo < 1) {
+            throw new IllegalArgumentException("Taille d'arbre invalide : " + tailleArbreMo);
+        }
+        this.nbSimulations = nbSimulations;
+        this.tempsLimiteMs = tempsLimiteMs;
+        this.capacite = (int) Math.min((long) tailleArbreMo * 1024 * 1024 / OCTETS_PAR_NOEUD, Integer.MAX_VALUE - 64);
+        this.premiersEnfants = new int[capacite];
+        this.nbEnfants = new byte[capacite];
+        this.coups = new byte[capacite];
+        this.visites = new int[capacite];
+        this.scores = new int[capacite];
+        this.explorateurs = new Explorateur[nbThreads];
+        for (int i = 0; i < nbThreads; i++) {
+            explorateurs[i] = new Explorateur(0x9E3779B97F4A7C15L * (i + 1));
+        }
+        this.bibliotheque = BibliothequeOuvertures.getParDefaut();
+        this.baseParties = BaseParties.getParDefaut();
+    }
+
+    /**
+     * Joue un coup en effectuant les simulations Monte-Carlo, dans la limite du nombre de
+     * simulations et du budget de temps de l'IA.
+     *
+     * @param partie  La partie d'Othello en cours.
+     * @param couleur La couleur du joueur IA.
+     * @return Le coup choisi par l'IA.
+     */
+    @Override
+    public int[] jouerCoup(PartieOthello partie, char couleur) {
+        return jouerCoup(partie, couleur, tempsLimiteMs * 1_000_000L, null);
+    }
+
+    /**
+     * Joue un coup de manière asynchrone, sur un thread propre à cette IA. Le budget de
+     * temps est le plus petit du budget de l'IA et du délai demandé, compté à partir de
+     * l'appel. À l'échéance ou à l'annulation du jeton, l'IA joue l'enfant de la racine
+     * le plus visité jusque-là. Annuler le résultat annule aussi le jeton.
+     * <p>
+     * Les coups sont joués un par un : un appel suivant attend la fin du précédent.
+     *
+     * @param partie  La partie d'Othello en cours (elle est copiée).
+     * @param couleur La couleur du joueur IA.
+     * @param delaiMs Le délai en millisecondes, 0 pour s'en tenir au budget de l'IA.
+     * @param jeton   Le jeton d'annulation, ou null.
+     * @return Le coup choisi, null si aucun coup n'est possible ; le résultat est annulé si
+     * le jeton l'a été avant le début de la réflexion.
+     */
+    @Override
+    public CompletableFuture<int[]> jouerCoupAsynchrone(PartieOthello partie, char couleur,
+                                                        long delaiMs, JetonAnnulation jeton) {
+        long appel = System.nanoTime();
+        PartieOthello copie = partie.copier();
+        JetonAnnulation jetonRecherche = (jeton != null) ? jeton : new JetonAnnulation();
+        CompletableFuture<int[]> resultat = new CompletableFuture<>();
+        resultat.whenComplete((coup, erreur) -> {
+            if (erreur instanceof CancellationException) {
+                jetonRecherche.annuler();
+            }
+        });
+        executeurAsynchrone().execute(() -> {
+            if (jetonRecherche.estAnnule() || resultat.isDone()) {
+                resultat.cancel(false);
+                return;
+            }
+            long budget = tempsLimiteMs * 1_000_000L;
+            if (delaiMs > 0) {
+                // Au moins 1 ns : un budget nul signifierait une recherche illimitée
+                long reste = Math.max(1L, appel + delaiMs * 1_000_000L - System.nanoTime());
+                budget = (budget > 0) ? Math.min(budget, reste) : reste;
+            }
+            try {
+                resultat.complete(jouerCoup(copie, couleur, budget, jetonRecherche));
+            } catch (RuntimeException e) {
+                resultat.completeExceptionally(e);
+            }
+        });
+        return resultat;
+    }
+
+    /**
+     * Joue un coup avec un budget de temps et un jeton d'annulation donnés.
+     *
+     * @param partie    La partie d'Othello en cours.
+     * @param couleur   La couleur du joueur IA.
+     * @param budget    Le budget en nanosecondes, 0 s'il est illimité.
+     * @param jetonCoup Le jeton d'annulation, ou null.
+     * @return Le coup choisi par l'IA.
+     */
+    private int[] jouerCoup(PartieOthello partie, char couleur, long budget, JetonAnnulation jetonCoup) {
+        synchronized (verrouRecherche) {
+            long debut = System.nanoTime();
+            StatistiquesRecherche statistiques = new StatistiquesRecherche();
+            int[] coup = choisirCoup(partie, couleur, debut, budget, jetonCoup, statistiques);
+            if (coup != null) {
+                statistiques.nbCoups = 1;
+                statistiques.tempsNanos = System.nanoTime() - debut;
+                statistiquesCumulees.ajouter(statistiques);
+                statistiquesDernierCoup = statistiques;
+            }
+            return coup;
+        }
+    }
+
+    /**
+     * Retourne le thread des coups asynchrones, créé au premier appel.
+     *
+     * @return L'exécuteur des coups asynchrones.
+     */
+    private synchronized ExecutorService executeurAsynchrone() {
+        if (executeurAsynchrone == null) {
+            executeurAsynchrone = Executors.newSingleThreadExecutor(tache -> {
+                Thread thread = new Thread(tache, "IAMCTS-asynchrone");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executeurAsynchrone;
+    }
+
+    /**
+     * Choisit le coup : coup forcé, bibliothèque, base de parties ou simulations.
+     *
+     * @param partie       La partie d'Othello en cours.
+     * @param couleur      La couleur du joueur IA.
+     * @param debut        L'instant du début de la réflexion ({@link System#nanoTime()}).
+     * @param budget       Le budget en nanosecondes, 0 s'il est illimité.
+     * @param jetonCoup    Le jeton d'annulation, ou null.
+     * @param statistiques Les statistiques du coup, à remplir.
+     * @return Le coup choisi, ou null si aucun coup n'est possible.
+     */
+    private int[] choisirCoup(PartieOthello partie, char couleur, long debut, long budget,
+                              JetonAnnulation jetonCoup, StatistiquesRecherche statistiques) {
+        if (partie.getEtat() != EtatPartie.COUPS_POSSIBLES) {
+            return null; // Partie terminée ou aucun coup possible, on passe le tour
+        }
+        long coupsPossibles = partie.getMasqueCoupsPossibles(couleur);
+        if (Long.bitCount(coupsPossibles) == 1) {
+            int coup = Long.numberOfTrailingZeros(coupsPossibles);
+            return new int[]{coup >>> 3, coup & 7}; // Coup forcé, inutile de chercher
+        }
+        int[] coupBibliotheque = bibliotheque.chercherCoup(partie);
+        if (coupBibliotheque != null) {
+            return coupBibliotheque;
+        }
+        int[] coupBase = baseParties.chercherCoup(partie);
+        if (coupBase != null) {
+            return coupBase;
+        }
+
+        long joueur = partie.getPions(couleur);
+        reutiliserArbre(joueur, ~(joueur | partie.getCasesVides()));
+        echeanceNanos = (budget > 0) ? debut + budget : 0L;
+        jeton = jetonCoup;
+        derniereSimulations = simuler(statistiques);
+        if (premiersEnfants[0] < 0) {
+            int coup = Long.numberOfTrailingZeros(coupsPossibles); // Arbre plein, racine non développée
+            return new int[]{coup >>> 3, coup & 7};
+        }
+        int meilleur = choisirEnfant(0);
+        statistiques.nbRecherches = 1;
+        statistiques.sommeProfondeurs = longueurVariation();
+        int visitesMeilleur = visites[meilleur];
+        dernierTauxVictoire = (visitesMeilleur > 0) ? scores[meilleur] / (2.0 * visitesMeilleur) : 0.5;
+        int coup = coups[meilleur];
+        return new int[]{coup >>> 3, coup & 7};
+    }
+
+    /**
+     * Lance les simulations sur tous les threads jusqu'à épuisement du budget.
+     *
+     * @param statistiques Les statistiques du coup, auxquelles ajouter celles des threads.
+     * @return Le nombre de simulations effectuées.
+     */
+    private int simuler(StatistiquesRecherche statistiques) {
+        arret = false;
+        simulationsLancees.set(0);
+        List<Future<?>> auxiliaires = new ArrayList<>();
+        if (explorateurs.length > 1 && executeur == null) {
+            executeur = Executors.newFixedThreadPool(explorateurs.length - 1, tache -> {
+                Thread thread = new Thread(tache, "IAMCTS-auxiliaire");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        for (int i = 1; i < explorateurs.length; i++) {
+            auxiliaires.add(executeur.submit(explorateurs[i]::explorer));
+        }
+        explorateurs[0].explorer();
+        arret = true;
+        for (Future<?> auxiliaire : auxiliaires) {
+            try {
+                auxiliaire.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Échec d'une recherche auxiliaire", e.getCause());
+            }
+        }
+        // Terminés, les explorateurs ne modifient plus leurs compteurs
+        int total = 0;
+        for (Explorateur explorateur : explorateurs) {
+            statistiques.ajouter(explorateur.statistiques);
+            total += explorateur.nbEffectuees;
+        }
+        return total;
+    }
+
+    /**
+     * Indique si le budget de la recherche est épuisé, et arrête alors tous les threads.
+     *
+     * @return true si la recherche doit s'arrêter.
+     */
+    private boolean budgetEpuise() {
+        if (arret) {
+            return true;
+        }
+        if ((nbSimulations > 0 && simulationsLancees.get() >= nbSimulations)
+                || (echeanceNanos != 0L && System.nanoTime() - echeanceNanos >= 0)
+                || (jeton != null && jeton.estAnnule())) {
+            arret = true;
+        }
+        return arret;
+    }
+
+    /**
+     * Prépare l'arbre pour la position à jouer : si elle se trouve parmi les premiers
+     * niveaux de l'arbre du coup précédent, son sous-arbre devient le nouvel arbre ;
+     * sinon l'arbre est vidé.
+     *
+     * @param joueur     Les pions du joueur au trait.
+     * @param adversaire Les pions de son adversaire.
+     */
+    private void reutiliserArbre(long joueur, long adversaire) {
+        int nouvelleRacine = (nbNoeuds.get() > 0)
+                ? chercherNoeud(0, racineJoueur, racineAdversaire, joueur, adversaire, PROFONDEUR_REUTILISATION) : -1;
+        if (nouvelleRacine < 0) {
+            viderArbre();
+        } else if (nouvelleRacine > 0) {
+            tasser(nouvelleRacine);
+        }
+        racineJoueur = joueur;
+        racineAdversaire = adversaire;
+        dernieresVisitesReutilisees = visites[0];
+    }
+
+    /**
+     * Cherche en profondeur, parmi les descendants développés d'un nœud, celui d'une position.
+     *
+     * @param noeud      Le nœud de départ.
+     * @param joueur     Les pions du joueur au trait dans ce nœud.
+     * @param adversaire Les pions de son adversaire.
+     * @param cibleJoueur     Les pions du joueur au trait dans la position cherchée.
+     * @param cibleAdversaire Les pions de son adversaire.
+     * @param profondeur Le nombre de niveaux à explorer sous le nœud.
+     * @return L'indice du nœud de la position, -1 s'il n'a pas été trouvé.
+     */
+    private int chercherNoeud(int noeud, long joueur, long adversaire, long cibleJoueur, long cibleAdversaire,
+                              int profondeur) {
+        if (joueur == cibleJoueur && adversaire == cibleAdversaire) {
+            return noeud;
+        }
+        int premier = premiersEnfants[noeud];
+        // Chaque coup pose un pion et une passe n'en pose aucun : une position plus remplie que
+        // la cible ne peut y mener, une position aussi remplie seulement par une passe
+        if (profondeur == 0 || premier < 0
+                || Long.bitCount(joueur | adversaire) > Long.bitCount(cibleJoueur | cibleAdversaire)) {
+            return -1;
+        }
+        for (int enfant = premier; enfant < premier + nbEnfants[noeud]; enfant++) {
+            int coup = coups[enfant];
+            long retournes = (coup == PASSE) ? 0L : Bitboard.retournements(coup, joueur, adversaire);
+            long pose = (coup == PASSE) ? 0L : 1L << coup;
+            int trouve = chercherNoeud(enfant, adversaire & ~retournes, joueur | retournes | pose,
+                    cibleJoueur, cibleAdversaire, profondeur - 1);
+            if (trouve >= 0) {
+                return trouve;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Ne garde de l'arbre que le sous-arbre d'un nœud, qui devient la racine. Les enfants
+     * étant toujours alloués après leur parent, les nœuds conservés sont recopiés dans
+     * l'ordre de leurs indices : chacun descend à son rang parmi eux, sans écraser un
+     * nœud conservé qui n'a pas encore été recopié, et les enfants d'un même nœud restent
+     * consécutifs.
+     *
+     * @param nouvelleRacine L'indice du nœud conservé.
+     */
+    private void tasser(int nouvelleRacine) {
+        int fin = Math.min(nbNoeuds.get(), capacite);
+        int nbMots = (fin + 63) >>> 6;
+        if (marques == null) {
+            marques = new long[(capacite + 63) >>> 6];
+            rangs = new int[marques.length];
+        }
+        Arrays.fill(marques, 0, nbMots, 0L);
+        // Un seul balayage suffit à marquer le sous-arbre : les enfants suivent leur parent
+        marques[nouvelleRacine >>> 6] |= 1L << nouvelleRacine;
+        for (int noeud = nouvelleRacine; noeud < fin; noeud++) {
+            int premier = premiersEnfants[noeud];
+            if ((marques[noeud >>> 6] & (1L << noeud)) != 0 && premier >= 0) {
+                for (int enfant = premier; enfant < premier + nbEnfants[noeud]; enfant++) {
+                    marques[enfant >>> 6] |= 1L << enfant;
+                }
+            }
+        }
+        int total = 0;
+        for (int mot = 0; mot < nbMots; mot++) {
+            rangs[mot] = total;
+            total += Long.bitCount(marques[mot]);
+        }
+        for (int noeud = nouvelleRacine; noeud < fin; noeud++) {
+            if ((marques[noeud >>> 6] & (1L << noeud)) == 0) {
+                continue;
+            }
+            int rang = rang(noeud);
+            int premier = premiersEnfants[noeud];
+            premiersEnfants[rang] = (premier >= 0 && nbEnfants[noeud] > 0) ? rang(premier) : premier;
+            nbEnfants[rang] = nbEnfants[noeud];
+            coups[rang] = coups[noeud];
+            visites[rang] = visites[noeud];
+            scores[rang] = scores[noeud];
+        }
+        nbNoeuds.set(total);
+    }
+
+    /**
+     * Retourne le nouvel indice d'un nœud conservé par {@link #tasser(int)}.
+     *
+     * @param noeud L'ancien indice du nœud.
+     * @return Le nombre de nœuds conservés qui le précèdent.
+     */
+    private int rang(int noeud) {
+        return rangs[noeud >>> 6] + Long.bitCount(marques[noeud >>> 6] & ((1L << noeud) - 1));
+    }
+
+    /**
+     * Vide l'arbre, dont il ne reste qu'une racine non développée.
+     */
+    private void viderArbre() {
+        premiersEnfants[0] = NON_DEVELOPPE;
+        nbEnfants[0] = 0;
+        coups[0] = PASSE;
+        visites[0] = 0;
+        scores[0] = 0;
+        nbNoeuds.set(1);
+    }
+
+    /**
+     * Choisit l'enfant le plus visité d'un nœud développé, le score départageant les ex aequo.
+     *
+     * @param noeud Le nœud.
+     * @return L'indice de l'enfant.
+     */
+    private int choisirEnfant(int noeud) {
+        int premier = premiersEnfants[noeud];
+        int meilleur = premier;
+        for (int enfant = premier + 1; enfant < premier + nbEnfants[noeud]; enfant++) {
+            if (visites[enfant] > visites[meilleur]
+                    || (visites[enfant] == visites[meilleur] && scores[enfant] > scores[meilleur])) {
+                meilleur = enfant;
+            }
+        }
+        return meilleur;
+    }
+
+    /**
+     * Mesure la variation principale : la suite des enfants les plus visités depuis la racine.
+     *
+     * @return Le nombre de coups de la variation principale.
+     */
+    private int longueurVariation() {
+        int longueur = 0;
+        for (int noeud = 0; premiersEnfants[noeud] >= 0 && nbEnfants[noeud] > 0; longueur++) {
+            noeud = choisirEnfant(noeud);
+            if (visites[noeud] == 0) {
+                break;
+            }
+        }
+        return longueur;
+    }
+
+    /**
+     * Remplace la bibliothèque d'ouvertures consultée avant chaque recherche.
+     *
+     * @param bibliotheque La bibliothèque, {@link BibliothequeOuvertures#vide()} pour s'en passer.
+     */
+    public void setBibliotheque(BibliothequeOuvertures bibliotheque) {
+        this.bibliotheque = bibliotheque;
+    }
+
+    /**
+     * Remplace la base de parties consultée après la bibliothèque d'ouvertures.
+     *
+     * @param baseParties La base, {@link BaseParties#vide()} pour s'en passer.
+     */
+    public void setBaseParties(BaseParties baseParties) {
+        this.baseParties = baseParties;
+    }
+
+    /**
+     * Retourne le nombre de simulations effectuées pour le dernier coup cherché.
+     *
+     * @return Le nombre de simulations, sans celles du sous-arbre réutilisé.
+     */
+    public int getDernieresSimulations() {
+        return derniereSimulations;
+    }
+
+    /**
+     * Retourne le nombre de simulations héritées du coup précédent par la racine du dernier
+     * coup cherché, grâce à la réutilisation de l'arbre.
+     *
+     * @return Le nombre de visites de la racine avant la recherche.
+     */
+    public int getDernieresVisitesReutilisees() {
+        return dernieresVisitesReutilisees;
+    }
+
+    /**
+     * Retourne le taux de victoire estimé du dernier coup cherché, pour le joueur qui l'a
+     * joué : la proportion des simulations passées par ce coup qu'il a gagnées, un nul
+     * comptant pour une demi-victoire. Sans signification si le coup venait de la
+     * bibliothèque ou était forcé.
+     *
+     * @return Le taux de victoire, entre 0 et 1.
+     */
+    public double getDernierTauxVictoire() {
+        return dernierTauxVictoire;
+    }
+
+    @Override
+    public StatistiquesRecherche getStatistiquesDernierCoup() {
+        return statistiquesDernierCoup.copier();
+    }
+
+    @Override
+    public StatistiquesRecherche getStatistiquesCumulees() {
+        return statistiquesCumulees.copier();
+    }
+
+    /**
+     * Vide l'arbre : il ne pourrait pas être réutilisé dans une autre partie.
+     */
+    @Override
+    public void nouvellePartie() {
+        synchronized (verrouRecherche) {
+            nbNoeuds.set(0);
+        }
+    }
+
+    /**
+     * Thread de recherche : effectue des simulations dans l'arbre partagé, avec son propre
+     * générateur aléatoire et ses propres compteurs.
+     */
+    private final class Explorateur {
+        private final int[] chemin = new int[PROFONDEUR_MAXIMALE + 1];
+        private final StatistiquesRecherche statistiques = new StatistiquesRecherche();
+        private long aleatoire; // État du générateur xorshift, jamais nul
+        private int nbEffectuees; // Simulations de la recherche en cours
+
+        /**
+         * Construit un explorateur.
+         *
+         * @param graine La graine de son générateur aléatoire (non nulle).
+         */
+        Explorateur(long graine) {
+            this.aleatoire = graine;
+        }
+
+        /**
+         * Effectue des simulations jusqu'à épuisement du budget. La première est toujours
+         * effectuée, pour que la racine soit développée.
+         */
+        void explorer() {
+            statistiques.effacer();
+            nbEffectuees = 0;
+            do {
+                if (nbSimulations > 0 && simulationsLancees.getAndIncrement() >= nbSimulations) {
+                    break;
+                }
+                simuler();
+                nbEffectuees++;
+            } while (nbEffectuees % SIMULATIONS_ENTRE_CONTROLES != 0 || !budgetEpuise());
+        }
+
+        /**
+         * Effectue une simulation : descente dans l'arbre avec pertes virtuelles,
+         * développement de la feuille, partie aléatoire puis remontée du résultat.
+         */
+        private void simuler() {
+            long joueur = racineJoueur;
+            long adversaire = racineAdversaire;
+            int noeud = 0;
+            int profondeur = 0;
+            chemin[0] = 0;
+            int visitesAvant = (int) ENTIERS.getAndAdd(visites, 0, PERTE_VIRTUELLE);
+            int resultat; // Demi-points du joueur au trait dans le dernier nœud du chemin
+            while (true) {
+                int premier = (int) ENTIERS.getAcquire(premiersEnfants, noeud);
+                if (premier == NON_DEVELOPPE && (noeud == 0 || visitesAvant > 0)) {
+                    premier = developper(noeud, joueur, adversaire);
+                }
+                if (premier < 0) {
+                    resultat = jouerAuHasard(joueur, adversaire);
+                    break;
+                }
+                int n = nbEnfants[noeud];
+                if (n == 0) {
+                    resultat = demiPoints(joueur, adversaire); // Position finale
+                    break;
+                }
+                int enfant = selectionner(noeud, premier, n);
+                int coup = coups[enfant];
+                if (coup != PASSE) {
+                    long retournes = Bitboard.retournements(coup, joueur, adversaire);
+                    joueur |= retournes | (1L << coup);
+                    adversaire &= ~retournes;
+                }
+                long echange = joueur;
+                joueur = adversaire;
+                adversaire = echange;
+                noeud = enfant;
+                chemin[++profondeur] = noeud;
+                visitesAvant = (int) ENTIERS.getAndAdd(visites, noeud, PERTE_VIRTUELLE);
+            }
+            statistiques.noeuds += profondeur + 1;
+            statistiques.profondeurSelective = Math.max(statistiques.profondeurSelective, profondeur);
+            // Le joueur qui a mené à un nœud est l'adversaire de celui qui y a le trait
+            int points = 2 - resultat;
+            for (int i = profondeur; i >= 0; i--) {
+                ENTIERS.getAndAdd(visites, chemin[i], 1 - PERTE_VIRTUELLE);
+                ENTIERS.getAndAdd(scores, chemin[i], points);
+                points = 2 - points;
+            }
+        }
+
+        /**
+         * Choisit l'enfant d'un nœud selon UCT ; un enfant jamais visité est choisi d'abord.
+         *
+         * @param noeud   Le nœud.
+         * @param premier Son premier enfant.
+         * @param n       Son nombre d'enfants.
+         * @return L'indice de l'enfant choisi.
+         */
+        private int selectionner(int noeud, int premier, int n) {
+            double logVisites = Math.log(Math.max(1, visites[noeud]));
+            int meilleur = premier;
+            double meilleureValeur = Double.NEGATIVE_INFINITY;
+            for (int enfant = premier; enfant < premier + n; enfant++) {
+                int v = visites[enfant];
+                if (v == 0) {
+                    return enfant;
+                }
+                double valeur = scores[enfant] / (2.0 * v) + EXPLORATION * Math.sqrt(logVisites / v);
+                if (valeur > meilleureValeur) {
+                    meilleureValeur = valeur;
+                    meilleur = enfant;
+                }
+            }
+            return meilleur;
+        }
+
+        /**
+         * Développe un nœud : alloue ses enfants, un par coup légal, un seul pour une passe
+         * et aucun pour une position finale. Un seul thread développe un nœud donné ; les
+         * autres le traitent en attendant comme une feuille.
+         *
+         * @param noeud      Le nœud.
+         * @param joueur     Les pions du joueur au trait dans ce nœud.
+         * @param adversaire Les pions de son adversaire.
+         * @return Le premier enfant, ou un indice négatif si le nœud n'a pas été développé
+         * (développement en cours sur un autre thread ou arbre plein).
+         */
+        private int developper(int noeud, long joueur, long adversaire) {
+            if (!ENTIERS.compareAndSet(premiersEnfants, noeud, NON_DEVELOPPE, EN_DEVELOPPEMENT)) {
+                return EN_DEVELOPPEMENT;
+            }
+            long coupsLegaux = Bitboard.coupsLegaux(joueur, adversaire);
+            int n = (coupsLegaux != 0L) ? Long.bitCount(coupsLegaux)
+                    : (Bitboard.coupsLegaux(adversaire, joueur) != 0L) ? 1 : 0;
+            // Arbre plein : le nœud reste une feuille (le compteur ne dépasse la capacité que
+            // des développements concurrents, et ne risque donc pas de déborder)
+            int premier = (n > 0 && nbNoeuds.get() <= capacite - n) ? nbNoeuds.getAndAdd(n) : 0;
+            if (n > 0 && (premier == 0 || premier > capacite - n)) {
+                ENTIERS.setRelease(premiersEnfants, noeud, NON_DEVELOPPE);
+                return NON_DEVELOPPE;
+            }
+            for (int i = 0; i < n; i++) {
+                int enfant = premier + i;
+                premiersEnfants[enfant] = NON_DEVELOPPE;
+                nbEnfants[enfant] = 0;
+                visites[enfant] = 0;
+                scores[enfant] = 0;
+                if (coupsLegaux != 0L) {
+                    coups[enfant] = (byte) Long.numberOfTrailingZeros(coupsLegaux);
+                    coupsLegaux &= coupsLegaux - 1;
+                } else {
+                    coups[enfant] = PASSE;
+                }
+            }
+            nbEnfants[noeud] = (byte) n;
+            statistiques.noeudsInternes++;
+            statistiques.coupsExplores += n;
+            // Publie les enfants : un thread qui lit le premier enfant voit aussi leur contenu
+            ENTIERS.setRelease(premiersEnfants, noeud, premier);
+            return premier;
+        }
+
+        /**
+         * Termine la partie en jouant des coups légaux au hasard.
+         *
+         * @param joueur     Les pions du joueur au trait.
+         * @param adversaire Les pions de son adversaire.
+         * @return Les demi-points obtenus par le joueur au trait : 2 pour une victoire,
+         * 1 pour un nul, 0 pour une défaite.
+         */
+        private int jouerAuHasard(long joueur, long adversaire) {
+            boolean inverse = false; // Vrai quand joueur désigne l'adversaire du joueur initial
+            int passes = 0;
+            while (passes < 2) {
+                long coupsLegaux = Bitboard.coupsLegaux(joueur, adversaire);
+                if (coupsLegaux == 0L) {
+                    passes++;
+                } else {
+                    passes = 0;
+                    // Retire du masque un nombre aléatoire de coups puis prend le premier restant
+                    for (int i = tirer(Long.bitCount(coupsLegaux)); i > 0; i--) {
+                        coupsLegaux &= coupsLegaux - 1;
+                    }
+                    int coup = Long.numberOfTrailingZeros(coupsLegaux);
+                    long retournes = Bitboard.retournements(coup, joueur, adversaire);
+                    joueur |= retournes | (1L << coup);
+                    adversaire &= ~retournes;
+                    statistiques.noeuds++;
+                }
+                long echange = joueur;
+                joueur = adversaire;
+                adversaire = echange;
+                inverse = !inverse;
+            }
+            return inverse ? demiPoints(adversaire, joueur) : demiPoints(joueur, adversaire);
+        }
+
+        /**
+         * Tire un entier au hasard (générateur xorshift).
+         *
+         * @param borne La borne exclue (au moins 1).
+         * @return Un entier entre 0 et borne - 1.
+         */
+        private int tirer(int borne) {
+            aleatoire ^= aleatoire << 13;
+            aleatoire ^= aleatoire >>> 7;
+            aleatoire ^= aleatoire << 17;
+            return (int) (((aleatoire >>> 32) * borne) >>> 32);
+        }
+    }
+
+    /**
+     * Compte le résultat d'une position finale.
+     *
+     * @param joueur     Les pions d'un joueur.
+     * @param adversaire Les pions de son adversaire.
+     * @return Les demi-points du joueur : 2 s'il a plus de pions, 1 en cas d'égalité, 0 sinon.
+     */
+    private static int demiPoints(long joueur, long adversaire) {
+        return Integer.signum(Long.bitCount(joueur) - Long.bitCount(adversaire)) + 1;
+    }
+}
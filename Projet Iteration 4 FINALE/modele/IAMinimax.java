@@ -1,16 +1,205 @@
 package modele;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Implémente une stratégie d'IA utilisant l'algorithme Minimax pour jouer à Othello.
+ * <p>
+ * La recherche est un negamax avec élagage alpha-bêta. Les coups sont ordonnés pour
+ * provoquer les coupures au plus tôt : coins d'abord, puis le meilleur coup de l'itération
+ * précédente (ou celui de la table de transposition), puis les coups tueurs et enfin
+ * l'heuristique de l'historique. Les positions déjà recherchées sont retrouvées dans une
+ * table de transposition indexée par le hachage de Zobrist de la partie.
+ * <p>
+ * Les positions présentes dans la bibliothèque d'ouvertures sont jouées sans recherche.
+ * Dès que le nombre de cases vides atteint {@link SolveurFinPartie#SEUIL_PAR_DEFAUT},
+ * la fin de partie est résolue exactement par {@link SolveurFinPartie}.
+ * <p>
+ * Avec plusieurs threads, la recherche suit le schéma « Lazy SMP » : des recherches
+ * auxiliaires explorent la même position en parallèle, à des profondeurs décalées, et ne
+ * communiquent qu'au travers de la table de transposition partagée. Seul le résultat de
+ * la recherche principale est utilisé.
+ * <p>
+ * Pendant que l'adversaire réfléchit, l'IA peut chercher à l'avance sur un thread à part
+ * (« pondération ») : elle prédit la réponse de l'adversaire et recherche la position qui
+ * en résulterait. Si la prédiction est juste, le coup est connu dès que l'adversaire a
+ * joué ; sinon, la table de transposition remplie entre-temps accélère la recherche.
+ * <p>
+ * {@link #jouerCoupAsynchrone(PartieOthello, char, long, JetonAnnulation)} cherche sur un
+ * thread propre à l'IA, avec une échéance et un jeton d'annulation : la recherche rend
+ * alors le coup de la dernière itération terminée.
+ * <p>
+ * L'état de la recherche (échéance, jeton, statistiques, heuristiques d'ordonnancement,
+ * table de transposition) appartient à l'IA : les coups synchrones et asynchrones, la
+ * pondération et la réinitialisation sont donc sérialisés, un appel attendant la fin de
+ * la recherche en cours au lieu de la perturber.
  */
 
 public class IAMinimax implements ModeleIA {
-    private int profondeurMax = 3; // Profondeur de recherche ajustable
+    /** Profondeur de recherche du constructeur par défaut. */
+    public static final int PROFONDEUR_PAR_DEFAUT = 7;
+    /** Taille de la table de transposition des constructeurs qui ne la précisent pas. */
+    public static final int TAILLE_TABLE_PAR_DEFAUT_MO = 16;
+    private static final int PROFONDEUR_MAXIMALE = 64; // Une partie compte au plus 60 coups
+    private static final int PLY_MAX = PROFONDEUR_MAXIMALE + 2;
+    private static final int INFINI = 1_000_000;
+    private static final int PASSE = -1;
+    private static final int NOEUDS_ENTRE_CONTROLES = 1024; // Fréquence de lecture de l'horloge
+    private static final long CONTROLE_JETON_NANOS = 5_000_000L; // Fréquence de lecture du jeton en attendant la pondération
+    private static final long COINS = 0x8100000000000081L;
+
+    // Priorités de l'ordonnancement des coups
+    private static final int BONUS_COIN = 4_000_000;
+    private static final int BONUS_VARIATION = 3_000_000;
+    private static final int BONUS_TUEUR_1 = 2_000_000;
+    private static final int BONUS_TUEUR_2 = 1_000_000;
+    private static final int HISTORIQUE_MAX = 500_000;
+
+    private final int profondeurMax; // Profondeur de recherche ajustable
+    private final long tempsLimiteMs; // Budget de temps par coup, 0 si illimité
+    private final TableTransposition table; // Conservée d'un coup à l'autre, null si désactivée
+
+    private final IAMinimax principal; // Recherche principale d'une recherche auxiliaire, null sinon
+    private final IAMinimax[] auxiliaires; // Recherches auxiliaires (Lazy SMP)
+    private ExecutorService executeur; // Threads des recherches auxiliaires, créés au premier coup
+    private volatile boolean arretAuxiliaires;
+    private SolveurFinPartie solveur; // Résolution exacte de la fin de partie, créé au premier besoin
+    private BibliothequeOuvertures bibliotheque; // Consultée avant toute recherche
+    private BaseParties baseParties; // Consultée après la bibliothèque
+    private int dernierScore;
+    private final StatistiquesRecherche statistiques = new StatistiquesRecherche(); // Recherche en cours
+    private StatistiquesRecherche statistiquesDernierCoup = new StatistiquesRecherche();
+    private final StatistiquesRecherche statistiquesCumulees = new StatistiquesRecherche();
+    private boolean chronometrage; // Mesure des temps de génération des coups et d'évaluation
+
+    private ExecutorService executeurPonderation; // Thread de la pondération, créé à la première
+    private Future<?> ponderation; // Pondération en cours ou terminée mais pas encore exploitée, null sinon
+    private volatile boolean arretPonderation;
+    private volatile long hashPondere; // Position recherchée par la pondération, 0 tant qu'elle n'est pas choisie
+    private volatile long debutPonderation; // Début de la recherche de cette position
+    private int coupPondere = PASSE; // Coup de la dernière itération terminée de la pondération
+
+    private final Object verrouRecherche = new Object(); // Une seule recherche à la fois
+    private ExecutorService executeurAsynchrone; // Thread des coups asynchrones, créé au premier
+
+    private final int[][] coupsTueurs = new int[PLY_MAX][2];
+    private final int[][] historique = new int[2][64]; // Indexé par joueur (0 : premier joueur) et par case
+    private final int[][] variation = new int[PLY_MAX][PLY_MAX]; // Variation principale triangulaire
+    private final int[] longueurVariation = new int[PLY_MAX];
+    private final int[] variationPrecedente = new int[PLY_MAX];
+    private int longueurVariationPrecedente;
+    private final int[][] coupsParPly = new int[PLY_MAX][64];
+    private final int[][] scoresParPly = new int[PLY_MAX][64];
+
+    private long budgetNanos; // Budget de la recherche en cours, 0 si illimité
+    private JetonAnnulation jeton; // Jeton de la recherche en cours, null si elle n'est pas annulable
+    private long echeanceNanos;
+    private boolean controlerEcheance;
+    private boolean rechercheInterrompue;
+    private int noeudsAvantControle;
+
+    /**
+     * Construit une IA Minimax avec la profondeur de recherche par défaut.
+     */
+    public IAMinimax() {
+        this(PROFONDEUR_PAR_DEFAUT);
+    }
+
+    /**
+     * Construit une IA Minimax avec une profondeur de recherche donnée.
+     *
+     * @param profondeurMax La profondeur de recherche, en demi-coups (de 1 à 64).
+     */
+    public IAMinimax(int profondeurMax) {
+        this(profondeurMax, 0);
+    }
+
+    /**
+     * Construit une IA Minimax avec une profondeur maximale et un budget de temps par coup.
+     * La recherche est approfondie jusqu'à l'échéance et le coup retenu est celui
+     * de la dernière itération terminée.
+     *
+     * @param profondeurMax La profondeur de recherche maximale, en demi-coups (de 1 à 64).
+     * @param tempsLimiteMs Le budget de temps par coup en millisecondes, 0 pour ne pas limiter le temps.
+     */
+    public IAMinimax(int profondeurMax, long tempsLimiteMs) {
+        this(profondeurMax, tempsLimiteMs, TAILLE_TABLE_PAR_DEFAUT_MO);
+    }
+
+    /**
+     * Construit une IA Minimax en précisant la taille de sa table de transposition.
+     *
+     * @param profondeurMax La profondeur de recherche maximale, en demi-coups (de 1 à 64).
+     * @param tempsLimiteMs Le budget de temps par coup en millisecondes, 0 pour ne pas limiter le temps.
+     * @param tailleTableMo La taille de la table de transposition en mégaoctets, 0 pour s'en passer.
+     */
+    public IAMinimax(int profondeurMax, long tempsLimiteMs, int tailleTableMo) {
+        this(profondeurMax, tempsLimiteMs, tailleTableMo, 1);
+    }
+
+    /**
+     * Construit une IA Minimax dont la recherche est répartie sur plusieurs threads.
+     * Les recherches auxiliaires partagent la table de transposition, qui est donc obligatoire.
+     *
+     * @param profondeurMax La profondeur de recherche maximale, en demi-coups (de 1 à 64).
+     * @param tempsLimiteMs Le budget de temps par coup en millisecondes, 0 pour ne pas limiter le temps.
+     * @param tailleTableMo La taille de la table de transposition en mégaoctets, 0 pour s'en passer.
+     * @param nbThreads     Le nombre de threads de recherche (au moins 1).
+     */
+    public IAMinimax(int profondeurMax, long tempsLimiteMs, int tailleTableMo, int nbThreads) {
+        if (profondeurMax < 1 || profondeurMax > PROFONDEUR_MAXIMALE) {
+            throw new IllegalArgumentException("Profondeur de recherche invalide : " + profondeurMax);
+        }
+        if (tempsLimiteMs < 0) {
+            throw new IllegalArgumentException("Budget de temps invalide : " + tempsLimiteMs);
+        }
+        if (tailleTableMo < 0) {
+            throw new IllegalArgumentException("Taille de table invalide : " + tailleTableMo);
+        }
+        if (nbThreads < 1 || (nbThreads > 1 && tailleTableMo == 0)) {
+            throw new IllegalArgumentException("Nombre de threads invalide : " + nbThreads);
+        }
+        this.profondeurMax = profondeurMax;
+        this.tempsLimiteMs = tempsLimiteMs;
+        this.table = (tailleTableMo > 0) ? new TableTransposition(tailleTableMo) : null;
+        this.bibliotheque = BibliothequeOuvertures.getParDefaut();
+        this.baseParties = BaseParties.getParDefaut();
+        this.principal = null;
+        this.auxiliaires = new IAMinimax[nbThreads - 1];
+        for (int i = 0; i < auxiliaires.length; i++) {
+            auxiliaires[i] = new IAMinimax(this);
+        }
+    }
 
     /**
-     * Joue un coup en utilisant l'algorithme Minimax.
+     * Construit une recherche auxiliaire partageant la table de la recherche principale.
+     *
+     * @param principal La recherche principale.
+     */
+    private IAMinimax(IAMinimax principal) {
+        this.profondeurMax = principal.profondeurMax;
+        this.tempsLimiteMs = 0;
+        this.table = principal.table;
+        this.principal = principal;
+        this.auxiliaires = new IAMinimax[0];
+    }
+
+    /**
+     * Joue un coup en utilisant l'algorithme Minimax avec élagage alpha-bêta.
+     * La profondeur est approfondie de 1 à profondeurMax afin que chaque itération
+     * commence par le meilleur coup trouvé à l'itération précédente. Si un budget de
+     * temps est fixé, la recherche s'arrête à l'échéance et renvoie le coup de la
+     * dernière itération terminée.
      *
      * @param partieOthello La partie d'Othello en cours.
      * @param couleur       La couleur du joueur IA.
@@ -18,140 +207,864 @@ public class IAMinimax implements ModeleIA {
      */
     @Override
     public int[] jouerCoup(PartieOthello partieOthello, char couleur) {
-        if (partieOthello.estTerminee()) {
-            return null; // Plus de coup à joué
+        return reflechir(partieOthello, couleur, profondeurMax, tempsLimiteMs * 1_000_000L, null);
+    }
+
+    /**
+     * Joue un coup en limitant, pour ce coup seulement, la profondeur et le temps de la
+     * recherche. Une même IA peut ainsi servir des niveaux différents en conservant une
+     * seule table de transposition. Le délai est compté à partir du début de la réflexion.
+     *
+     * @param partieOthello La partie d'Othello en cours.
+     * @param couleur       La couleur du joueur IA.
+     * @param profondeur    La profondeur de recherche du coup (de 1 à la profondeur maximale de l'IA).
+     * @param delaiMs       Le délai en millisecondes, 0 pour s'en tenir au budget de l'IA.
+     * @param jeton         Le jeton d'annulation, ou null.
+     * @return Le coup choisi, ou null si aucun coup n'est possible.
+     */
+    public int[] jouerCoup(PartieOthello partieOthello, char couleur, int profondeur, long delaiMs,
+                           JetonAnnulation jeton) {
+        if (profondeur < 1 || profondeur > profondeurMax) {
+            throw new IllegalArgumentException("Profondeur de recherche invalide : " + profondeur);
+        }
+        if (delaiMs < 0) {
+            throw new IllegalArgumentException("Délai invalide : " + delaiMs);
+        }
+        long budget = tempsLimiteMs * 1_000_000L;
+        if (delaiMs > 0) {
+            budget = (budget > 0) ? Math.min(budget, delaiMs * 1_000_000L) : delaiMs * 1_000_000L;
+        }
+        return reflechir(partieOthello, couleur, profondeur, budget, jeton);
+    }
+
+    /**
+     * Joue un coup de manière asynchrone, sur un thread propre à cette IA. Le budget de
+     * temps est le plus petit du budget de l'IA et du délai demandé, compté à partir de
+     * l'appel. À l'échéance ou à l'annulation du jeton, la recherche rend le coup de sa
+     * dernière itération terminée (la profondeur 1 l'est toujours). Annuler le résultat
+     * annule aussi le jeton.
+     * <p>
+     * Les coups sont joués un par un : un appel suivant attend la fin du précédent.
+     *
+     * @param partieOthello La partie d'Othello en cours (elle est copiée).
+     * @param couleur       La couleur du joueur IA.
+     * @param delaiMs       Le délai en millisecondes, 0 pour s'en tenir au budget de l'IA.
+     * @param jeton         Le jeton d'annulation, ou null.
+     * @return Le coup choisi, null si aucun coup n'est possible ; le résultat est annulé si
+     * le jeton l'a été avant le début de la réflexion.
+     */
+    @Override
+    public CompletableFuture<int[]> jouerCoupAsynchrone(PartieOthello partieOthello, char couleur,
+                                                        long delaiMs, JetonAnnulation jeton) {
+        long appel = System.nanoTime();
+        PartieOthello copie = partieOthello.copier();
+        JetonAnnulation jetonRecherche = (jeton != null) ? jeton : new JetonAnnulation();
+        CompletableFuture<int[]> resultat = new CompletableFuture<>();
+        resultat.whenComplete((coup, erreur) -> {
+            if (erreur instanceof CancellationException) {
+                jetonRecherche.annuler();
+            }
+        });
+        executeurAsynchrone().execute(() -> {
+            if (jetonRecherche.estAnnule() || resultat.isDone()) {
+                resultat.cancel(false);
+                return;
+            }
+            long budget = tempsLimiteMs * 1_000_000L;
+            if (delaiMs > 0) {
+                // Au moins 1 ns : un budget nul signifierait une recherche illimitée
+                long reste = Math.max(1L, appel + delaiMs * 1_000_000L - System.nanoTime());
+                budget = (budget > 0) ? Math.min(budget, reste) : reste;
+            }
+            try {
+                resultat.complete(reflechir(copie, couleur, profondeurMax, budget, jetonRecherche));
+            } catch (RuntimeException e) {
+                resultat.completeExceptionally(e);
+            }
+        });
+        return resultat;
+    }
+
+    /**
+     * Joue un coup avec une profondeur, un budget de temps et un jeton d'annulation donnés.
+     *
+     * @param partieOthello La partie d'Othello en cours.
+     * @param couleur       La couleur du joueur IA.
+     * @param profondeur    La profondeur de recherche du coup.
+     * @param budget        Le budget en nanosecondes, 0 s'il est illimité.
+     * @param jetonCoup     Le jeton d'annulation, ou null.
+     * @return Le coup choisi par l'IA.
+     */
+    private int[] reflechir(PartieOthello partieOthello, char couleur, int profondeur, long budget,
+                            JetonAnnulation jetonCoup) {
+        synchronized (verrouRecherche) {
+            long debut = System.nanoTime();
+            // Les statistiques d'une pondération exploitée, temps compris, sont celles du coup
+            int[] coup = terminerPonderation(partieOthello, debut, budget, jetonCoup);
+            if (coup == null) {
+                budgetNanos = budget;
+                jeton = jetonCoup;
+                statistiques.effacer();
+                coup = choisirCoup(partieOthello, couleur, profondeur, debut);
+                statistiques.tempsNanos = System.nanoTime() - debut;
+            }
+            if (coup != null) {
+                statistiques.nbCoups = 1;
+                statistiquesCumulees.ajouter(statistiques);
+                statistiquesDernierCoup = statistiques.copier();
+            }
+            return coup;
         }
+    }
 
-        List<int[]> coupsPossibles = partieOthello.getCoupsPossibles(couleur);
-        if (coupsPossibles.isEmpty()) {
-            return null; // Aucun coups possible, on passe le tour
+    /**
+     * Retourne le thread des coups asynchrones, créé au premier appel.
+     *
+     * @return L'exécuteur des coups asynchrones.
+     */
+    private synchronized ExecutorService executeurAsynchrone() {
+        if (executeurAsynchrone == null) {
+            executeurAsynchrone = Executors.newSingleThreadExecutor(tache -> {
+                Thread thread = new Thread(tache, "IAMinimax-asynchrone");
+                thread.setDaemon(true);
+                return thread;
+            });
         }
+        return executeurAsynchrone;
+    }
 
-        int[] meilleurCoup = null;
-        int meilleureValeur = Integer.MIN_VALUE;
+    /**
+     * Choisit le coup : coup forcé, bibliothèque, base de parties, résolution exacte ou
+     * recherche itérative.
+     *
+     * @param partieOthello La partie d'Othello en cours.
+     * @param couleur       La couleur du joueur IA.
+     * @param profondeur    La profondeur de la recherche itérative.
+     * @param debut         L'instant du début de la réflexion ({@link System#nanoTime()}).
+     * @return Le coup choisi, ou null si aucun coup n'est possible.
+     */
+    private int[] choisirCoup(PartieOthello partieOthello, char couleur, int profondeur, long debut) {
+        if (partieOthello.getEtat() != EtatPartie.COUPS_POSSIBLES) {
+            return null; // Partie terminée ou aucun coup possible, on passe le tour
+        }
 
-        for (int[] coup : coupsPossibles) {
-            PartieOthello copie = partieOthello.copier();
-            String coupStr = (coup[0] + 1) + " " + (char) ('A' + coup[1]);
-            copie.jouerCoup(coupStr);
-            copie.changerTour(); // Important: changer le tour pour simuler le prochain joueur
+        long coupsPossibles = partieOthello.getMasqueCoupsPossibles(couleur);
+        if (Long.bitCount(coupsPossibles) == 1) {
+            int coup = Long.numberOfTrailingZeros(coupsPossibles);
+            return new int[]{coup >>> 3, coup & 7}; // Coup forcé, inutile de chercher
+        }
+        int[] coupBibliotheque = bibliotheque.chercherCoup(partieOthello);
+        if (coupBibliotheque != null) {
+            return coupBibliotheque;
+        }
+        int[] coupBase = baseParties.chercherCoup(partieOthello);
+        if (coupBase != null) {
+            return coupBase;
+        }
 
-            int valeur = minimax(copie, profondeurMax - 1, false, couleur);
-            if (valeur > meilleureValeur) {
-                meilleureValeur = valeur;
-                meilleurCoup = coup;
+        echeanceNanos = debut + budgetNanos;
+        int coupExact = resoudreFinPartie(partieOthello, couleur, debut);
+        if (coupExact >= 0) {
+            dernierScore = solveur.getDernierScore();
+            statistiques.nbRecherches = 1;
+            statistiques.sommeProfondeurs = partieOthello.getNombreCasesVides();
+            statistiques.profondeurSelective = partieOthello.getNombreCasesVides();
+            return new int[]{coupExact >>> 3, coupExact & 7};
+        }
+        // La recherche joue et annule les coups sur une copie unique de la partie
+        int meilleurCoup = rechercherIterativement(partieOthello.copier(), profondeur,
+                budgetNanos > 0 || jeton != null, debut);
+        return new int[]{meilleurCoup >>> 3, meilleurCoup & 7};
+    }
+
+    /**
+     * Approfondissement itératif de la recherche principale, avec ses recherches auxiliaires.
+     *
+     * @param simulation      La copie de la partie sur laquelle chercher.
+     * @param profondeurLimite La dernière profondeur recherchée.
+     * @param interruptible   Indique si l'échéance et le jeton sont contrôlés à partir de la profondeur 2.
+     * @param debut           L'instant du début de la réflexion ({@link System#nanoTime()}).
+     * @return Le meilleur coup de la dernière itération terminée, ou PASSE si aucune ne l'est.
+     */
+    private int rechercherIterativement(PartieOthello simulation, int profondeurLimite, boolean interruptible, long debut) {
+        preparerRecherche();
+        List<Future<?>> recherchesAuxiliaires = lancerAuxiliaires(simulation, profondeurLimite);
+        int meilleurCoup = PASSE;
+        for (int profondeur = 1; profondeur <= profondeurLimite; profondeur++) {
+            // Sans pondération à arrêter, la profondeur 1 est toujours terminée pour disposer d'un coup
+            controlerEcheance = interruptible && profondeur > 1;
+            int valeur = alphaBeta(simulation, profondeur, -INFINI, INFINI, 0, true);
+            if (rechercheInterrompue) {
+                break; // Itération incomplète : on garde le coup de la précédente
+            }
+            meilleurCoup = variation[0][0];
+            dernierScore = valeur;
+            statistiques.nbRecherches = 1;
+            statistiques.sommeProfondeurs = profondeur;
+            longueurVariationPrecedente = longueurVariation[0];
+            System.arraycopy(variation[0], 0, variationPrecedente, 0, longueurVariationPrecedente);
+            // Passé la moitié du budget, l'itération suivante n'aurait presque aucune chance d'aboutir
+            if (budgetNanos > 0 && (System.nanoTime() - debut) * 2 > budgetNanos) {
+                break;
             }
         }
+        arreterAuxiliaires(recherchesAuxiliaires);
         return meilleurCoup;
     }
 
     /**
-     * Algorithme Minimax pour évaluer les coups possibles.
+     * Commence à chercher, sur un thread à part, pendant que l'adversaire réfléchit. La
+     * pondération prédit la réponse de l'adversaire (coup de la table de transposition,
+     * sinon celui d'une recherche courte) puis recherche la position qui en résulte, sans
+     * limite de temps, jusqu'à l'appel suivant de {@link #jouerCoup(PartieOthello, char)}
+     * ou de {@link #arreterPonderation()}.
      *
-     * @param partieOthello La partie d'Othello en cours.
-     * @param profondeur    La profondeur de recherche restante.
-     * @param estMax        Indique si le joueur courant est le maximiseur.
-     * @param couleurIA     La couleur du joueur IA.
-     * @return La valeur évaluée du plateau.
+     * @param partieOthello La partie d'Othello en cours, l'adversaire ayant le trait (elle est copiée).
+     * @param couleur       La couleur du joueur IA.
      */
-    private int minimax(PartieOthello partieOthello, int profondeur, boolean estMax, char couleurIA) {
-        // Couleur du joueur actuel dans la simulation
-        char couleurActuelle = estMax ? couleurIA : (couleurIA == 'N' ? 'B' : 'N');
+    @Override
+    public void commencerPonderation(PartieOthello partieOthello, char couleur) {
+        synchronized (verrouRecherche) {
+            arreterPonderation();
+            if (partieOthello.getEtat() == EtatPartie.TERMINEE) {
+                return;
+            }
+            if (executeurPonderation == null) {
+                executeurPonderation = Executors.newSingleThreadExecutor(tache -> {
+                    Thread thread = new Thread(tache, "IAMinimax-ponderation");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            PartieOthello simulation = partieOthello.copier();
+            hashPondere = 0L;
+            coupPondere = PASSE;
+            ponderation = executeurPonderation.submit(() -> ponderer(simulation, couleur));
+        }
+    }
 
-        if (profondeur == 0 || partieOthello.estTerminee()) {
-            return evaluerPlateau(partieOthello, couleurIA);
+    /**
+     * Arrête la pondération en cours et oublie son résultat.
+     */
+    @Override
+    public void arreterPonderation() {
+        synchronized (verrouRecherche) {
+            if (ponderation != null) {
+                arretPonderation = true;
+                attendre(ponderation, 0L);
+                arretPonderation = false;
+                ponderation = null;
+            }
         }
+    }
 
-        List<int[]> coupsPossibles = partieOthello.getCoupsPossibles(couleurActuelle);
+    /**
+     * Corps de la pondération, exécuté sur son thread.
+     *
+     * @param simulation La copie de la partie, l'adversaire ayant le trait.
+     * @param couleur    La couleur du joueur IA.
+     */
+    private void ponderer(PartieOthello simulation, char couleur) {
+        budgetNanos = 0L; // La pondération n'a pas d'échéance : elle est arrêtée par le coup suivant
+        jeton = null;
+        if (simulation.getEtat() == EtatPartie.PASSE_OBLIGATOIRE) {
+            simulation.effectuerPasse();
+        } else {
+            int coupPredit = predireCoup(simulation);
+            if (coupPredit == PASSE || arretPonderation) {
+                return;
+            }
+            simulation.effectuerCoup(coupPredit);
+        }
+        // Coup forcé, bibliothèque, base et fin de partie sont déjà instantanés ou exacts sans pondération
+        if (simulation.getEtat() != EtatPartie.COUPS_POSSIBLES
+                || Long.bitCount(simulation.getMasqueCoupsPossibles(couleur)) == 1
+                || bibliotheque.chercherCoup(simulation) != null
+                || baseParties.chercherCoup(simulation) != null
+                || simulation.getNombreCasesVides() <= SolveurFinPartie.SEUIL_PAR_DEFAUT) {
+            return;
+        }
+        statistiques.effacer();
+        debutPonderation = System.nanoTime();
+        hashPondere = simulation.getHash();
+        coupPondere = rechercherIterativement(simulation, profondeurMax, false, debutPonderation);
+        statistiques.tempsNanos = System.nanoTime() - debutPonderation;
+    }
 
-        // Si aucun coup possible, on passe son tour
-        if (coupsPossibles.isEmpty()) {
-            PartieOthello copiePasse = partieOthello.copier();
-            copiePasse.changerTour();
-            return minimax(copiePasse, profondeur - 1, !estMax, couleurIA);
+    /**
+     * Prédit le coup de l'adversaire : celui de la table de transposition s'il est légal,
+     * sinon celui d'une recherche moins profonde que les recherches normales.
+     *
+     * @param simulation La copie de la partie, l'adversaire ayant le trait.
+     * @return L'indice de la case du coup prédit, ou PASSE si la pondération a été arrêtée.
+     */
+    private int predireCoup(PartieOthello simulation) {
+        long coupsPossibles = simulation.getMasqueCoupsPossibles(simulation.getJoueurCourant().getCouleur());
+        if (table != null) {
+            long donnee = table.sonder(simulation.getHash());
+            int coup = (donnee != 0L) ? TableTransposition.coup(donnee) : PASSE;
+            if (coup >= 0 && ((coupsPossibles >>> coup) & 1L) != 0) {
+                return coup;
+            }
         }
+        return rechercherIterativement(simulation, Math.max(1, profondeurMax - 2), false, System.nanoTime());
+    }
 
-        if (estMax) {
-            int maxEval = Integer.MIN_VALUE;
-            for (int[] coup : coupsPossibles) {
-                PartieOthello copie = partieOthello.copier();
-                String coupStr = (coup[0] + 1) + " " + (char) ('A' + coup[1]);
-                copie.jouerCoup(coupStr);
-                copie.changerTour();
+    /**
+     * Termine la pondération en cours avant un coup. Si elle a cherché la position à jouer,
+     * son coup est joué : avec un budget de temps, dès qu'elle a cherché aussi longtemps
+     * qu'une recherche normale, sinon dès qu'elle a atteint la profondeur maximale. L'attente
+     * cesse aussi à l'échéance du coup et dès l'annulation de son jeton : la pondération est
+     * alors arrêtée à sa dernière itération terminée. Si la position n'était pas prévue, la
+     * pondération est arrêtée et la recherche normale profite de la table remplie.
+     *
+     * @param partieOthello La partie d'Othello en cours.
+     * @param debut         L'instant du début du coup ({@link System#nanoTime()}).
+     * @param budget        Le budget du coup en nanosecondes, 0 s'il est illimité.
+     * @param jetonCoup     Le jeton d'annulation du coup, ou null.
+     * @return Le coup de la pondération, ou null s'il faut chercher normalement.
+     */
+    private int[] terminerPonderation(PartieOthello partieOthello, long debut, long budget, JetonAnnulation jetonCoup) {
+        if (ponderation == null) {
+            return null;
+        }
+        boolean prevu = hashPondere == partieOthello.getHash();
+        if (prevu) {
+            // Une recherche normale s'arrête de commencer des itérations à la moitié du budget
+            long echeance = (tempsLimiteMs > 0) ? debutPonderation + tempsLimiteMs * 500_000L : 0L;
+            if (budget > 0 && (echeance == 0L || debut + budget - echeance < 0)) {
+                echeance = debut + budget;
+            }
+            attendrePonderation(echeance, jetonCoup);
+        }
+        arreterPonderation();
+        if (!prevu || coupPondere == PASSE) {
+            return null;
+        }
+        return new int[]{coupPondere >>> 3, coupPondere & 7};
+    }
 
-                int eval = minimax(copie, profondeur - 1, false, couleurIA);
-                maxEval = Math.max(maxEval, eval);
+    /**
+     * Attend que la pondération de la position prévue se termine, sans dépasser l'échéance
+     * du coup ni ignorer son jeton, qui est consulté régulièrement. Une interruption du
+     * thread met fin à l'attente (elle est rétablie).
+     *
+     * @param echeance  L'instant ({@link System#nanoTime()}) auquel cesser d'attendre, 0 pour aucun.
+     * @param jetonCoup Le jeton d'annulation du coup, ou null.
+     */
+    private void attendrePonderation(long echeance, JetonAnnulation jetonCoup) {
+        try {
+            while (jetonCoup == null || !jetonCoup.estAnnule()) {
+                long attente = CONTROLE_JETON_NANOS;
+                if (echeance != 0L) {
+                    attente = Math.min(attente, echeance - System.nanoTime());
+                    if (attente <= 0) {
+                        return;
+                    }
+                }
+                try {
+                    ponderation.get(attente, TimeUnit.NANOSECONDS);
+                    return;
+                } catch (TimeoutException e) {
+                    // Échéance ou jeton à contrôler de nouveau
+                }
             }
-            return maxEval;
-        } else {
-            int minEval = Integer.MAX_VALUE;
-            for (int[] coup : coupsPossibles) {
-                PartieOthello copie = partieOthello.copier();
-                String coupStr = (coup[0] + 1) + " " + (char) ('A' + coup[1]);
-                copie.jouerCoup(coupStr);
-                copie.changerTour();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec de la pondération", e.getCause());
+        }
+    }
 
-                int eval = minimax(copie, profondeur - 1, true, couleurIA);
-                minEval = Math.min(minEval, eval);
+    /**
+     * Attend la fin de la pondération. Sans échéance, l'attente ne cède pas à une interruption
+     * du thread (rétablie ensuite) : la pondération partage l'état de la recherche et doit être
+     * terminée avant toute autre recherche.
+     *
+     * @param tache    La tâche de la pondération.
+     * @param echeance L'instant ({@link System#nanoTime()}) auquel cesser d'attendre, 0 pour
+     *                 attendre la fin de la tâche.
+     */
+    private static void attendre(Future<?> tache, long echeance) {
+        boolean interrompu = false;
+        try {
+            while (true) {
+                try {
+                    if (echeance != 0L) {
+                        tache.get(Math.max(0L, echeance - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    } else {
+                        tache.get();
+                    }
+                    return;
+                } catch (TimeoutException e) {
+                    return; // La pondération sera arrêtée à sa dernière itération terminée
+                } catch (InterruptedException e) {
+                    interrompu = true;
+                    if (echeance != 0L) {
+                        return;
+                    }
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec de la pondération", e.getCause());
+        } finally {
+            if (interrompu) {
+                Thread.currentThread().interrupt();
             }
-            return minEval;
         }
     }
 
     /**
-     * Évalue la valeur stratégique du plateau pour l'IA.
+     * Remplace la bibliothèque d'ouvertures consultée avant chaque recherche.
+     *
+     * @param bibliotheque La bibliothèque, {@link BibliothequeOuvertures#vide()} pour s'en passer.
+     */
+    public void setBibliotheque(BibliothequeOuvertures bibliotheque) {
+        this.bibliotheque = bibliotheque;
+    }
+
+    /**
+     * Remplace la base de parties consultée après la bibliothèque d'ouvertures : l'IA y joue
+     * le coup qui a le mieux réussi aux joueurs de la base, s'il a été assez joué.
+     *
+     * @param baseParties La base, {@link BaseParties#vide()} pour s'en passer.
+     */
+    public void setBaseParties(BaseParties baseParties) {
+        this.baseParties = baseParties;
+    }
+
+    /**
+     * Retourne le score du dernier coup cherché, pour le joueur qui l'a joué : l'évaluation
+     * heuristique de la dernière itération terminée, ou la différence finale de pions
+     * si la fin de partie a été résolue. Sans signification si le coup venait de la
+     * bibliothèque ou était forcé.
+     *
+     * @return Le score du dernier coup cherché.
+     */
+    public int getDernierScore() {
+        return dernierScore;
+    }
+
+    /**
+     * Active ou désactive la mesure des temps de génération des coups et d'évaluation
+     * dans les statistiques. Elle lit l'horloge plusieurs fois par nœud et ralentit donc
+     * la recherche : elle est désactivée par défaut.
+     *
+     * @param chronometrage true pour mesurer ces temps.
+     */
+    public void setChronometrage(boolean chronometrage) {
+        this.chronometrage = chronometrage;
+        for (IAMinimax auxiliaire : auxiliaires) {
+            auxiliaire.chronometrage = chronometrage;
+        }
+    }
+
+    @Override
+    public StatistiquesRecherche getStatistiquesDernierCoup() {
+        return statistiquesDernierCoup.copier();
+    }
+
+    @Override
+    public StatistiquesRecherche getStatistiquesCumulees() {
+        return statistiquesCumulees.copier();
+    }
+
+    /**
+     * Résout exactement la fin de partie si elle est assez proche. Avec un budget de temps,
+     * la résolution dispose de la moitié du budget, le reste revenant à la recherche
+     * heuristique si elle n'aboutit pas.
      *
      * @param partieOthello La partie d'Othello en cours.
      * @param couleur       La couleur du joueur IA.
-     * @return La valeur évaluée du plateau.
+     * @param debut         L'instant du début de la réflexion ({@link System#nanoTime()}).
+     * @return L'indice de la case du coup exact, ou -1 si la position n'a pas été résolue.
      */
-    private int evaluerPlateau(PartieOthello partieOthello, char couleur) {
-        // Si la partieOthello est terminée, attribuer une valeur élevée selon le vainqueur
-        if (partieOthello.estTerminee()) {
-            Joueur vainqueur = partieOthello.getVainqueur();
-            if (vainqueur == null) {
-                return 0; // Match nul
-            }
-            return (vainqueur.getCouleur() == couleur) ? 1000 : -1000;
-        }
-
-        char[][] plateau = partieOthello.getPlateau();
-        int score = 0;
-        char couleurAdversaire = (couleur == 'N') ? 'B' : 'N';
-
-        // Évaluation en fonction de la position stratégique des pions
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (plateau[i][j] == couleur) {
-                    score += getValeurPosition(i, j);
-                } else if (plateau[i][j] == couleurAdversaire) {
-                    score -= getValeurPosition(i, j);
+    private int resoudreFinPartie(PartieOthello partieOthello, char couleur, long debut) {
+        long joueur = partieOthello.getPions(couleur);
+        long adversaire = ~(joueur | partieOthello.getCasesVides());
+        if (solveur == null) {
+            solveur = new SolveurFinPartie(SolveurFinPartie.SEUIL_PAR_DEFAUT);
+        }
+        if (!solveur.peutResoudre(joueur, adversaire)) {
+            return -1;
+        }
+        long echeance = (budgetNanos > 0) ? debut + budgetNanos / 2 : 0L;
+        long noeudsAvant = solveur.getNoeuds();
+        int coup = solveur.chercherMeilleurCoup(joueur, adversaire, echeance, jeton);
+        statistiques.noeuds += solveur.getNoeuds() - noeudsAvant;
+        return coup;
+    }
+
+    /**
+     * Démarre les recherches auxiliaires, chacune sur sa propre copie de la partie.
+     *
+     * @param partieOthello    La partie d'Othello en cours.
+     * @param profondeurLimite La dernière profondeur recherchée.
+     * @return Les recherches lancées.
+     */
+    private List<Future<?>> lancerAuxiliaires(PartieOthello partieOthello, int profondeurLimite) {
+        List<Future<?>> recherches = new ArrayList<>();
+        if (auxiliaires.length == 0) {
+            return recherches;
+        }
+        if (executeur == null) {
+            executeur = Executors.newFixedThreadPool(auxiliaires.length, tache -> {
+                Thread thread = new Thread(tache, "IAMinimax-auxiliaire");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        arretAuxiliaires = false;
+        for (int i = 0; i < auxiliaires.length; i++) {
+            IAMinimax auxiliaire = auxiliaires[i];
+            PartieOthello copie = partieOthello.copier();
+            // Une recherche auxiliaire sur deux commence un demi-coup plus profond
+            int profondeurInitiale = 1 + (i % 2);
+            recherches.add(executeur.submit(() -> auxiliaire.rechercherEnAuxiliaire(copie, profondeurInitiale,
+                    profondeurLimite)));
+        }
+        return recherches;
+    }
+
+    /**
+     * Arrête les recherches auxiliaires et attend leur fin.
+     *
+     * @param recherches Les recherches lancées.
+     */
+    private void arreterAuxiliaires(List<Future<?>> recherches) {
+        arretAuxiliaires = true;
+        for (Future<?> recherche : recherches) {
+            try {
+                recherche.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Échec d'une recherche auxiliaire", e.getCause());
+            }
+        }
+        // Terminées, les recherches auxiliaires ne modifient plus leurs statistiques
+        for (IAMinimax auxiliaire : auxiliaires) {
+            statistiques.ajouter(auxiliaire.statistiques);
+        }
+    }
+
+    /**
+     * Approfondissement itératif d'une recherche auxiliaire, jusqu'à la profondeur
+     * de la recherche principale ou jusqu'à ce que celle-ci se termine.
+     *
+     * @param simulation          La copie de la partie propre à cette recherche.
+     * @param profondeurInitiale  La première profondeur recherchée.
+     * @param profondeurLimite    La dernière profondeur recherchée.
+     */
+    private void rechercherEnAuxiliaire(PartieOthello simulation, int profondeurInitiale, int profondeurLimite) {
+        statistiques.effacer();
+        preparerRecherche();
+        controlerEcheance = false;
+        for (int profondeur = profondeurInitiale; profondeur <= profondeurLimite && !rechercheInterrompue; profondeur++) {
+            alphaBeta(simulation, profondeur, -INFINI, INFINI, 0, true);
+            longueurVariationPrecedente = longueurVariation[0];
+            System.arraycopy(variation[0], 0, variationPrecedente, 0, longueurVariationPrecedente);
+        }
+    }
+
+    /**
+     * Efface la table de transposition et l'historique des coups.
+     */
+    @Override
+    public void nouvellePartie() {
+        reinitialiser();
+    }
+
+    /**
+     * Oublie ce qui a été appris lors des recherches précédentes (table de transposition
+     * et historique des coups), par exemple avant une nouvelle partie.
+     */
+    public void reinitialiser() {
+        synchronized (verrouRecherche) {
+            arreterPonderation();
+            if (table != null) {
+                table.effacer();
+            }
+            for (int[] historiqueJoueur : historique) {
+                Arrays.fill(historiqueJoueur, 0);
+            }
+            for (IAMinimax auxiliaire : auxiliaires) {
+                for (int[] historiqueJoueur : auxiliaire.historique) {
+                    Arrays.fill(historiqueJoueur, 0);
                 }
             }
         }
+    }
 
-        return score;
+    /**
+     * Réinitialise les heuristiques d'ordonnancement avant une nouvelle recherche.
+     * Les coups tueurs sont effacés et l'historique est vieilli.
+     */
+    private void preparerRecherche() {
+        for (int[] tueurs : coupsTueurs) {
+            tueurs[0] = PASSE;
+            tueurs[1] = PASSE;
+        }
+        for (int[] historiqueJoueur : historique) {
+            for (int i = 0; i < 64; i++) {
+                historiqueJoueur[i] >>= 2;
+            }
+        }
+        longueurVariationPrecedente = 0;
+        rechercheInterrompue = false;
+        if (table != null && principal == null) {
+            table.nouvelleRecherche();
+        }
+        noeudsAvantControle = NOEUDS_ENTRE_CONTROLES;
+    }
+
+    /**
+     * Vérifie périodiquement si l'échéance de la recherche est atteinte ou, pour une
+     * recherche auxiliaire, si la recherche principale est terminée.
+     *
+     * @return true si la recherche doit être abandonnée.
+     */
+    private boolean echeanceAtteinte() {
+        if (rechercheInterrompue) {
+            return true;
+        }
+        if (--noeudsAvantControle <= 0) {
+            noeudsAvantControle = NOEUDS_ENTRE_CONTROLES;
+            rechercheInterrompue = (controlerEcheance && ((budgetNanos > 0 && System.nanoTime() - echeanceNanos >= 0)
+                    || (jeton != null && jeton.estAnnule())))
+                    || (principal != null && principal.arretAuxiliaires) || arretPonderation;
+        }
+        return rechercheInterrompue;
     }
 
     /**
-     * Retourne la valeur stratégique d'une position sur le plateau.
+     * Algorithme negamax avec élagage alpha-bêta.
      *
-     * @param ligne   La ligne de la position.
-     * @param colonne La colonne de la position.
-     * @return La valeur stratégique de la position.
+     * @param partieOthello La partie d'Othello en cours.
+     * @param profondeur    La profondeur de recherche restante.
+     * @param alpha         La borne inférieure de la fenêtre de recherche.
+     * @param beta          La borne supérieure de la fenêtre de recherche.
+     * @param ply           La distance à la racine de la recherche.
+     * @param suivreVariation Indique si la position appartient à la variation principale précédente.
+     * @return La valeur de la position pour le joueur courant, sans signification si la recherche est interrompue.
      */
-    private int getValeurPosition(int ligne, int colonne) {
-        // Coins
-        if ((ligne == 0 || ligne == 7) && (colonne == 0 || colonne == 7)) {
-            return 11;
+    private int alphaBeta(PartieOthello partieOthello, int profondeur, int alpha, int beta, int ply, boolean suivreVariation) {
+        longueurVariation[ply] = ply;
+        if (echeanceAtteinte()) {
+            return 0;
+        }
+        statistiques.noeuds++;
+        char couleurActuelle = partieOthello.getJoueurCourant().getCouleur();
+
+        long debutGeneration = chronometrage ? System.nanoTime() : 0L;
+        EtatPartie etat = partieOthello.getEtat();
+        if (chronometrage) {
+            statistiques.tempsGenerationNanos += System.nanoTime() - debutGeneration;
+        }
+        if (profondeur == 0 || etat == EtatPartie.TERMINEE) {
+            if (ply > statistiques.profondeurSelective) {
+                statistiques.profondeurSelective = ply;
+            }
+            return evaluerPlateau(partieOthello, couleurActuelle);
+        }
+
+        long hash = partieOthello.getHash();
+        int coupTable = PASSE;
+        if (table != null) {
+            long donnee = table.sonder(hash);
+            statistiques.sondagesTable++;
+            if (donnee != 0L) {
+                statistiques.succesTable++;
+                coupTable = TableTransposition.coup(donnee);
+                // La racine est toujours recherchée pour disposer de son meilleur coup
+                if (ply > 0 && TableTransposition.profondeur(donnee) >= profondeur) {
+                    int score = TableTransposition.score(donnee);
+                    int borne = TableTransposition.borne(donnee);
+                    if (borne == TableTransposition.BORNE_EXACTE
+                            || (borne == TableTransposition.BORNE_INFERIEURE && score >= beta)
+                            || (borne == TableTransposition.BORNE_SUPERIEURE && score <= alpha)) {
+                        statistiques.coupuresTable++;
+                        return score;
+                    }
+                }
+            }
+        }
+
+        boolean suivreEnfant = suivreVariation && ply < longueurVariationPrecedente;
+
+        // Si aucun coup possible, on passe son tour
+        if (etat == EtatPartie.PASSE_OBLIGATOIRE) {
+            partieOthello.effectuerPasse();
+            int eval = -alphaBeta(partieOthello, profondeur - 1, -beta, -alpha, ply + 1,
+                    suivreEnfant && variationPrecedente[ply] == PASSE);
+            partieOthello.annulerCoup();
+            mettreAJourVariation(ply, PASSE);
+            return eval;
         }
 
-        // Bords
-        if (ligne == 0 || ligne == 7 || colonne == 0 || colonne == 7) {
-            return 6;
+        debutGeneration = chronometrage ? System.nanoTime() : 0L;
+        long coupsPossibles = partieOthello.getMasqueCoupsPossibles(couleurActuelle);
+        int camp = (partieOthello.getJoueurCourant() == partieOthello.getJoueur1()) ? 0 : 1;
+        int coupVariation = suivreEnfant ? variationPrecedente[ply] : PASSE;
+        int nbCoups = ordonnerCoups(coupsPossibles, ply, camp, (coupVariation != PASSE) ? coupVariation : coupTable);
+        if (chronometrage) {
+            statistiques.tempsGenerationNanos += System.nanoTime() - debutGeneration;
+        }
+        statistiques.noeudsInternes++;
+
+        int alphaInitial = alpha;
+        int meilleureValeur = -INFINI;
+        int meilleurCoup = PASSE;
+        for (int i = 0; i < nbCoups; i++) {
+            int coup = selectionnerCoup(ply, i, nbCoups);
+            statistiques.coupsExplores++;
+            partieOthello.effectuerCoup(coup);
+            int eval = -alphaBeta(partieOthello, profondeur - 1, -beta, -alpha, ply + 1, coup == coupVariation);
+            partieOthello.annulerCoup();
+            if (rechercheInterrompue) {
+                return 0;
+            }
+
+            if (eval > meilleureValeur) {
+                meilleureValeur = eval;
+                meilleurCoup = coup;
+                if (eval > alpha) {
+                    alpha = eval;
+                    mettreAJourVariation(ply, coup);
+                    if (alpha >= beta) {
+                        enregistrerCoupure(ply, camp, coup, profondeur);
+                        statistiques.coupures++;
+                        if (i == 0) {
+                            statistiques.coupuresPremierCoup++;
+                        }
+                        break;
+                    }
+                }
+            }
         }
+        if (table != null) {
+            int borne = (meilleureValeur <= alphaInitial) ? TableTransposition.BORNE_SUPERIEURE
+                    : (meilleureValeur >= beta) ? TableTransposition.BORNE_INFERIEURE
+                    : TableTransposition.BORNE_EXACTE;
+            table.enregistrer(hash, profondeur, borne, meilleureValeur, meilleurCoup);
+        }
+        return meilleureValeur;
+    }
 
-        // Positions centrales
-        return 1;
+    /**
+     * Remplit le tampon de coups du ply et attribue un score d'ordonnancement à chacun.
+     *
+     * @param coupsPossibles Le masque des coups possibles.
+     * @param ply            La distance à la racine.
+     * @param camp           Le joueur courant (0 : premier joueur, 1 : second joueur).
+     * @param coupPrefere    Le meilleur coup connu (variation principale précédente ou table), ou PASSE.
+     * @return Le nombre de coups.
+     */
+    private int ordonnerCoups(long coupsPossibles, int ply, int camp, int coupPrefere) {
+        int[] coups = coupsParPly[ply];
+        int[] scores = scoresParPly[ply];
+        int nbCoups = 0;
+        while (coupsPossibles != 0L) {
+            int coup = Long.numberOfTrailingZeros(coupsPossibles);
+            coupsPossibles &= coupsPossibles - 1;
+            int score = historique[camp][coup];
+            if (((COINS >>> coup) & 1L) != 0) {
+                score += BONUS_COIN;
+            }
+            if (coup == coupPrefere) {
+                score += BONUS_VARIATION;
+            }
+            if (coup == coupsTueurs[ply][0]) {
+                score += BONUS_TUEUR_1;
+            } else if (coup == coupsTueurs[ply][1]) {
+                score += BONUS_TUEUR_2;
+            }
+            coups[nbCoups] = coup;
+            scores[nbCoups] = score;
+            nbCoups++;
+        }
+        return nbCoups;
+    }
+
+    /**
+     * Place en position i le coup restant de meilleur score (tri par sélection paresseux :
+     * les coups qui ne sont jamais explorés à cause d'une coupure ne sont jamais triés).
+     *
+     * @param ply     La distance à la racine.
+     * @param i       La position à remplir.
+     * @param nbCoups Le nombre de coups du ply.
+     * @return Le coup placé en position i.
+     */
+    private int selectionnerCoup(int ply, int i, int nbCoups) {
+        int[] coups = coupsParPly[ply];
+        int[] scores = scoresParPly[ply];
+        int meilleur = i;
+        for (int j = i + 1; j < nbCoups; j++) {
+            if (scores[j] > scores[meilleur]) {
+                meilleur = j;
+            }
+        }
+        int coup = coups[meilleur];
+        coups[meilleur] = coups[i];
+        coups[i] = coup;
+        int score = scores[meilleur];
+        scores[meilleur] = scores[i];
+        scores[i] = score;
+        return coup;
+    }
+
+    /**
+     * Met à jour les coups tueurs et l'historique après une coupure bêta.
+     *
+     * @param ply        La distance à la racine.
+     * @param camp       Le joueur courant.
+     * @param coup       Le coup ayant provoqué la coupure.
+     * @param profondeur La profondeur restante au nœud.
+     */
+    private void enregistrerCoupure(int ply, int camp, int coup, int profondeur) {
+        if (coupsTueurs[ply][0] != coup) {
+            coupsTueurs[ply][1] = coupsTueurs[ply][0];
+            coupsTueurs[ply][0] = coup;
+        }
+        historique[camp][coup] += profondeur * profondeur;
+        if (historique[camp][coup] > HISTORIQUE_MAX) {
+            for (int[] historiqueJoueur : historique) {
+                for (int i = 0; i < 64; i++) {
+                    historiqueJoueur[i] >>= 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Enregistre le coup comme meilleur coup du ply et y rattache la variation de l'enfant.
+     *
+     * @param ply  La distance à la racine.
+     * @param coup Le meilleur coup, ou PASSE.
+     */
+    private void mettreAJourVariation(int ply, int coup) {
+        variation[ply][ply] = coup;
+        int longueur = longueurVariation[ply + 1];
+        System.arraycopy(variation[ply + 1], ply + 1, variation[ply], ply + 1, longueur - (ply + 1));
+        longueurVariation[ply] = Math.max(longueur, ply + 1);
+    }
+
+    /**
+     * Évalue la valeur stratégique du plateau pour l'IA.
+     *
+     * @param partieOthello La partie d'Othello en cours.
+     * @param couleur       La couleur du joueur IA.
+     * @return La valeur évaluée du plateau.
+     */
+    private int evaluerPlateau(PartieOthello partieOthello, char couleur) {
+        // Pas de getVainqueur() pour les parties terminées : il incrémenterait le compteur de victoires à chaque feuille
+        if (!chronometrage) {
+            return EvaluationOthello.evaluer(partieOthello, couleur);
+        }
+        long debutEvaluation = System.nanoTime();
+        int valeur = EvaluationOthello.evaluer(partieOthello, couleur);
+        statistiques.tempsEvaluationNanos += System.nanoTime() - debutEvaluation;
+        return valeur;
     }
 }
\ No newline at end of file
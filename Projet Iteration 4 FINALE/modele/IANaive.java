@@ -1,15 +1,27 @@
 package modele;
 
-import java.util.List;
 import java.util.Random;
 
 /**
- * Implémente une stratégie d'IA naïve qui joue des coups aléatoires.
+ * Implémente une stratégie d'IA naïve qui joue des coups aléatoires,
+ * sauf dans les positions connues de la bibliothèque d'ouvertures.
  */
 public class IANaive implements ModeleIA {
+    private final Random rand = new Random();
+    private BibliothequeOuvertures bibliotheque = BibliothequeOuvertures.getParDefaut();
 
     /**
-     * Joue un coup aléatoire parmi les coups possibles.
+     * Remplace la bibliothèque d'ouvertures consultée avant de tirer un coup au hasard.
+     *
+     * @param bibliotheque La bibliothèque, {@link BibliothequeOuvertures#vide()} pour s'en passer.
+     */
+    public void setBibliotheque(BibliothequeOuvertures bibliotheque) {
+        this.bibliotheque = bibliotheque;
+    }
+
+    /**
+     * Joue le coup de la bibliothèque d'ouvertures s'il existe, sinon un coup aléatoire
+     * parmi les coups possibles.
      *
      * @param partie La partie d'Othello en cours.
      * @param couleur La couleur du joueur IA.
@@ -17,11 +29,18 @@ public class IANaive implements ModeleIA {
      */
     @Override
     public int[] jouerCoup(PartieOthello partie, char couleur) {
-        List<int[]> coupsPossibles = partie.getCoupsPossibles(couleur);
-        if (!coupsPossibles.isEmpty()) {
-            Random rand = new Random();
-            int indiceAleatoire = rand.nextInt(coupsPossibles.size());
-            return coupsPossibles.get(indiceAleatoire);
+        int[] coupBibliotheque = bibliotheque.chercherCoup(partie);
+        if (coupBibliotheque != null) {
+            return coupBibliotheque;
+        }
+        long coupsPossibles = partie.getMasqueCoupsPossibles(couleur);
+        if (coupsPossibles != 0L) {
+            // Retire du masque un nombre aléatoire de coups puis prend le premier restant
+            for (int i = rand.nextInt(Long.bitCount(coupsPossibles)); i > 0; i--) {
+                coupsPossibles &= coupsPossibles - 1;
+            }
+            int coup = Long.numberOfTrailingZeros(coupsPossibles);
+            return new int[]{coup >>> 3, coup & 7};
         }
         return null;
     }
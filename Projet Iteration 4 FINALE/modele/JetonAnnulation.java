@@ -0,0 +1,25 @@
+package modele;
+
+/**
+ * Jeton permettant d'annuler depuis un autre thread une réflexion en cours, par exemple
+ * quand la partie est fermée. Une fois annulé, un jeton le reste.
+ */
+public class JetonAnnulation {
+    private volatile boolean annule;
+
+    /**
+     * Demande l'arrêt des réflexions qui utilisent ce jeton.
+     */
+    public void annuler() {
+        annule = true;
+    }
+
+    /**
+     * Indique si l'arrêt a été demandé.
+     *
+     * @return true si le jeton a été annulé.
+     */
+    public boolean estAnnule() {
+        return annule;
+    }
+}
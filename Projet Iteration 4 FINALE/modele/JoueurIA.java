@@ -1,5 +1,7 @@
 package modele;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Représente un joueur contrôlé par une IA.
  */
@@ -27,4 +29,26 @@ public class JoueurIA extends Joueur {
     public int[] choisirCoup(PartieOthello partie) {
         return strategie.jouerCoup(partie, getCouleur());
     }
+
+    /**
+     * Choisit un coup sans bloquer l'appelant.
+     *
+     * @param partie  La partie d'Othello en cours (elle est copiée).
+     * @param delaiMs Le délai de réflexion en millisecondes, 0 pour aucun.
+     * @param jeton   Le jeton d'annulation, ou null.
+     * @return Le coup choisi par l'IA.
+     * @see ModeleIA#jouerCoupAsynchrone(PartieOthello, char, long, JetonAnnulation)
+     */
+    public CompletableFuture<int[]> choisirCoupAsynchrone(PartieOthello partie, long delaiMs, JetonAnnulation jeton) {
+        return strategie.jouerCoupAsynchrone(partie, getCouleur(), delaiMs, jeton);
+    }
+
+    /**
+     * Retourne la stratégie d'IA du joueur.
+     *
+     * @return La stratégie utilisée.
+     */
+    public ModeleIA getStrategie() {
+        return strategie;
+    }
 }
@@ -1,5 +1,7 @@
 package modele;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface pour les stratégies d'IA dans le jeu d'Othello.
  */
@@ -12,4 +14,64 @@ public interface ModeleIA {
      * @return Le coup choisi par l'IA.
      */
     int[] jouerCoup(PartieOthello partie, char couleur);
+
+    /**
+     * Joue un coup sans bloquer l'appelant. À l'échéance ou à l'annulation du jeton, une
+     * stratégie qui sait s'interrompre rend le meilleur coup trouvé jusque-là ; par défaut,
+     * le coup est joué normalement sur un autre thread, sans tenir compte du délai ni du jeton.
+     *
+     * @param partie  La partie d'Othello en cours (elle est copiée avant de rendre la main).
+     * @param couleur La couleur du joueur IA.
+     * @param delaiMs Le délai en millisecondes à partir de l'appel, 0 pour aucun.
+     * @param jeton   Le jeton d'annulation, ou null.
+     * @return Le coup choisi par l'IA, null si aucun coup n'est possible.
+     */
+    default CompletableFuture<int[]> jouerCoupAsynchrone(PartieOthello partie, char couleur, long delaiMs,
+                                                         JetonAnnulation jeton) {
+        PartieOthello copie = partie.copier();
+        return CompletableFuture.supplyAsync(() -> jouerCoup(copie, couleur));
+    }
+
+    /**
+     * Prévient la stratégie qu'une nouvelle partie commence. Une stratégie qui apprend
+     * d'un coup à l'autre peut alors oublier ce qui concerne la partie précédente.
+     */
+    default void nouvellePartie() {
+    }
+
+    /**
+     * Prévient la stratégie que l'adversaire réfléchit : elle peut en profiter pour chercher
+     * à l'avance, sans bloquer l'appelant, jusqu'à son prochain coup.
+     *
+     * @param partie  La partie d'Othello en cours, l'adversaire ayant le trait.
+     * @param couleur La couleur du joueur IA.
+     */
+    default void commencerPonderation(PartieOthello partie, char couleur) {
+    }
+
+    /**
+     * Arrête la réflexion commencée par {@link #commencerPonderation(PartieOthello, char)},
+     * par exemple quand la partie se termine sans que l'IA ait à rejouer.
+     */
+    default void arreterPonderation() {
+    }
+
+    /**
+     * Retourne les statistiques de la recherche du dernier coup joué.
+     *
+     * @return Une copie des statistiques, ou null si la stratégie ne mesure pas ses recherches.
+     */
+    default StatistiquesRecherche getStatistiquesDernierCoup() {
+        return null;
+    }
+
+    /**
+     * Retourne les statistiques cumulées de tous les coups joués depuis la création de la
+     * stratégie (elles ne sont pas remises à zéro par {@link #nouvellePartie()}).
+     *
+     * @return Une copie des statistiques, ou null si la stratégie ne mesure pas ses recherches.
+     */
+    default StatistiquesRecherche getStatistiquesCumulees() {
+        return null;
+    }
 }
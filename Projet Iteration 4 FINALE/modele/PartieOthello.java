@@ -1,6 +1,7 @@
 package modele;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -10,7 +11,22 @@ public class PartieOthello {
     private Joueur joueur1;
     private Joueur joueur2;
     private Joueur joueurCourant;
-    private char[][] plateau;
+    private long pionsJoueur1; // Bitboard des pions du premier joueur
+    private long pionsJoueur2; // Bitboard des pions du second joueur
+    private long hash; // Hachage de Zobrist de la position, mis à jour à chaque coup
+    // Valeur des cases pour chaque phase de jeu, du point de vue du premier joueur
+    private final int[] valeursCases = new int[EvaluationOthello.NB_PHASES];
+    // Coups légaux des deux joueurs, calculés à la demande et valables jusqu'au prochain coup
+    private long coupsJoueurCourant;
+    private long coupsAdversaire;
+    private boolean coupsCalcules;
+
+    // Historique des coups effectués par effectuerCoup, alloué au premier usage
+    private int[] historiqueCases;
+    private long[] historiqueRetournes;
+    private long[] historiqueHash;
+    private Joueur[] historiqueJoueurs;
+    private int nbCoupsHistorique;
 
     /**
      * Construit une nouvelle partie d'Othello avec les joueurs spécifiés.
@@ -22,7 +38,6 @@ public class PartieOthello {
         this.joueur1 = joueur1;
         this.joueur2 = joueur2;
         this.joueurCourant = joueur1;
-        this.plateau = new char[8][8];
         initialiserPlateau();
     }
 
@@ -30,15 +45,61 @@ public class PartieOthello {
      * Initialise le plateau de jeu avec les positions de départ.
      */
     private void initialiserPlateau() {
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                plateau[i][j] = ' ';
+        // Le premier joueur (noir) occupe D5 et E4, le second (blanc) D4 et E5.
+        pionsJoueur1 = (1L << (3 * 8 + 4)) | (1L << (4 * 8 + 3));
+        pionsJoueur2 = (1L << (3 * 8 + 3)) | (1L << (4 * 8 + 4));
+        hash = Zobrist.calculer(pionsJoueur1, pionsJoueur2, false);
+        calculerValeursCases();
+    }
+
+    /**
+     * Remplace la position de la partie par une position donnée. L'historique des coups
+     * est effacé.
+     * <p>
+     * Le plateau est décrit ligne par ligne, de la case A1 à la case H8 : la couleur d'un
+     * joueur pour un pion, '-' ou '.' pour une case vide. Les espaces sont ignorés.
+     *
+     * @param plateau        Les 64 cases du plateau.
+     * @param couleurAuTrait La couleur du joueur qui doit jouer.
+     * @throws IllegalArgumentException Si le plateau ou la couleur ne sont pas valides.
+     */
+    public void chargerPosition(String plateau, char couleurAuTrait) {
+        String cases = plateau.replaceAll("\\s", "");
+        if (cases.length() != 64) {
+            throw new IllegalArgumentException("Le plateau doit compter 64 cases : " + cases.length());
+        }
+        if (couleurAuTrait != joueur1.getCouleur() && couleurAuTrait != joueur2.getCouleur()) {
+            throw new IllegalArgumentException("Couleur inconnue : " + couleurAuTrait);
+        }
+        long pions1 = 0L;
+        long pions2 = 0L;
+        for (int indiceCase = 0; indiceCase < 64; indiceCase++) {
+            char c = cases.charAt(indiceCase);
+            if (c == joueur1.getCouleur()) {
+                pions1 |= 1L << indiceCase;
+            } else if (c == joueur2.getCouleur()) {
+                pions2 |= 1L << indiceCase;
+            } else if (c != '-' && c != '.') {
+                throw new IllegalArgumentException("Case invalide en position " + indiceCase + " : " + c);
             }
         }
-        plateau[3][3] = 'B';
-        plateau[4][4] = 'B';
-        plateau[3][4] = 'N';
-        plateau[4][3] = 'N';
+        pionsJoueur1 = pions1;
+        pionsJoueur2 = pions2;
+        joueurCourant = (couleurAuTrait == joueur1.getCouleur()) ? joueur1 : joueur2;
+        hash = Zobrist.calculer(pionsJoueur1, pionsJoueur2, joueurCourant == joueur2);
+        calculerValeursCases();
+        coupsCalcules = false;
+        nbCoupsHistorique = 0;
+    }
+
+    /**
+     * Recalcule entièrement la valeur des cases de toutes les phases.
+     */
+    private void calculerValeursCases() {
+        for (int phase = 0; phase < EvaluationOthello.NB_PHASES; phase++) {
+            valeursCases[phase] = EvaluationOthello.valeurCases(pionsJoueur1, phase)
+                    - EvaluationOthello.valeurCases(pionsJoueur2, phase);
+        }
     }
 
     /**
@@ -47,7 +108,35 @@ public class PartieOthello {
      * @return true si la partie est terminée, false sinon.
      */
     public boolean estTerminee() {
-        return estPlein() || (!coupPossible(joueur1.getCouleur()) && !coupPossible(joueur2.getCouleur()));
+        return getEtat() == EtatPartie.TERMINEE;
+    }
+
+    /**
+     * Retourne l'état de la position pour le joueur courant. Les coups des deux joueurs
+     * sont calculés en une fois puis conservés jusqu'au prochain coup, passe ou annulation.
+     *
+     * @return L'état de la position.
+     */
+    public EtatPartie getEtat() {
+        calculerCoups();
+        if (coupsJoueurCourant != 0L) {
+            return EtatPartie.COUPS_POSSIBLES;
+        }
+        return (coupsAdversaire != 0L) ? EtatPartie.PASSE_OBLIGATOIRE : EtatPartie.TERMINEE;
+    }
+
+    /**
+     * Calcule les coups légaux des deux joueurs s'ils ne sont pas déjà connus.
+     */
+    private void calculerCoups() {
+        if (!coupsCalcules) {
+            boolean joueur1Joue = joueurCourant == joueur1;
+            long joueur = joueur1Joue ? pionsJoueur1 : pionsJoueur2;
+            long adversaire = joueur1Joue ? pionsJoueur2 : pionsJoueur1;
+            coupsJoueurCourant = Bitboard.coupsLegaux(joueur, adversaire);
+            coupsAdversaire = Bitboard.coupsLegaux(adversaire, joueur);
+            coupsCalcules = true;
+        }
     }
 
     /**
@@ -55,68 +144,153 @@ public class PartieOthello {
      *
      * @param coup Le coup à jouer, sous forme de chaîne (ex: "3 D").
      * @return true si le coup est valide, false sinon.
+     * @throws IllegalArgumentException Si la chaîne ne désigne pas une case du plateau.
      */
     public boolean jouerCoup(String coup) {
-        Coup coupObj = new Coup(coup);
-        int ligne = coupObj.getLigne();
-        int colonne = coupObj.getColonne();
+        return jouerCoup(Coup.lire(coup).getIndiceCase());
+    }
 
-        if (plateau[ligne][colonne] != ' ') {
+    /**
+     * Joue un coup sur le plateau, sans changer de joueur courant.
+     *
+     * @param ligne   La ligne du coup (de 0 à 7).
+     * @param colonne La colonne du coup (de 0 à 7).
+     * @return true si le coup est valide, false sinon.
+     */
+    public boolean jouerCoup(int ligne, int colonne) {
+        if (ligne < 0 || ligne > 7 || colonne < 0 || colonne > 7) {
             return false;
         }
+        return jouerCoup(ligne * 8 + colonne);
+    }
 
-        boolean coupValide = false;
-        List<int[]> pionsARetournerTotal = new ArrayList<>();
-
-        for (int dLigne = -1; dLigne <= 1; dLigne++) {
-            for (int dColonne = -1; dColonne <= 1; dColonne++) {
-                if (dLigne == 0 && dColonne == 0) {
-                    continue;
-                }
-                List<int[]> pionsARetourner = verifierCoupDirection(ligne, colonne, dLigne, dColonne, joueurCourant.getCouleur());
-                if (!pionsARetourner.isEmpty()) {
-                    coupValide = true;
-                    pionsARetournerTotal.addAll(pionsARetourner);
-                }
-            }
+    /**
+     * Joue un coup sur le plateau, sans changer de joueur courant.
+     *
+     * @param indiceCase L'indice de la case jouée (ligne * 8 + colonne).
+     * @return true si le coup est valide, false sinon.
+     */
+    public boolean jouerCoup(int indiceCase) {
+        if (indiceCase < 0 || indiceCase > 63) {
+            return false;
         }
-
-        if (coupValide) {
-            plateau[ligne][colonne] = joueurCourant.getCouleur();
-            for (int[] pion : pionsARetournerTotal) {
-                plateau[pion[0]][pion[1]] = joueurCourant.getCouleur();
-            }
+        boolean joueur1Joue = joueurCourant == joueur1;
+        long joueur = joueur1Joue ? pionsJoueur1 : pionsJoueur2;
+        long adversaire = joueur1Joue ? pionsJoueur2 : pionsJoueur1;
+        long retournes = Bitboard.retournements(indiceCase, joueur, adversaire);
+        if (retournes == 0L) {
+            return false;
         }
-        return coupValide;
+
+        appliquer(indiceCase, retournes, joueur1Joue);
+        return true;
     }
 
     /**
-     * Vérifie si un coup dans une direction spécifique est valide.
+     * Joue un coup sur place pour le joueur courant puis donne la main à l'adversaire.
+     * Seuls la case jouée, les pions retournés et le joueur courant sont mémorisés,
+     * ce qui permet d'annuler le coup avec {@link #annulerCoup()}.
      *
-     * @param ligne         La ligne du coup.
-     * @param colonne       La colonne du coup.
-     * @param dLigne        La direction en ligne.
-     * @param dColonne      La direction en colonne.
-     * @param couleurJoueur La couleur du joueur courant.
-     * @return La liste des pions à retourner si le coup est valide, sinon une liste vide.
+     * @param indiceCase L'indice de la case jouée (ligne * 8 + colonne).
+     * @return true si le coup est valide, false sinon (rien n'est alors modifié).
      */
+    public boolean effectuerCoup(int indiceCase) {
+        boolean joueur1Joue = joueurCourant == joueur1;
+        long joueur = joueur1Joue ? pionsJoueur1 : pionsJoueur2;
+        long adversaire = joueur1Joue ? pionsJoueur2 : pionsJoueur1;
+        long retournes = Bitboard.retournements(indiceCase, joueur, adversaire);
+        if (retournes == 0L) {
+            return false;
+        }
+        memoriser(indiceCase, retournes);
+        appliquer(indiceCase, retournes, joueur1Joue);
+        changerTour();
+        return true;
+    }
 
-    private List<int[]> verifierCoupDirection(int ligne, int colonne, int dLigne, int dColonne, char couleurJoueur) {
-        List<int[]> pionsARetourner = new ArrayList<>();
-        int l = ligne + dLigne;
-        int c = colonne + dColonne;
+    /**
+     * Passe le tour du joueur courant sur place, de manière annulable avec {@link #annulerCoup()}.
+     */
+    public void effectuerPasse() {
+        memoriser(-1, 0L);
+        changerTour();
+    }
 
-        while (l >= 0 && l < 8 && c >= 0 && c < 8 && plateau[l][c] != ' ' && plateau[l][c] != couleurJoueur) {
-            pionsARetourner.add(new int[]{l, c});
-            l += dLigne;
-            c += dColonne;
+    /**
+     * Annule le dernier coup ou la dernière passe effectués avec
+     * {@link #effectuerCoup(int)} ou {@link #effectuerPasse()}.
+     */
+    public void annulerCoup() {
+        nbCoupsHistorique--;
+        int indiceCase = historiqueCases[nbCoupsHistorique];
+        joueurCourant = historiqueJoueurs[nbCoupsHistorique];
+        hash = historiqueHash[nbCoupsHistorique];
+        coupsCalcules = false;
+        if (indiceCase >= 0) {
+            long retournes = historiqueRetournes[nbCoupsHistorique];
+            long pose = 1L << indiceCase;
+            if (joueurCourant == joueur1) {
+                pionsJoueur1 &= ~(retournes | pose);
+                pionsJoueur2 |= retournes;
+                EvaluationOthello.jouerValeurCases(valeursCases, indiceCase, retournes, -1);
+            } else {
+                pionsJoueur2 &= ~(retournes | pose);
+                pionsJoueur1 |= retournes;
+                EvaluationOthello.jouerValeurCases(valeursCases, indiceCase, retournes, 1);
+            }
         }
+    }
 
-        if (l < 0 || l >= 8 || c < 0 || c >= 8 || plateau[l][c] != couleurJoueur) {
-            return new ArrayList<>(); // Coup invalide, ne retourne rien
+    /**
+     * Pose un pion et retourne les pions capturés pour le joueur indiqué.
+     *
+     * @param indiceCase  L'indice de la case jouée.
+     * @param retournes   Le masque des pions retournés.
+     * @param joueur1Joue true si le coup est joué par le premier joueur.
+     */
+    private void appliquer(int indiceCase, long retournes, boolean joueur1Joue) {
+        long pose = 1L << indiceCase;
+        coupsCalcules = false;
+        if (joueur1Joue) {
+            pionsJoueur1 |= retournes | pose;
+            pionsJoueur2 &= ~retournes;
+            hash ^= Zobrist.CLES_JOUEUR1[indiceCase];
+            EvaluationOthello.jouerValeurCases(valeursCases, indiceCase, retournes, 1);
+        } else {
+            pionsJoueur2 |= retournes | pose;
+            pionsJoueur1 &= ~retournes;
+            hash ^= Zobrist.CLES_JOUEUR2[indiceCase];
+            EvaluationOthello.jouerValeurCases(valeursCases, indiceCase, retournes, -1);
+        }
+        while (retournes != 0L) {
+            hash ^= Zobrist.CLES_RETOURNEMENT[Long.numberOfTrailingZeros(retournes)];
+            retournes &= retournes - 1;
         }
+    }
 
-        return pionsARetourner;
+    /**
+     * Ajoute une entrée à l'historique des coups effectués.
+     *
+     * @param indiceCase L'indice de la case jouée, -1 pour une passe.
+     * @param retournes  Le masque des pions retournés.
+     */
+    private void memoriser(int indiceCase, long retournes) {
+        if (historiqueCases == null) {
+            historiqueCases = new int[128];
+            historiqueRetournes = new long[128];
+            historiqueJoueurs = new Joueur[128];
+            historiqueHash = new long[128];
+        } else if (nbCoupsHistorique == historiqueCases.length) {
+            historiqueCases = Arrays.copyOf(historiqueCases, nbCoupsHistorique * 2);
+            historiqueRetournes = Arrays.copyOf(historiqueRetournes, nbCoupsHistorique * 2);
+            historiqueJoueurs = Arrays.copyOf(historiqueJoueurs, nbCoupsHistorique * 2);
+            historiqueHash = Arrays.copyOf(historiqueHash, nbCoupsHistorique * 2);
+        }
+        historiqueCases[nbCoupsHistorique] = indiceCase;
+        historiqueRetournes[nbCoupsHistorique] = retournes;
+        historiqueJoueurs[nbCoupsHistorique] = joueurCourant;
+        historiqueHash[nbCoupsHistorique] = hash;
+        nbCoupsHistorique++;
     }
 
     /**
@@ -124,6 +298,11 @@ public class PartieOthello {
      */
     public void changerTour() {
         joueurCourant = (joueurCourant == joueur1) ? joueur2 : joueur1;
+        hash ^= Zobrist.CLE_TRAIT_JOUEUR2;
+        // Le plateau n'a pas changé : les coups connus changent seulement de camp
+        long coups = coupsJoueurCourant;
+        coupsJoueurCourant = coupsAdversaire;
+        coupsAdversaire = coups;
     }
 
     /**
@@ -146,13 +325,12 @@ public class PartieOthello {
             return null;
         }
 
-        int pionsJoueur1 = compterPions(joueur1.getCouleur());
-        int pionsJoueur2 = compterPions(joueur2.getCouleur());
+        int difference = getDifferencePions(joueur1.getCouleur());
 
-        if (pionsJoueur1 > pionsJoueur2) {
+        if (difference > 0) {
             joueur1.incrementerPartiesGagnees();
             return joueur1;
-        } else if (pionsJoueur2 > pionsJoueur1) {
+        } else if (difference < 0) {
             joueur2.incrementerPartiesGagnees();
             return joueur2;
         } else {
@@ -167,76 +345,47 @@ public class PartieOthello {
      * @return Le nombre de pions de la couleur spécifiée.
      */
     public int compterPions(char couleur) {
-        int compte = 0;
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (plateau[i][j] == couleur) {
-                    compte++;
-                }
-            }
-        }
-        return compte;
+        return Long.bitCount(getPions(couleur));
     }
 
     /**
-     * Vérifie si un coup est possible pour une couleur spécifique.
+     * Calcule la différence de pions entre un joueur et son adversaire.
      *
-     * @param couleurJoueur La couleur du joueur.
-     * @return true si un coup est possible, false sinon.
+     * @param couleur La couleur du joueur.
+     * @return Le nombre de pions du joueur moins celui de son adversaire.
      */
-    public boolean coupPossible(char couleurJoueur) {
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (plateau[i][j] == ' ') {
-                    for (int dLigne = -1; dLigne <= 1; dLigne++) {
-                        for (int dColonne = -1; dColonne <= 1; dColonne++) {
-                            if (dLigne == 0 && dColonne == 0) {
-                                continue;
-                            }
-                            if (coupPossibleDirection(i, j, dLigne, dColonne, couleurJoueur)) {
-                                return true;
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return false;
+    public int getDifferencePions(char couleur) {
+        int difference = Long.bitCount(pionsJoueur1) - Long.bitCount(pionsJoueur2);
+        return (couleur == joueur1.getCouleur()) ? difference : -difference;
     }
 
     /**
-     * Vérifie si un coup est possible dans une direction spécifique.
+     * Retourne les cases vides du plateau.
      *
-     * @param ligne         La ligne du coup.
-     * @param colonne       La colonne du coup.
-     * @param dLigne        La direction en ligne.
-     * @param dColonne      La direction en colonne.
-     * @param couleurJoueur La couleur du joueur courant.
-     * @return true si un coup est possible dans la direction spécifiée, false sinon.
+     * @return Le bitboard des cases vides.
      */
-    private boolean coupPossibleDirection(int ligne, int colonne, int dLigne, int dColonne, char couleurJoueur) {
-        int l = ligne + dLigne;
-        int c = colonne + dColonne;
-        // Vérifier que la case adjacente est dans le plateau et contient un pion adverse.
-        if (l < 0 || l >= 8 || c < 0 || c >= 8 || plateau[l][c] == ' ' || plateau[l][c] == couleurJoueur) {
-            return false;
-        }
-        // Avancer dans la direction pour trouver un pion de la même couleur.
-        l += dLigne;
-        c += dColonne;
-        while (l >= 0 && l < 8 && c >= 0 && c < 8) {
-            if (plateau[l][c] == ' ') {
-                return false;
-            }
-            if (plateau[l][c] == couleurJoueur) {
-                return true;
-            }
-            l += dLigne;
-            c += dColonne;
-        }
-        return false;
+    public long getCasesVides() {
+        return ~(pionsJoueur1 | pionsJoueur2);
+    }
+
+    /**
+     * Retourne le nombre de cases vides du plateau.
+     *
+     * @return Le nombre de cases vides.
+     */
+    public int getNombreCasesVides() {
+        return Long.bitCount(~(pionsJoueur1 | pionsJoueur2));
     }
 
+    /**
+     * Vérifie si un coup est possible pour une couleur spécifique.
+     *
+     * @param couleurJoueur La couleur du joueur.
+     * @return true si un coup est possible, false sinon.
+     */
+    public boolean coupPossible(char couleurJoueur) {
+        return getMasqueCoupsPossibles(couleurJoueur) != 0L;
+    }
 
     /**
      * Vérifie si le plateau est plein.
@@ -244,53 +393,75 @@ public class PartieOthello {
      * @return true si le plateau est plein, false sinon.
      */
     public boolean estPlein() {
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (plateau[i][j] == ' ') {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return getCasesVides() == 0L;
     }
 
     /**
      * Retourne la liste des coups possibles pour une couleur spécifique.
+     * La liste est construite à chaque appel ; la recherche utilise plutôt
+     * {@link #getMasqueCoupsPossibles(char)} ou {@link #remplirCoupsPossibles(char, int[])}.
      *
      * @param couleurJoueur La couleur du joueur.
      * @return La liste des coups possibles.
      */
     public List<int[]> getCoupsPossibles(char couleurJoueur) {
         List<int[]> coupsPossibles = new ArrayList<>();
-
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (plateau[i][j] == ' ' && estCoupValide(i, j, couleurJoueur)) {
-                    coupsPossibles.add(new int[]{i, j});
-                }
-            }
+        long coups = getMasqueCoupsPossibles(couleurJoueur);
+        while (coups != 0L) {
+            int indiceCase = Long.numberOfTrailingZeros(coups);
+            coups &= coups - 1;
+            coupsPossibles.add(new int[]{indiceCase >>> 3, indiceCase & 7});
         }
         return coupsPossibles;
     }
 
     /**
-     * Vérifie si un coup à une position donnée est valide.
+     * Remplit un tampon avec les indices (ligne * 8 + colonne) des coups possibles
+     * pour une couleur spécifique, par indice croissant, sans allocation.
      *
-     * @param ligne         La ligne du coup.
-     * @param colonne       La colonne du coup.
-     * @param couleurJoueur La couleur du joueur courant.
-     * @return true si le coup est valide, false sinon.
+     * @param couleurJoueur La couleur du joueur.
+     * @param cases         Le tampon à remplir, assez grand pour tous les coups (64 cases suffisent toujours).
+     * @return Le nombre de coups écrits dans le tampon.
      */
-    private boolean estCoupValide(int ligne, int colonne, char couleurJoueur) {
-        for (int dLigne = -1; dLigne <= 1; dLigne++) {
-            for (int dColonne = -1; dColonne <= 1; dColonne++) {
-                if (dLigne == 0 && dColonne == 0) continue;
-                if (!verifierCoupDirection(ligne, colonne, dLigne, dColonne, couleurJoueur).isEmpty()) {
-                    return true;
-                }
-            }
+    public int remplirCoupsPossibles(char couleurJoueur, int[] cases) {
+        long coups = getMasqueCoupsPossibles(couleurJoueur);
+        int nbCoups = 0;
+        while (coups != 0L) {
+            cases[nbCoups++] = Long.numberOfTrailingZeros(coups);
+            coups &= coups - 1;
+        }
+        return nbCoups;
+    }
+
+    /**
+     * Retourne le masque des coups possibles pour une couleur spécifique : le bit
+     * ligne * 8 + colonne vaut 1 si le joueur peut jouer sur la case correspondante.
+     *
+     * @param couleurJoueur La couleur du joueur.
+     * @return Le masque des cases jouables.
+     */
+    public long getMasqueCoupsPossibles(char couleurJoueur) {
+        calculerCoups();
+        if (couleurJoueur == joueurCourant.getCouleur()) {
+            return coupsJoueurCourant;
+        }
+        return (couleurJoueur == joueur1.getCouleur() || couleurJoueur == joueur2.getCouleur()) ? coupsAdversaire : 0L;
+    }
+
+    /**
+     * Retourne le bitboard des pions d'une couleur.
+     *
+     * @param couleur La couleur des pions.
+     * @return Le bitboard des pions, 0 si la couleur n'appartient à aucun joueur.
+     */
+    long getPions(char couleur) {
+        if (couleur == joueur1.getCouleur()) {
+            return pionsJoueur1;
+        }
+        if (couleur == joueur2.getCouleur()) {
+            return pionsJoueur2;
         }
-        return false;
+        return 0L;
     }
 
     /**
@@ -300,19 +471,92 @@ public class PartieOthello {
      */
     public PartieOthello copier() {
         PartieOthello copie = new PartieOthello(joueur1, joueur2);
-        for (int i = 0; i < 8; i++) {
-            System.arraycopy(this.plateau[i], 0, copie.plateau[i], 0, 8);
-        }
+        copie.pionsJoueur1 = this.pionsJoueur1;
+        copie.pionsJoueur2 = this.pionsJoueur2;
         copie.joueurCourant = this.joueurCourant;
+        copie.hash = this.hash;
+        copie.coupsJoueurCourant = this.coupsJoueurCourant;
+        copie.coupsAdversaire = this.coupsAdversaire;
+        copie.coupsCalcules = this.coupsCalcules;
+        System.arraycopy(this.valeursCases, 0, copie.valeursCases, 0, valeursCases.length);
         return copie;
     }
 
     /**
-     * Retourne le plateau de jeu.
+     * Retourne le hachage de Zobrist de la position, trait compris.
+     * Il est mis à jour de manière incrémentale à chaque coup.
+     *
+     * @return Le hachage de la position.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Retourne la symétrie qui transforme la position en sa forme canonique (voir
+     * {@link Symetries}). Un coup de la partie s'exprime dans la forme canonique avec
+     * {@link Symetries#transformerCase} et revient à la partie avec {@link Symetries#restaurerCase}.
+     *
+     * @return La symétrie (0 à 7).
+     */
+    public int getSymetrieCanonique() {
+        return Symetries.trouverCanonique(pionsJoueur1, pionsJoueur2);
+    }
+
+    /**
+     * Retourne le hachage de Zobrist de la forme canonique de la position, trait compris :
+     * les 8 positions symétriques les unes des autres ont le même. Contrairement à
+     * {@link #getHash()}, il est calculé à chaque appel.
+     *
+     * @return Le hachage canonique de la position.
+     */
+    public long getHashCanonique() {
+        return getHashCanonique(getSymetrieCanonique());
+    }
+
+    /**
+     * Retourne le hachage de Zobrist de l'image de la position par une symétrie, trait compris.
+     *
+     * @param symetrie La symétrie, en général {@link #getSymetrieCanonique()}.
+     * @return Le hachage de l'image.
+     */
+    long getHashCanonique(int symetrie) {
+        return Zobrist.calculer(Symetries.transformer(pionsJoueur1, symetrie),
+                Symetries.transformer(pionsJoueur2, symetrie), joueurCourant == joueur2);
+    }
+
+    /**
+     * Retourne la valeur des cases d'un joueur moins celle des cases de son adversaire,
+     * tenue à jour à chaque coup.
+     *
+     * @param couleur La couleur du joueur.
+     * @param phase   La phase de jeu.
+     * @return La valeur des cases du point de vue du joueur.
+     */
+    int getValeurCases(char couleur, int phase) {
+        return (couleur == joueur1.getCouleur()) ? valeursCases[phase] : -valeursCases[phase];
+    }
+
+    /**
+     * Retourne une vue du plateau de jeu sous forme de tableau.
+     * Le tableau est reconstruit à partir des bitboards à chaque appel.
      *
      * @return Le plateau de jeu.
      */
     public char[][] getPlateau() {
+        char[][] plateau = new char[8][8];
+        for (int i = 0; i < 8; i++) {
+            for (int j = 0; j < 8; j++) {
+                long masque = 1L << (i * 8 + j);
+                if ((pionsJoueur1 & masque) != 0) {
+                    plateau[i][j] = joueur1.getCouleur();
+                } else if ((pionsJoueur2 & masque) != 0) {
+                    plateau[i][j] = joueur2.getCouleur();
+                } else {
+                    plateau[i][j] = ' ';
+                }
+            }
+        }
         return plateau;
     }
 
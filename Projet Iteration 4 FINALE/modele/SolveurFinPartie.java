@@ -0,0 +1,792 @@
+package modele;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Implémente une stratégie d'IA exacte pour la fin de partie d'Othello.
+ * <p>
+ * Lorsque le nombre de cases vides est inférieur ou égal au seuil, la partie est résolue
+ * jusqu'au bout et le coup choisi maximise la différence finale de pions. Au-delà du
+ * seuil, le choix est délégué à une autre stratégie.
+ * <p>
+ * La résolution travaille directement sur les bitboards, avec une recherche à fenêtre
+ * nulle (PVS). Les coups sont ordonnés par mobilité adverse croissante (« fastest-first »)
+ * loin de la fin, puis par parité des régions ; les 4 dernières cases vides sont traitées
+ * par des fonctions spécialisées. Les positions à plus de 9 cases vides sont conservées
+ * dans une table de transposition.
+ * <p>
+ * Un coup asynchrone respecte son délai et son jeton d'annulation : la résolution
+ * interrompue rend le meilleur coup déjà prouvé, à défaut le premier coup de
+ * l'ordonnancement, et le milieu de partie est confié à la méthode asynchrone de la
+ * stratégie déléguée.
+ */
+public class SolveurFinPartie implements ModeleIA {
+    /**
+     * Nombre de cases vides à partir duquel la résolution exacte est utilisée par défaut.
+     * À 16 cases vides, une résolution prend de l'ordre de 0,2 s sur un cœur ; chaque
+     * case vide supplémentaire multiplie ce temps par 2 à 3.
+     */
+    public static final int SEUIL_PAR_DEFAUT = 16;
+
+    private static final int INFINI = 100;
+    private static final int VIDES_FASTEST_FIRST = 5; // En dessous, l'ordre par parité suffit
+    private static final int VIDES_TABLE = 8; // En dessous, la table coûte plus qu'elle ne rapporte
+    private static final int TAILLE_TABLE_MO = 16;
+    private static final int NOEUDS_ENTRE_CONTROLES = 4096;
+    private static final long COINS = 0x8100000000000081L;
+    // Les quatre quarts du plateau, pour la parité des régions
+    private static final long[] QUARTS = {
+            0x000000000F0F0F0FL, 0x00000000F0F0F0F0L, 0x0F0F0F0F00000000L, 0xF0F0F0F000000000L
+    };
+
+    private final int seuilCasesVides;
+    private final ModeleIA strategieMilieuDePartie;
+
+    private final TableTransposition table = new TableTransposition(TAILLE_TABLE_MO);
+    private final int[][] coupsParVides = new int[61][64];
+    private final int[][] scoresParVides = new int[61][64];
+    private final long[][] retournesParVides = new long[61][64];
+    private long noeuds;
+    private int dernierScore;
+    private int coupPartiel; // Meilleur coup connu de la dernière résolution interrompue
+    private long echeanceNanos; // 0 si la résolution n'est pas limitée dans le temps
+    private JetonAnnulation jeton; // null si la résolution n'est pas annulable
+    private int noeudsAvantControle;
+    private boolean interrompu;
+    private final StatistiquesRecherche statistiques = new StatistiquesRecherche(); // Dernier coup
+    private final StatistiquesRecherche statistiquesCumulees = new StatistiquesRecherche();
+    private ExecutorService executeurAsynchrone; // Thread des coups asynchrones, créé au premier
+
+    /**
+     * Construit un solveur de fin de partie avec le seuil par défaut, qui délègue
+     * le milieu de partie à l'IA Minimax.
+     */
+    public SolveurFinPartie() {
+        this(SEUIL_PAR_DEFAUT, new IAMinimax());
+    }
+
+    /**
+     * Construit un solveur de fin de partie.
+     *
+     * @param seuilCasesVides          Le nombre de cases vides à partir duquel la partie est résolue.
+     * @param strategieMilieuDePartie  La stratégie utilisée tant que le seuil n'est pas atteint.
+     */
+    public SolveurFinPartie(int seuilCasesVides, ModeleIA strategieMilieuDePartie) {
+        if (strategieMilieuDePartie == null) {
+            throw new IllegalArgumentException("Une stratégie de milieu de partie est nécessaire");
+        }
+        this.seuilCasesVides = verifierSeuil(seuilCasesVides);
+        this.strategieMilieuDePartie = strategieMilieuDePartie;
+    }
+
+    /**
+     * Construit un solveur utilisé directement par une autre stratégie, sans délégation.
+     *
+     * @param seuilCasesVides Le nombre de cases vides à partir duquel la partie est résolue.
+     */
+    SolveurFinPartie(int seuilCasesVides) {
+        this.seuilCasesVides = verifierSeuil(seuilCasesVides);
+        this.strategieMilieuDePartie = null;
+    }
+
+    /**
+     * Vérifie qu'un seuil de cases vides est valide.
+     *
+     * @param seuilCasesVides Le seuil à vérifier.
+     * @return Le seuil.
+     */
+    private static int verifierSeuil(int seuilCasesVides) {
+        if (seuilCasesVides < 0 || seuilCasesVides > 60) {
+            throw new IllegalArgumentException("Seuil de cases vides invalide : " + seuilCasesVides);
+        }
+        return seuilCasesVides;
+    }
+
+    /**
+     * Joue le coup exact si la fin de partie est atteinte, sinon délègue le choix.
+     *
+     * @param partie  La partie d'Othello en cours.
+     * @param couleur La couleur du joueur IA.
+     * @return Le coup choisi par l'IA, ou null si aucun coup n'est possible.
+     */
+    @Override
+    public int[] jouerCoup(PartieOthello partie, char couleur) {
+        return jouerCoup(partie, couleur, 0L, null);
+    }
+
+    /**
+     * Joue un coup sans bloquer l'appelant. Au-delà du seuil, le coup est demandé à la
+     * méthode asynchrone de la stratégie de milieu de partie ; sinon la résolution est
+     * effectuée sur un thread propre au solveur et, à l'échéance ou à l'annulation du
+     * jeton, rend le meilleur coup déjà prouvé ou, à défaut, le premier coup de
+     * l'ordonnancement. Annuler le résultat annule aussi le jeton.
+     *
+     * @param partie  La partie d'Othello en cours (elle est copiée).
+     * @param couleur La couleur du joueur IA.
+     * @param delaiMs Le délai en millisecondes à partir de l'appel, 0 pour aucun.
+     * @param jeton   Le jeton d'annulation, ou null.
+     * @return Le coup choisi, null si aucun coup n'est possible ; le résultat est annulé si
+     * le jeton l'a été avant le début de la résolution.
+     */
+    @Override
+    public CompletableFuture<int[]> jouerCoupAsynchrone(PartieOthello partie, char couleur, long delaiMs,
+                                                        JetonAnnulation jeton) {
+        long appel = System.nanoTime();
+        PartieOthello copie = partie.copier();
+        long joueur = copie.getPions(couleur);
+        long adversaire = ~(joueur | copie.getCasesVides());
+        if (Bitboard.coupsLegaux(joueur, adversaire) != 0L && !peutResoudre(joueur, adversaire)) {
+            return strategieMilieuDePartie.jouerCoupAsynchrone(copie, couleur, delaiMs, jeton)
+                    .thenApply(coup -> {
+                        enregistrerDelegation(appel);
+                        return coup;
+                    });
+        }
+        JetonAnnulation jetonResolution = (jeton != null) ? jeton : new JetonAnnulation();
+        CompletableFuture<int[]> resultat = new CompletableFuture<>();
+        resultat.whenComplete((coup, erreur) -> {
+            if (erreur instanceof CancellationException) {
+                jetonResolution.annuler();
+            }
+        });
+        executeurAsynchrone().execute(() -> {
+            if (jetonResolution.estAnnule() || resultat.isDone()) {
+                resultat.cancel(false);
+                return;
+            }
+            long echeance = (delaiMs > 0) ? appel + delaiMs * 1_000_000L : 0L;
+            try {
+                resultat.complete(jouerCoup(copie, couleur, echeance, jetonResolution));
+            } catch (RuntimeException e) {
+                resultat.completeExceptionally(e);
+            }
+        });
+        return resultat;
+    }
+
+    /**
+     * Joue un coup avec une échéance et un jeton d'annulation donnés. La résolution et la
+     * délégation d'un même solveur sont exécutées une à la fois.
+     *
+     * @param partie    La partie d'Othello en cours.
+     * @param couleur   La couleur du joueur IA.
+     * @param echeance  L'instant ({@link System#nanoTime()}) auquel interrompre la résolution, 0 pour aucun.
+     * @param jetonCoup Le jeton d'annulation, ou null.
+     * @return Le coup choisi par l'IA, ou null si aucun coup n'est possible.
+     */
+    private synchronized int[] jouerCoup(PartieOthello partie, char couleur, long echeance, JetonAnnulation jetonCoup) {
+        long joueur = partie.getPions(couleur);
+        long adversaire = ~(joueur | partie.getCasesVides());
+        if (Bitboard.coupsLegaux(joueur, adversaire) == 0L) {
+            return null;
+        }
+        long debut = System.nanoTime();
+        if (!peutResoudre(joueur, adversaire)) {
+            int[] coup = strategieMilieuDePartie.jouerCoup(partie, couleur);
+            enregistrerDelegation(debut);
+            return coup;
+        }
+        statistiques.effacer();
+        strategieMilieuDePartie.arreterPonderation();
+        long noeudsAvant = noeuds;
+        int coup = chercherMeilleurCoup(joueur, adversaire, echeance, jetonCoup);
+        int nbVides = partie.getNombreCasesVides();
+        statistiques.nbCoups = 1;
+        statistiques.nbRecherches = 1;
+        if (coup < 0) {
+            coup = coupPartiel; // Résolution interrompue : la profondeur n'a pas été atteinte
+        } else {
+            statistiques.sommeProfondeurs = nbVides;
+        }
+        statistiques.profondeurSelective = nbVides;
+        statistiques.noeuds = noeuds - noeudsAvant;
+        statistiques.tempsNanos = System.nanoTime() - debut;
+        statistiquesCumulees.ajouter(statistiques);
+        return new int[]{coup >>> 3, coup & 7};
+    }
+
+    /**
+     * Reprend les statistiques du coup joué par la stratégie de milieu de partie.
+     *
+     * @param debut L'instant du début de la réflexion ({@link System#nanoTime()}).
+     */
+    private synchronized void enregistrerDelegation(long debut) {
+        statistiques.effacer();
+        StatistiquesRecherche statistiquesDelegues = strategieMilieuDePartie.getStatistiquesDernierCoup();
+        if (statistiquesDelegues != null) {
+            statistiques.ajouter(statistiquesDelegues);
+        } else {
+            statistiques.nbCoups = 1;
+            statistiques.tempsNanos = System.nanoTime() - debut;
+        }
+        statistiquesCumulees.ajouter(statistiques);
+    }
+
+    /**
+     * Retourne le thread des coups asynchrones, créé au premier appel.
+     *
+     * @return L'exécuteur des coups asynchrones.
+     */
+    private synchronized ExecutorService executeurAsynchrone() {
+        if (executeurAsynchrone == null) {
+            executeurAsynchrone = Executors.newSingleThreadExecutor(tache -> {
+                Thread thread = new Thread(tache, "SolveurFinPartie-asynchrone");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executeurAsynchrone;
+    }
+
+    /**
+     * Laisse la stratégie de milieu de partie chercher pendant que l'adversaire réfléchit.
+     *
+     * @param partie  La partie d'Othello en cours, l'adversaire ayant le trait.
+     * @param couleur La couleur du joueur IA.
+     */
+    @Override
+    public void commencerPonderation(PartieOthello partie, char couleur) {
+        if (strategieMilieuDePartie != null) {
+            strategieMilieuDePartie.commencerPonderation(partie, couleur);
+        }
+    }
+
+    @Override
+    public void arreterPonderation() {
+        if (strategieMilieuDePartie != null) {
+            strategieMilieuDePartie.arreterPonderation();
+        }
+    }
+
+    @Override
+    public StatistiquesRecherche getStatistiquesDernierCoup() {
+        return statistiques.copier();
+    }
+
+    @Override
+    public StatistiquesRecherche getStatistiquesCumulees() {
+        return statistiquesCumulees.copier();
+    }
+
+    /**
+     * Prévient la stratégie de milieu de partie qu'une nouvelle partie commence. Les
+     * résultats du solveur sont exacts et restent valables d'une partie à l'autre.
+     */
+    @Override
+    public void nouvellePartie() {
+        if (strategieMilieuDePartie != null) {
+            strategieMilieuDePartie.nouvellePartie();
+        }
+    }
+
+    /**
+     * Calcule la différence finale exacte de pions pour le joueur au trait, en jeu parfait
+     * des deux côtés.
+     *
+     * @param partie La partie d'Othello en cours.
+     * @return Le nombre de pions du joueur au trait moins celui de son adversaire en fin de partie.
+     */
+    public int resoudre(PartieOthello partie) {
+        long joueur = partie.getPions(partie.getJoueurCourant().getCouleur());
+        long adversaire = ~(joueur | partie.getCasesVides());
+        echeanceNanos = 0L;
+        jeton = null;
+        interrompu = false;
+        return resoudre(joueur, adversaire, -INFINI, INFINI, partie.getNombreCasesVides());
+    }
+
+    /**
+     * Indique si la position est assez proche de la fin pour être résolue.
+     *
+     * @param joueur     Les pions du joueur au trait.
+     * @param adversaire Les pions de l'adversaire.
+     * @return true si le nombre de cases vides ne dépasse pas le seuil.
+     */
+    boolean peutResoudre(long joueur, long adversaire) {
+        return 64 - Long.bitCount(joueur | adversaire) <= seuilCasesVides;
+    }
+
+    /**
+     * Cherche le coup qui maximise la différence finale de pions.
+     *
+     * @param joueur        Les pions du joueur au trait, qui doit avoir au moins un coup.
+     * @param adversaire    Les pions de l'adversaire.
+     * @param echeanceNanos L'instant ({@link System#nanoTime()}) auquel abandonner, 0 pour aucun.
+     * @param jeton         Le jeton dont l'annulation interrompt la résolution, ou null.
+     * @return L'indice de la case du meilleur coup, ou -1 si la résolution a été interrompue
+     * (le meilleur coup connu est alors conservé pour le coup asynchrone).
+     */
+    int chercherMeilleurCoup(long joueur, long adversaire, long echeanceNanos, JetonAnnulation jeton) {
+        this.echeanceNanos = echeanceNanos;
+        this.jeton = jeton;
+        this.interrompu = false;
+        this.noeudsAvantControle = NOEUDS_ENTRE_CONTROLES;
+        int nbVides = 64 - Long.bitCount(joueur | adversaire);
+        int nbCoups = ordonnerCoups(joueur, adversaire, Bitboard.coupsLegaux(joueur, adversaire), nbVides);
+        int[] coups = coupsParVides[nbVides];
+        long[] retournesCoups = retournesParVides[nbVides];
+
+        int alpha = -INFINI;
+        int meilleurCoup = coups[0];
+        for (int i = 0; i < nbCoups; i++) {
+            int coup = coups[i];
+            long retournes = retournesCoups[i];
+            long nouveauJoueur = joueur | retournes | (1L << coup);
+            long nouvelAdversaire = adversaire & ~retournes;
+            int valeur;
+            if (i == 0) {
+                valeur = -resoudre(nouvelAdversaire, nouveauJoueur, -INFINI, -alpha, nbVides - 1);
+            } else {
+                valeur = -resoudre(nouvelAdversaire, nouveauJoueur, -alpha - 1, -alpha, nbVides - 1);
+                if (valeur > alpha) {
+                    valeur = -resoudre(nouvelAdversaire, nouveauJoueur, -INFINI, -valeur, nbVides - 1);
+                }
+            }
+            if (interrompu) {
+                coupPartiel = meilleurCoup; // Le premier coup ordonné si aucun n'a été prouvé meilleur
+                return -1;
+            }
+            if (valeur > alpha) {
+                alpha = valeur;
+                meilleurCoup = coup;
+            }
+        }
+        dernierScore = alpha;
+        return meilleurCoup;
+    }
+
+    /**
+     * Retourne la différence finale de pions obtenue par le dernier coup cherché.
+     *
+     * @return La différence finale de pions pour le joueur qui a joué ce coup.
+     */
+    int getDernierScore() {
+        return dernierScore;
+    }
+
+    /**
+     * Retourne le nombre de positions visitées depuis la création du solveur.
+     *
+     * @return Le nombre de nœuds.
+     */
+    public long getNoeuds() {
+        return noeuds;
+    }
+
+    /**
+     * Résolution exacte d'une position (negamax à fenêtre nulle).
+     *
+     * @param joueur     Les pions du joueur au trait.
+     * @param adversaire Les pions de l'adversaire.
+     * @param alpha      La borne inférieure de la fenêtre.
+     * @param beta       La borne supérieure de la fenêtre.
+     * @param nbVides    Le nombre de cases vides.
+     * @return La différence finale de pions pour le joueur au trait.
+     */
+    private int resoudre(long joueur, long adversaire, int alpha, int beta, int nbVides) {
+        if (nbVides <= 4) {
+            return resoudreDerniersCoups(joueur, adversaire, alpha, beta, nbVides);
+        }
+        noeuds++;
+        if ((echeanceNanos != 0L || jeton != null) && --noeudsAvantControle <= 0) {
+            noeudsAvantControle = NOEUDS_ENTRE_CONTROLES;
+            interrompu |= (echeanceNanos != 0L && System.nanoTime() - echeanceNanos >= 0)
+                    || (jeton != null && jeton.estAnnule());
+        }
+        if (interrompu) {
+            return 0;
+        }
+
+        long coupsLegaux = Bitboard.coupsLegaux(joueur, adversaire);
+        if (coupsLegaux == 0L) {
+            if (Bitboard.coupsLegaux(adversaire, joueur) == 0L) {
+                return differenceFinale(joueur, adversaire);
+            }
+            return -resoudre(adversaire, joueur, -beta, -alpha, nbVides);
+        }
+
+        boolean utiliserTable = nbVides >= VIDES_TABLE;
+        long hash = 0L;
+        int coupTable = -1;
+        if (utiliserTable) {
+            hash = hacher(joueur, adversaire);
+            long donnee = table.sonder(hash);
+            if (donnee != 0L) {
+                int score = TableTransposition.score(donnee);
+                int borne = TableTransposition.borne(donnee);
+                if (borne == TableTransposition.BORNE_EXACTE
+                        || (borne == TableTransposition.BORNE_INFERIEURE && score >= beta)
+                        || (borne == TableTransposition.BORNE_SUPERIEURE && score <= alpha)) {
+                    return score;
+                }
+                coupTable = TableTransposition.coup(donnee);
+            }
+        }
+
+        int nbCoups = ordonnerCoups(joueur, adversaire, coupsLegaux, nbVides);
+        int[] coups = coupsParVides[nbVides];
+        long[] retournesCoups = retournesParVides[nbVides];
+        if (coupTable >= 0) {
+            placerEnTete(coups, retournesCoups, nbCoups, coupTable);
+        }
+        int alphaInitial = alpha;
+        int meilleur = -INFINI;
+        int meilleurCoup = -1;
+        for (int i = 0; i < nbCoups; i++) {
+            int coup = coups[i];
+            long retournes = retournesCoups[i];
+            long nouveauJoueur = joueur | retournes | (1L << coup);
+            long nouvelAdversaire = adversaire & ~retournes;
+            int valeur;
+            if (i == 0) {
+                valeur = -resoudre(nouvelAdversaire, nouveauJoueur, -beta, -alpha, nbVides - 1);
+            } else {
+                valeur = -resoudre(nouvelAdversaire, nouveauJoueur, -alpha - 1, -alpha, nbVides - 1);
+                if (valeur > alpha && valeur < beta) {
+                    valeur = -resoudre(nouvelAdversaire, nouveauJoueur, -beta, -valeur, nbVides - 1);
+                }
+            }
+            if (valeur > meilleur) {
+                meilleur = valeur;
+                meilleurCoup = coup;
+                if (valeur > alpha) {
+                    alpha = valeur;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (utiliserTable && !interrompu) {
+            int borne = (meilleur <= alphaInitial) ? TableTransposition.BORNE_SUPERIEURE
+                    : (meilleur >= beta) ? TableTransposition.BORNE_INFERIEURE
+                    : TableTransposition.BORNE_EXACTE;
+            table.enregistrer(hash, nbVides, borne, meilleur, meilleurCoup);
+        }
+        return meilleur;
+    }
+
+    /**
+     * Déplace un coup en tête de liste en conservant l'ordre des autres.
+     *
+     * @param coups      Les coups ordonnés.
+     * @param retournes  Les pions retournés par chaque coup.
+     * @param nbCoups    Le nombre de coups.
+     * @param coup       Le coup à placer en tête.
+     */
+    private static void placerEnTete(int[] coups, long[] retournes, int nbCoups, int coup) {
+        for (int i = 0; i < nbCoups; i++) {
+            if (coups[i] == coup) {
+                long retournesCoup = retournes[i];
+                System.arraycopy(coups, 0, coups, 1, i);
+                System.arraycopy(retournes, 0, retournes, 1, i);
+                coups[0] = coup;
+                retournes[0] = retournesCoup;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Calcule un hachage de la position à partir des deux bitboards (le joueur au trait
+     * est toujours le premier, le trait n'a donc pas à être haché).
+     *
+     * @param joueur     Les pions du joueur au trait.
+     * @param adversaire Les pions de l'adversaire.
+     * @return Le hachage de la position.
+     */
+    private static long hacher(long joueur, long adversaire) {
+        long h = joueur * 0x9E3779B97F4A7C15L ^ Long.rotateLeft(adversaire * 0xC2B2AE3D27D4EB4FL, 31);
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * Range les coups légaux et les pions qu'ils retournent dans les tampons du niveau,
+     * triés du coup le plus prometteur au moins prometteur.
+     *
+     * @param joueur      Les pions du joueur au trait.
+     * @param adversaire  Les pions de l'adversaire.
+     * @param coupsLegaux Le masque des coups légaux.
+     * @param nbVides     Le nombre de cases vides, qui désigne le tampon.
+     * @return Le nombre de coups.
+     */
+    private int ordonnerCoups(long joueur, long adversaire, long coupsLegaux, int nbVides) {
+        int[] coups = coupsParVides[nbVides];
+        int[] scores = scoresParVides[nbVides];
+        long[] retournesCoups = retournesParVides[nbVides];
+        long vides = ~(joueur | adversaire);
+        int nbCoups = 0;
+        while (coupsLegaux != 0L) {
+            int coup = Long.numberOfTrailingZeros(coupsLegaux);
+            coupsLegaux &= coupsLegaux - 1;
+            long retournes = Bitboard.retournements(coup, joueur, adversaire);
+            int score = 0;
+            if (nbVides > VIDES_FASTEST_FIRST) {
+                // Fastest-first : laisser à l'adversaire le moins de coups possible
+                long nouveauJoueur = joueur | retournes | (1L << coup);
+                long reponses = Bitboard.coupsLegaux(adversaire & ~retournes, nouveauJoueur);
+                score -= 16 * (Long.bitCount(reponses) + Long.bitCount(reponses & COINS));
+            }
+            if (((COINS >>> coup) & 1L) != 0) {
+                score += 8;
+            }
+            if ((Long.bitCount(vides & quart(coup)) & 1) != 0) {
+                score += 4; // Jouer dans une région impaire garde le dernier coup de la région
+            }
+            // Insertion dans l'ordre décroissant des scores
+            int j = nbCoups++;
+            while (j > 0 && scores[j - 1] < score) {
+                coups[j] = coups[j - 1];
+                scores[j] = scores[j - 1];
+                retournesCoups[j] = retournesCoups[j - 1];
+                j--;
+            }
+            coups[j] = coup;
+            scores[j] = score;
+            retournesCoups[j] = retournes;
+        }
+        return nbCoups;
+    }
+
+    /**
+     * Résout une position comptant au plus 4 cases vides.
+     *
+     * @param joueur     Les pions du joueur au trait.
+     * @param adversaire Les pions de l'adversaire.
+     * @param alpha      La borne inférieure de la fenêtre.
+     * @param beta       La borne supérieure de la fenêtre.
+     * @param nbVides    Le nombre de cases vides (0 à 4).
+     * @return La différence finale de pions pour le joueur au trait.
+     */
+    private int resoudreDerniersCoups(long joueur, long adversaire, int alpha, int beta, int nbVides) {
+        long vides = ~(joueur | adversaire);
+        // Les cases des régions impaires sont placées en tête
+        long impaires = 0L;
+        for (long quart : QUARTS) {
+            if ((Long.bitCount(vides & quart) & 1) != 0) {
+                impaires |= vides & quart;
+            }
+        }
+        long paires = vides & ~impaires;
+        int x1 = extraireCase(impaires, paires, 0);
+        int x2 = extraireCase(impaires, paires, 1);
+        int x3 = extraireCase(impaires, paires, 2);
+        int x4 = extraireCase(impaires, paires, 3);
+        switch (nbVides) {
+            case 4:
+                return resoudre4(joueur, adversaire, alpha, beta, x1, x2, x3, x4);
+            case 3:
+                return resoudre3(joueur, adversaire, alpha, beta, x1, x2, x3);
+            case 2:
+                return resoudre2(joueur, adversaire, alpha, beta, x1, x2);
+            case 1:
+                return resoudre1(joueur, adversaire, x1);
+            default:
+                return differenceFinale(joueur, adversaire);
+        }
+    }
+
+    /**
+     * Retourne la n-ième case vide, celles des régions impaires d'abord.
+     *
+     * @param impaires Les cases vides des régions impaires.
+     * @param paires   Les cases vides des régions paires.
+     * @param n        Le rang de la case recherchée.
+     * @return L'indice de la case, ou -1 s'il y a moins de n + 1 cases vides.
+     */
+    private static int extraireCase(long impaires, long paires, int n) {
+        for (int i = 0; i < n; i++) {
+            if (impaires != 0L) {
+                impaires &= impaires - 1;
+            } else {
+                paires &= paires - 1;
+            }
+        }
+        if (impaires != 0L) {
+            return Long.numberOfTrailingZeros(impaires);
+        }
+        return (paires != 0L) ? Long.numberOfTrailingZeros(paires) : -1;
+    }
+
+    /**
+     * Résout une position à 4 cases vides.
+     *
+     * @param joueur     Les pions du joueur au trait.
+     * @param adversaire Les pions de l'adversaire.
+     * @param alpha      La borne inférieure de la fenêtre.
+     * @param beta       La borne supérieure de la fenêtre.
+     * @param x1         Une case vide.
+     * @param x2         Une case vide.
+     * @param x3         Une case vide.
+     * @param x4         Une case vide.
+     * @return La différence finale de pions pour le joueur au trait.
+     */
+    private int resoudre4(long joueur, long adversaire, int alpha, int beta, int x1, int x2, int x3, int x4) {
+        noeuds++;
+        int meilleur = -INFINI;
+        long retournes;
+        if ((retournes = Bitboard.retournements(x1, joueur, adversaire)) != 0L) {
+            meilleur = -resoudre3(adversaire & ~retournes, joueur | retournes | (1L << x1), -beta, -alpha, x2, x3, x4);
+            if (meilleur >= beta) {
+                return meilleur;
+            }
+            alpha = Math.max(alpha, meilleur);
+        }
+        if ((retournes = Bitboard.retournements(x2, joueur, adversaire)) != 0L) {
+            int valeur = -resoudre3(adversaire & ~retournes, joueur | retournes | (1L << x2), -beta, -alpha, x1, x3, x4);
+            if (valeur >= beta) {
+                return valeur;
+            }
+            meilleur = Math.max(meilleur, valeur);
+            alpha = Math.max(alpha, valeur);
+        }
+        if ((retournes = Bitboard.retournements(x3, joueur, adversaire)) != 0L) {
+            int valeur = -resoudre3(adversaire & ~retournes, joueur | retournes | (1L << x3), -beta, -alpha, x1, x2, x4);
+            if (valeur >= beta) {
+                return valeur;
+            }
+            meilleur = Math.max(meilleur, valeur);
+            alpha = Math.max(alpha, valeur);
+        }
+        if ((retournes = Bitboard.retournements(x4, joueur, adversaire)) != 0L) {
+            int valeur = -resoudre3(adversaire & ~retournes, joueur | retournes | (1L << x4), -beta, -alpha, x1, x2, x3);
+            meilleur = Math.max(meilleur, valeur);
+        }
+        if (meilleur == -INFINI) {
+            if (Bitboard.coupsLegaux(adversaire, joueur) == 0L) {
+                return differenceFinale(joueur, adversaire);
+            }
+            return -resoudre4(adversaire, joueur, -beta, -alpha, x1, x2, x3, x4);
+        }
+        return meilleur;
+    }
+
+    /**
+     * Résout une position à 3 cases vides.
+     *
+     * @param joueur     Les pions du joueur au trait.
+     * @param adversaire Les pions de l'adversaire.
+     * @param alpha      La borne inférieure de la fenêtre.
+     * @param beta       La borne supérieure de la fenêtre.
+     * @param x1         Une case vide.
+     * @param x2         Une case vide.
+     * @param x3         Une case vide.
+     * @return La différence finale de pions pour le joueur au trait.
+     */
+    private int resoudre3(long joueur, long adversaire, int alpha, int beta, int x1, int x2, int x3) {
+        noeuds++;
+        int meilleur = -INFINI;
+        long retournes;
+        if ((retournes = Bitboard.retournements(x1, joueur, adversaire)) != 0L) {
+            meilleur = -resoudre2(adversaire & ~retournes, joueur | retournes | (1L << x1), -beta, -alpha, x2, x3);
+            if (meilleur >= beta) {
+                return meilleur;
+            }
+            alpha = Math.max(alpha, meilleur);
+        }
+        if ((retournes = Bitboard.retournements(x2, joueur, adversaire)) != 0L) {
+            int valeur = -resoudre2(adversaire & ~retournes, joueur | retournes | (1L << x2), -beta, -alpha, x1, x3);
+            if (valeur >= beta) {
+                return valeur;
+            }
+            meilleur = Math.max(meilleur, valeur);
+            alpha = Math.max(alpha, valeur);
+        }
+        if ((retournes = Bitboard.retournements(x3, joueur, adversaire)) != 0L) {
+            int valeur = -resoudre2(adversaire & ~retournes, joueur | retournes | (1L << x3), -beta, -alpha, x1, x2);
+            meilleur = Math.max(meilleur, valeur);
+        }
+        if (meilleur == -INFINI) {
+            if (Bitboard.coupsLegaux(adversaire, joueur) == 0L) {
+                return differenceFinale(joueur, adversaire);
+            }
+            return -resoudre3(adversaire, joueur, -beta, -alpha, x1, x2, x3);
+        }
+        return meilleur;
+    }
+
+    /**
+     * Résout une position à 2 cases vides.
+     *
+     * @param joueur     Les pions du joueur au trait.
+     * @param adversaire Les pions de l'adversaire.
+     * @param alpha      La borne inférieure de la fenêtre.
+     * @param beta       La borne supérieure de la fenêtre.
+     * @param x1         Une case vide.
+     * @param x2         Une case vide.
+     * @return La différence finale de pions pour le joueur au trait.
+     */
+    private int resoudre2(long joueur, long adversaire, int alpha, int beta, int x1, int x2) {
+        noeuds++;
+        int meilleur = -INFINI;
+        long retournes;
+        if ((retournes = Bitboard.retournements(x1, joueur, adversaire)) != 0L) {
+            meilleur = -resoudre1(adversaire & ~retournes, joueur | retournes | (1L << x1), x2);
+            if (meilleur >= beta) {
+                return meilleur;
+            }
+        }
+        if ((retournes = Bitboard.retournements(x2, joueur, adversaire)) != 0L) {
+            int valeur = -resoudre1(adversaire & ~retournes, joueur | retournes | (1L << x2), x1);
+            meilleur = Math.max(meilleur, valeur);
+        }
+        if (meilleur == -INFINI) {
+            boolean adversairePeutJouer = Bitboard.retournements(x1, adversaire, joueur) != 0L
+                    || Bitboard.retournements(x2, adversaire, joueur) != 0L;
+            if (!adversairePeutJouer) {
+                return differenceFinale(joueur, adversaire);
+            }
+            return -resoudre2(adversaire, joueur, -beta, -alpha, x1, x2);
+        }
+        return meilleur;
+    }
+
+    /**
+     * Résout une position à une seule case vide.
+     *
+     * @param joueur     Les pions du joueur au trait.
+     * @param adversaire Les pions de l'adversaire.
+     * @param x          La case vide.
+     * @return La différence finale de pions pour le joueur au trait.
+     */
+    private int resoudre1(long joueur, long adversaire, int x) {
+        noeuds++;
+        int pionsJoueur = Long.bitCount(joueur);
+        long retournes = Bitboard.retournements(x, joueur, adversaire);
+        if (retournes != 0L) {
+            // Après le coup, les 64 cases sont occupées
+            return 2 * (pionsJoueur + Long.bitCount(retournes) + 1) - 64;
+        }
+        retournes = Bitboard.retournements(x, adversaire, joueur);
+        if (retournes != 0L) {
+            return 2 * (pionsJoueur - Long.bitCount(retournes)) - 64;
+        }
+        return 2 * pionsJoueur - 63; // Personne ne peut jouer : la case reste vide
+    }
+
+    /**
+     * Retourne la différence de pions d'une position terminale.
+     *
+     * @param joueur     Les pions du joueur au trait.
+     * @param adversaire Les pions de l'adversaire.
+     * @return La différence de pions pour le joueur au trait.
+     */
+    private static int differenceFinale(long joueur, long adversaire) {
+        return Long.bitCount(joueur) - Long.bitCount(adversaire);
+    }
+
+    /**
+     * Retourne le quart du plateau contenant une case.
+     *
+     * @param indiceCase L'indice de la case.
+     * @return Le masque du quart.
+     */
+    private static long quart(int indiceCase) {
+        return QUARTS[((indiceCase >>> 5) << 1) | ((indiceCase & 7) >>> 2)];
+    }
+}
@@ -0,0 +1,248 @@
+package modele;
+
+/**
+ * Mesures du travail d'une IA, pour un coup ou cumulées sur plusieurs coups.
+ * <p>
+ * Les compteurs sont incrémentés directement par les recherches du paquetage pendant
+ * qu'elles explorent l'arbre ; un objet obtenu par
+ * {@link ModeleIA#getStatistiquesDernierCoup()} ou {@link ModeleIA#getStatistiquesCumulees()}
+ * est une copie qui ne change plus.
+ * <p>
+ * Les temps de génération des coups et d'évaluation ne sont mesurés que si l'IA le
+ * demande (voir {@link IAMinimax#setChronometrage(boolean)}) : lire l'horloge à chaque
+ * nœud ralentirait sensiblement la recherche.
+ */
+public class StatistiquesRecherche {
+    int nbCoups; // Coups joués, y compris ceux de la bibliothèque, de la base de parties et les coups forcés
+    int nbRecherches; // Coups obtenus par une recherche ou une résolution
+    int sommeProfondeurs; // Profondeur de la dernière itération terminée, par recherche
+    int profondeurSelective; // Plus grande distance à la racine atteinte
+    long noeuds;
+    long noeudsInternes; // Nœuds dont les coups ont été explorés
+    long coupsExplores;
+    long coupures;
+    long coupuresPremierCoup;
+    long sondagesTable;
+    long succesTable;
+    long coupuresTable;
+    long tempsNanos;
+    long tempsGenerationNanos;
+    long tempsEvaluationNanos;
+
+    /**
+     * Construit des statistiques vides.
+     */
+    public StatistiquesRecherche() {
+    }
+
+    /**
+     * Remet tous les compteurs à zéro.
+     */
+    void effacer() {
+        nbCoups = 0;
+        nbRecherches = 0;
+        sommeProfondeurs = 0;
+        profondeurSelective = 0;
+        noeuds = 0;
+        noeudsInternes = 0;
+        coupsExplores = 0;
+        coupures = 0;
+        coupuresPremierCoup = 0;
+        sondagesTable = 0;
+        succesTable = 0;
+        coupuresTable = 0;
+        tempsNanos = 0;
+        tempsGenerationNanos = 0;
+        tempsEvaluationNanos = 0;
+    }
+
+    /**
+     * Ajoute les compteurs d'autres statistiques à celles-ci.
+     *
+     * @param autres Les statistiques à ajouter.
+     */
+    public void ajouter(StatistiquesRecherche autres) {
+        nbCoups += autres.nbCoups;
+        nbRecherches += autres.nbRecherches;
+        sommeProfondeurs += autres.sommeProfondeurs;
+        profondeurSelective = Math.max(profondeurSelective, autres.profondeurSelective);
+        noeuds += autres.noeuds;
+        noeudsInternes += autres.noeudsInternes;
+        coupsExplores += autres.coupsExplores;
+        coupures += autres.coupures;
+        coupuresPremierCoup += autres.coupuresPremierCoup;
+        sondagesTable += autres.sondagesTable;
+        succesTable += autres.succesTable;
+        coupuresTable += autres.coupuresTable;
+        tempsNanos += autres.tempsNanos;
+        tempsGenerationNanos += autres.tempsGenerationNanos;
+        tempsEvaluationNanos += autres.tempsEvaluationNanos;
+    }
+
+    /**
+     * Retourne une copie indépendante de ces statistiques.
+     *
+     * @return La copie.
+     */
+    public StatistiquesRecherche copier() {
+        StatistiquesRecherche copie = new StatistiquesRecherche();
+        copie.ajouter(this);
+        return copie;
+    }
+
+    /**
+     * Retourne le nombre de coups joués.
+     *
+     * @return Le nombre de coups, y compris ceux joués sans recherche.
+     */
+    public int getNbCoups() {
+        return nbCoups;
+    }
+
+    /**
+     * Retourne le nombre de coups obtenus par une recherche ou une résolution exacte,
+     * par opposition aux coups de la bibliothèque, de la base de parties et aux coups forcés.
+     *
+     * @return Le nombre de recherches.
+     */
+    public int getNbRecherches() {
+        return nbRecherches;
+    }
+
+    /**
+     * Retourne la profondeur moyenne de la dernière itération terminée de chaque recherche
+     * (le nombre de cases vides pour une résolution exacte).
+     *
+     * @return La profondeur moyenne, 0 sans recherche.
+     */
+    public double getProfondeur() {
+        return (nbRecherches > 0) ? (double) sommeProfondeurs / nbRecherches : 0;
+    }
+
+    /**
+     * Retourne la plus grande distance à la racine atteinte par une recherche.
+     *
+     * @return La profondeur sélective.
+     */
+    public int getProfondeurSelective() {
+        return profondeurSelective;
+    }
+
+    /**
+     * Retourne le nombre de positions visitées, recherches auxiliaires comprises.
+     *
+     * @return Le nombre de nœuds.
+     */
+    public long getNoeuds() {
+        return noeuds;
+    }
+
+    /**
+     * Retourne le temps de réflexion total.
+     *
+     * @return Le temps en nanosecondes.
+     */
+    public long getTempsNanos() {
+        return tempsNanos;
+    }
+
+    /**
+     * Retourne le nombre de nœuds visités par seconde de réflexion.
+     *
+     * @return Le débit, 0 sans réflexion mesurable.
+     */
+    public double getNoeudsParSeconde() {
+        return (tempsNanos > 0) ? noeuds * 1e9 / tempsNanos : 0;
+    }
+
+    /**
+     * Retourne le facteur de branchement : le nombre moyen de coups explorés par nœud
+     * intérieur, coupures comprises.
+     *
+     * @return Le facteur de branchement, 0 si aucun nœud n'a été développé.
+     */
+    public double getFacteurBranchement() {
+        return (noeudsInternes > 0) ? (double) coupsExplores / noeudsInternes : 0;
+    }
+
+    /**
+     * Retourne la proportion des nœuds intérieurs coupés par un coup (coupure bêta).
+     *
+     * @return Le taux de coupure, entre 0 et 1.
+     */
+    public double getTauxCoupures() {
+        return (noeudsInternes > 0) ? (double) coupures / noeudsInternes : 0;
+    }
+
+    /**
+     * Retourne la proportion des coupures bêta obtenues dès le premier coup exploré,
+     * qui mesure la qualité de l'ordonnancement des coups.
+     *
+     * @return Le taux, entre 0 et 1.
+     */
+    public double getTauxCoupuresPremierCoup() {
+        return (coupures > 0) ? (double) coupuresPremierCoup / coupures : 0;
+    }
+
+    /**
+     * Retourne la proportion des consultations de la table de transposition qui ont
+     * trouvé la position.
+     *
+     * @return Le taux de succès, entre 0 et 1 (0 sans table).
+     */
+    public double getTauxSuccesTable() {
+        return (sondagesTable > 0) ? (double) succesTable / sondagesTable : 0;
+    }
+
+    /**
+     * Retourne la proportion des consultations de la table de transposition dont le
+     * résultat a suffi à conclure sans explorer la position.
+     *
+     * @return Le taux, entre 0 et 1 (0 sans table).
+     */
+    public double getTauxCoupuresTable() {
+        return (sondagesTable > 0) ? (double) coupuresTable / sondagesTable : 0;
+    }
+
+    /**
+     * Retourne le temps passé à calculer et à ordonner les coups légaux.
+     *
+     * @return Le temps en nanosecondes, 0 si le chronométrage n'était pas activé.
+     */
+    public long getTempsGenerationNanos() {
+        return tempsGenerationNanos;
+    }
+
+    /**
+     * Retourne le temps passé à évaluer les feuilles.
+     *
+     * @return Le temps en nanosecondes, 0 si le chronométrage n'était pas activé.
+     */
+    public long getTempsEvaluationNanos() {
+        return tempsEvaluationNanos;
+    }
+
+    @Override
+    public String toString() {
+        if (nbRecherches == 0) {
+            return nbCoups + " coup(s) sans recherche (bibliothèque, base de parties ou coup forcé)";
+        }
+        StringBuilder texte = new StringBuilder();
+        texte.append(String.format("profondeur %.1f (sélective %d), %d nœuds en %.3f s (%.0f k nœuds/s)",
+                getProfondeur(), profondeurSelective, noeuds, tempsNanos / 1e9, getNoeudsParSeconde() / 1e3));
+        texte.append(String.format(", branchement %.2f", getFacteurBranchement()));
+        if (coupures > 0) {
+            texte.append(String.format(", coupures %.0f %% (%.0f %% au premier coup)",
+                    100 * getTauxCoupures(), 100 * getTauxCoupuresPremierCoup()));
+        }
+        if (sondagesTable > 0) {
+            texte.append(String.format(", table %.0f %% de succès (%.0f %% concluants)",
+                    100 * getTauxSuccesTable(), 100 * getTauxCoupuresTable()));
+        }
+        if (tempsGenerationNanos + tempsEvaluationNanos > 0) {
+            texte.append(String.format(", génération %.0f %% / évaluation %.0f %% du temps",
+                    100.0 * tempsGenerationNanos / tempsNanos, 100.0 * tempsEvaluationNanos / tempsNanos));
+        }
+        return texte.toString();
+    }
+}
@@ -0,0 +1,152 @@
+package modele;
+
+/**
+ * Symétries du plateau d'Othello : les 8 transformations (rotations et réflexions) qui
+ * laissent le jeu inchangé, appliquées directement aux bitboards.
+ * <p>
+ * Une symétrie est numérotée de 0 à 7 ; ses trois bits indiquent, dans cet ordre
+ * d'application, une transposition par rapport à la diagonale A1-H8 (bit 2), un
+ * retournement des lignes (bit 0) et un retournement des colonnes (bit 1). La symétrie 0
+ * est l'identité.
+ * <p>
+ * La forme canonique d'une position est celle de ses 8 images dont les bitboards sont
+ * les plus petits : deux positions symétriques l'une de l'autre ont la même forme
+ * canonique, ce qui permet de ne les enregistrer qu'une fois dans une bibliothèque ou
+ * une base de parties.
+ */
+public final class Symetries {
+    /** Nombre de symétries du plateau. */
+    public static final int NB_SYMETRIES = 8;
+
+    private static final int[][] CASES = new int[NB_SYMETRIES][64]; // Image de chaque case
+    private static final int[][] CASES_INVERSES = new int[NB_SYMETRIES][64]; // Antécédent de chaque case
+
+    static {
+        for (int symetrie = 0; symetrie < NB_SYMETRIES; symetrie++) {
+            for (int indiceCase = 0; indiceCase < 64; indiceCase++) {
+                int ligne = indiceCase >>> 3;
+                int colonne = indiceCase & 7;
+                if ((symetrie & 4) != 0) {
+                    int echange = ligne;
+                    ligne = colonne;
+                    colonne = echange;
+                }
+                if ((symetrie & 1) != 0) {
+                    ligne = 7 - ligne;
+                }
+                if ((symetrie & 2) != 0) {
+                    colonne = 7 - colonne;
+                }
+                CASES[symetrie][indiceCase] = ligne * 8 + colonne;
+                CASES_INVERSES[symetrie][ligne * 8 + colonne] = indiceCase;
+            }
+        }
+    }
+
+    private Symetries() {
+    }
+
+    /**
+     * Applique une symétrie à un bitboard.
+     *
+     * @param pions    Le bitboard.
+     * @param symetrie La symétrie (0 à 7).
+     * @return L'image du bitboard.
+     */
+    public static long transformer(long pions, int symetrie) {
+        if ((symetrie & 4) != 0) {
+            pions = transposer(pions);
+        }
+        if ((symetrie & 1) != 0) {
+            pions = Long.reverseBytes(pions); // Les lignes sont les octets du bitboard
+        }
+        if ((symetrie & 2) != 0) {
+            pions = retournerColonnes(pions);
+        }
+        return pions;
+    }
+
+    /**
+     * Retourne l'image d'une case par une symétrie, par exemple pour exprimer un coup dans
+     * l'orientation de la forme canonique.
+     *
+     * @param indiceCase L'indice de la case (ligne * 8 + colonne).
+     * @param symetrie   La symétrie (0 à 7).
+     * @return L'indice de la case image.
+     */
+    public static int transformerCase(int indiceCase, int symetrie) {
+        return CASES[symetrie][indiceCase];
+    }
+
+    /**
+     * Retourne la case dont l'image par une symétrie est donnée, par exemple pour ramener
+     * un coup de la forme canonique à l'orientation de la partie.
+     *
+     * @param indiceCase L'indice de la case image.
+     * @param symetrie   La symétrie (0 à 7).
+     * @return L'indice de la case d'origine.
+     */
+    public static int restaurerCase(int indiceCase, int symetrie) {
+        return CASES_INVERSES[symetrie][indiceCase];
+    }
+
+    /**
+     * Cherche la symétrie qui transforme une position en sa forme canonique : celle dont
+     * l'image a le plus petit bitboard du premier joueur, puis du second en cas d'égalité
+     * (comparés sans signe). Si la position est elle-même symétrique, la plus petite des
+     * symétries qui conviennent est choisie.
+     *
+     * @param pionsJoueur1 Les pions du premier joueur.
+     * @param pionsJoueur2 Les pions du second joueur.
+     * @return La symétrie (0 à 7).
+     */
+    public static int trouverCanonique(long pionsJoueur1, long pionsJoueur2) {
+        int meilleure = 0;
+        long minimum1 = pionsJoueur1;
+        long minimum2 = pionsJoueur2;
+        for (int symetrie = 1; symetrie < NB_SYMETRIES; symetrie++) {
+            long image1 = transformer(pionsJoueur1, symetrie);
+            int comparaison = Long.compareUnsigned(image1, minimum1);
+            if (comparaison > 0) {
+                continue;
+            }
+            long image2 = transformer(pionsJoueur2, symetrie);
+            if (comparaison < 0 || Long.compareUnsigned(image2, minimum2) < 0) {
+                meilleure = symetrie;
+                minimum1 = image1;
+                minimum2 = image2;
+            }
+        }
+        return meilleure;
+    }
+
+    /**
+     * Transpose un bitboard par rapport à la diagonale A1-H8 : la case (ligne, colonne)
+     * devient (colonne, ligne). Les blocs de 4, 2 puis 1 cases sont échangés en place.
+     *
+     * @param b Le bitboard.
+     * @return Le bitboard transposé.
+     */
+    private static long transposer(long b) {
+        long t = 0x0F0F0F0F00000000L & (b ^ (b << 28));
+        b ^= t ^ (t >>> 28);
+        t = 0x3333000033330000L & (b ^ (b << 14));
+        b ^= t ^ (t >>> 14);
+        t = 0x5500550055005500L & (b ^ (b << 7));
+        b ^= t ^ (t >>> 7);
+        return b;
+    }
+
+    /**
+     * Retourne les colonnes d'un bitboard : la colonne A devient la colonne H.
+     *
+     * @param b Le bitboard.
+     * @return Le bitboard retourné.
+     */
+    private static long retournerColonnes(long b) {
+        b = ((b >>> 1) & 0x5555555555555555L) | ((b & 0x5555555555555555L) << 1);
+        b = ((b >>> 2) & 0x3333333333333333L) | ((b & 0x3333333333333333L) << 2);
+        b = ((b >>> 4) & 0x0F0F0F0F0F0F0F0FL) | ((b & 0x0F0F0F0F0F0F0F0FL) << 4);
+        return b;
+    }
+}
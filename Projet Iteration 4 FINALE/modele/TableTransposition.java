@@ -0,0 +1,186 @@
+package modele;
+
+import java.util.Arrays;
+
+/**
+ * Table de transposition de taille fixe pour la recherche Othello.
+ * <p>
+ * Les entrées sont rangées dans deux tableaux de {@code long} (clé et donnée) sans aucun
+ * objet par entrée : la mémoire occupée est fixée à la construction. Les entrées sont
+ * groupées par paires : la première case de la paire est réservée à l'entrée la plus
+ * profonde de la recherche en cours, la seconde est remplacée à chaque écriture.
+ * <p>
+ * La donnée d'une entrée regroupe le score (32 bits), le meilleur coup (7 bits),
+ * la profondeur (7 bits), le type de borne (2 bits) et la génération (8 bits).
+ */
+public class TableTransposition {
+    /** Le score est exact. */
+    public static final int BORNE_EXACTE = 1;
+    /** Le score est une borne inférieure (coupure bêta). */
+    public static final int BORNE_INFERIEURE = 2;
+    /** Le score est une borne supérieure (aucun coup n'a dépassé alpha). */
+    public static final int BORNE_SUPERIEURE = 3;
+
+    private static final int OCTETS_PAR_ENTREE = 16;
+    private static final int AUCUN_COUP = 64;
+
+    private final long[] cles;
+    private final long[] donnees;
+    private final int masqueIndice;
+    private int generation;
+
+    /**
+     * Construit une table de transposition occupant au plus la taille indiquée.
+     *
+     * @param tailleMo La taille de la table en mégaoctets (au moins 1).
+     */
+    public TableTransposition(int tailleMo) {
+        if (tailleMo < 1) {
+            throw new IllegalArgumentException("La taille de la table doit être d'au moins 1 Mo : " + tailleMo);
+        }
+        long nbEntrees = Long.highestOneBit((long) tailleMo * 1024 * 1024 / OCTETS_PAR_ENTREE);
+        nbEntrees = Math.min(nbEntrees, 1L << 30);
+        this.cles = new long[(int) nbEntrees];
+        this.donnees = new long[(int) nbEntrees];
+        this.masqueIndice = (int) nbEntrees - 2; // Indice pair : début d'une paire
+    }
+
+    /**
+     * Signale le début d'une nouvelle recherche. Les entrées des recherches
+     * précédentes deviennent prioritaires au remplacement.
+     */
+    public void nouvelleRecherche() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Vide la table.
+     */
+    public void effacer() {
+        Arrays.fill(cles, 0L);
+        Arrays.fill(donnees, 0L);
+        generation = 0;
+    }
+
+    /**
+     * Cherche une position dans la table.
+     *
+     * @param hash Le hachage de la position.
+     * @return La donnée de l'entrée, ou 0 si la position est absente.
+     */
+    public long sonder(long hash) {
+        int indice = (int) hash & masqueIndice;
+        for (int i = indice; i < indice + 2; i++) {
+            long donnee = donnees[i];
+            // La clé est stockée combinée à la donnée : une écriture concurrente partielle ne peut pas être acceptée
+            if ((cles[i] ^ donnee) == hash && donnee != 0L) {
+                return donnee;
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Enregistre le résultat de la recherche d'une position.
+     *
+     * @param hash       Le hachage de la position.
+     * @param profondeur La profondeur de la recherche (0 à 127).
+     * @param borne      Le type de borne du score.
+     * @param score      Le score de la position.
+     * @param coup       Le meilleur coup (0 à 63), ou une valeur négative si aucun.
+     */
+    public void enregistrer(long hash, int profondeur, int borne, int score, int coup) {
+        long donnee = encoder(profondeur, borne, score, coup);
+        int indice = (int) hash & masqueIndice;
+        int cible;
+        long donneePrincipale = donnees[indice];
+        if ((cles[indice] ^ donneePrincipale) == hash) {
+            cible = indice;
+            if (coup < 0 && donneePrincipale != 0L) {
+                // Conserver le meilleur coup connu si la nouvelle recherche n'en fournit pas
+                donnee = (donnee & ~(0x7FL << 32)) | (donneePrincipale & (0x7FL << 32));
+            }
+        } else if ((cles[indice + 1] ^ donnees[indice + 1]) == hash) {
+            cible = indice + 1;
+        } else if (donneePrincipale == 0L || generation(donneePrincipale) != generation
+                || profondeur >= profondeur(donneePrincipale)) {
+            // L'ancienne entrée principale descend dans la case de remplacement systématique
+            cles[indice + 1] = cles[indice];
+            donnees[indice + 1] = donneePrincipale;
+            cible = indice;
+        } else {
+            cible = indice + 1;
+        }
+        donnees[cible] = donnee;
+        cles[cible] = hash ^ donnee;
+    }
+
+    /**
+     * Regroupe les champs d'une entrée dans un {@code long}.
+     *
+     * @param profondeur La profondeur de la recherche.
+     * @param borne      Le type de borne du score.
+     * @param score      Le score de la position.
+     * @param coup       Le meilleur coup, ou une valeur négative si aucun.
+     * @return La donnée de l'entrée.
+     */
+    private long encoder(int profondeur, int borne, int score, int coup) {
+        long champCoup = (coup < 0) ? AUCUN_COUP : coup;
+        return (score & 0xFFFFFFFFL)
+                | (champCoup << 32)
+                | ((long) (profondeur & 0x7F) << 39)
+                | ((long) borne << 46)
+                | ((long) generation << 48);
+    }
+
+    /**
+     * Extrait le score d'une donnée.
+     *
+     * @param donnee La donnée renvoyée par {@link #sonder(long)}.
+     * @return Le score.
+     */
+    public static int score(long donnee) {
+        return (int) donnee;
+    }
+
+    /**
+     * Extrait le meilleur coup d'une donnée.
+     *
+     * @param donnee La donnée renvoyée par {@link #sonder(long)}.
+     * @return L'indice de la case du meilleur coup, ou -1 si aucun.
+     */
+    public static int coup(long donnee) {
+        int coup = (int) (donnee >>> 32) & 0x7F;
+        return (coup == AUCUN_COUP) ? -1 : coup;
+    }
+
+    /**
+     * Extrait la profondeur d'une donnée.
+     *
+     * @param donnee La donnée renvoyée par {@link #sonder(long)}.
+     * @return La profondeur de la recherche enregistrée.
+     */
+    public static int profondeur(long donnee) {
+        return (int) (donnee >>> 39) & 0x7F;
+    }
+
+    /**
+     * Extrait le type de borne d'une donnée.
+     *
+     * @param donnee La donnée renvoyée par {@link #sonder(long)}.
+     * @return Le type de borne.
+     */
+    public static int borne(long donnee) {
+        return (int) (donnee >>> 46) & 0x3;
+    }
+
+    /**
+     * Extrait la génération (numéro de recherche) d'une donnée.
+     *
+     * @param donnee La donnée d'une entrée.
+     * @return La génération de l'entrée.
+     */
+    private static int generation(long donnee) {
+        return (int) (donnee >>> 48) & 0xFF;
+    }
+}
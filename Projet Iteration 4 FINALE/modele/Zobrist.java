@@ -0,0 +1,54 @@
+package modele;
+
+import java.util.SplittableRandom;
+
+/**
+ * Clés de hachage de Zobrist pour les positions d'Othello.
+ * <p>
+ * Les clés sont tirées d'un générateur à graine fixe : un même plateau a donc le même
+ * hachage d'une exécution à l'autre, ce qui permet de l'enregistrer dans des fichiers.
+ */
+public final class Zobrist {
+    /** Clés des pions du premier joueur, par case. */
+    static final long[] CLES_JOUEUR1 = new long[64];
+    /** Clés des pions du second joueur, par case. */
+    static final long[] CLES_JOUEUR2 = new long[64];
+    /** Clé à appliquer lorsqu'un pion change de couleur sur une case. */
+    static final long[] CLES_RETOURNEMENT = new long[64];
+    /** Clé ajoutée lorsque le second joueur a le trait. */
+    static final long CLE_TRAIT_JOUEUR2;
+
+    static {
+        SplittableRandom generateur = new SplittableRandom(0x07E1_1005_2024L);
+        for (int i = 0; i < 64; i++) {
+            CLES_JOUEUR1[i] = generateur.nextLong();
+            CLES_JOUEUR2[i] = generateur.nextLong();
+            CLES_RETOURNEMENT[i] = CLES_JOUEUR1[i] ^ CLES_JOUEUR2[i];
+        }
+        CLE_TRAIT_JOUEUR2 = generateur.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Calcule le hachage complet d'une position.
+     *
+     * @param pionsJoueur1    Les pions du premier joueur.
+     * @param pionsJoueur2    Les pions du second joueur.
+     * @param traitAuJoueur2  true si c'est au second joueur de jouer.
+     * @return Le hachage de la position.
+     */
+    public static long calculer(long pionsJoueur1, long pionsJoueur2, boolean traitAuJoueur2) {
+        long hash = traitAuJoueur2 ? CLE_TRAIT_JOUEUR2 : 0L;
+        while (pionsJoueur1 != 0L) {
+            hash ^= CLES_JOUEUR1[Long.numberOfTrailingZeros(pionsJoueur1)];
+            pionsJoueur1 &= pionsJoueur1 - 1;
+        }
+        while (pionsJoueur2 != 0L) {
+            hash ^= CLES_JOUEUR2[Long.numberOfTrailingZeros(pionsJoueur2)];
+            pionsJoueur2 &= pionsJoueur2 - 1;
+        }
+        return hash;
+    }
+}
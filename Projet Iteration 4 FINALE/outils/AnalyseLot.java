@@ -0,0 +1,302 @@
+package outils;
+
+import modele.BaseParties;
+import modele.BibliothequeOuvertures;
+import modele.EtatPartie;
+import modele.IAMinimax;
+import modele.PartieOthello;
+import modele.StatistiquesRecherche;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Analyse en lot un grand nombre de positions d'Othello lues dans un fichier, sans interface.
+ * <p>
+ * Les positions sont lues au fil de l'eau et analysées en parallèle par un pool à vol de
+ * tâches ; le nombre de positions lues mais pas encore analysées est borné, si bien que
+ * la mémoire utilisée ne dépend pas de la taille du fichier. Chaque thread possède sa
+ * propre IA, dont la table de transposition sert d'une position à l'autre ; la
+ * bibliothèque d'ouvertures et la base de parties sont désactivées pour que chaque coup
+ * soit cherché.
+ * <p>
+ * Formats d'entrée :
+ * <ul>
+ *     <li>texte (par défaut) : une position par ligne, les 64 cases de A1 à H8
+ *     ({@code N} ou {@code X} pour un pion noir, {@code B} ou {@code O} pour un pion blanc,
+ *     {@code -} ou {@code .} pour une case vide, espaces ignorés) suivies de la couleur au
+ *     trait ; les lignes vides et celles qui commencent par {@code #} sont ignorées ;</li>
+ *     <li>binaire ({@code --binaire}) : des enregistrements de 17 octets, les pions noirs
+ *     puis les pions blancs sur 8 octets gros-boutistes (bit {@code i} pour la case
+ *     {@code ligne * 8 + colonne}), puis la couleur au trait en ASCII ({@code N} ou {@code B}).</li>
+ * </ul>
+ * <p>
+ * Une ligne de résultat est écrite sur la sortie standard dès qu'une position est
+ * analysée, donc pas forcément dans l'ordre du fichier : le numéro de la position (ligne
+ * du fichier texte, rang de l'enregistrement binaire, à partir de 1), le meilleur coup
+ * ({@code d3}, {@code pass} ou {@code fin}), le score pour le joueur au trait ({@code ?}
+ * pour un coup forcé, qui n'est pas cherché) et la profondeur atteinte.
+ * <p>
+ * Utilisation : {@code java outils.AnalyseLot [--binaire] fichier|- [profondeur] [nbThreads] [tempsMs]},
+ * {@code -} désignant l'entrée standard.
+ */
+public class AnalyseLot {
+    private static final int TAILLE_ENREGISTREMENT = 17;
+    private static final int POSITIONS_EN_ATTENTE_PAR_THREAD = 4;
+
+    private final int profondeur;
+    private final long tempsMs;
+    private final int nbThreads;
+    private final PrintWriter sortie;
+    private final AtomicLong nbAnalyses = new AtomicLong();
+    private final AtomicLong nbErreurs = new AtomicLong();
+    private final AtomicLong noeuds = new AtomicLong();
+
+    /**
+     * Construit une analyse en lot.
+     *
+     * @param profondeur La profondeur de recherche de l'IA.
+     * @param tempsMs    Le budget de temps par position en millisecondes, 0 si illimité.
+     * @param nbThreads  Le nombre de positions analysées simultanément.
+     * @param sortie     Reçoit les lignes de résultat.
+     */
+    public AnalyseLot(int profondeur, long tempsMs, int nbThreads, PrintWriter sortie) {
+        this.profondeur = profondeur;
+        this.tempsMs = tempsMs;
+        this.nbThreads = nbThreads;
+        this.sortie = sortie;
+    }
+
+    /**
+     * Point d'entrée de l'analyse en lot.
+     *
+     * @param args {@code --binaire} éventuellement, le fichier des positions, la profondeur
+     *             ({@link IAMinimax#PROFONDEUR_PAR_DEFAUT} par défaut), le nombre de threads
+     *             (nombre de cœurs par défaut) et le budget de temps par position (0).
+     * @throws IOException Si le fichier ne peut pas être lu.
+     */
+    public static void main(String[] args) throws IOException {
+        boolean binaire = args.length > 0 && args[0].equals("--binaire");
+        int premier = binaire ? 1 : 0;
+        if (args.length <= premier) {
+            System.out.println("Utilisation : java outils.AnalyseLot [--binaire] fichier|- [profondeur] [nbThreads] [tempsMs]");
+            return;
+        }
+        int profondeur = (args.length > premier + 1) ? Integer.parseInt(args[premier + 1]) : IAMinimax.PROFONDEUR_PAR_DEFAUT;
+        int nbThreads = (args.length > premier + 2) ? Integer.parseInt(args[premier + 2]) : Runtime.getRuntime().availableProcessors();
+        long tempsMs = (args.length > premier + 3) ? Long.parseLong(args[premier + 3]) : 0L;
+
+        PrintWriter sortie = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        AnalyseLot analyse = new AnalyseLot(profondeur, tempsMs, nbThreads, sortie);
+        long debut = System.nanoTime();
+        try (InputStream entree = args[premier].equals("-") ? System.in : new FileInputStream(args[premier])) {
+            if (binaire) {
+                analyse.analyserBinaire(entree);
+            } else {
+                analyse.analyserTexte(entree);
+            }
+        }
+        sortie.flush();
+        double secondes = (System.nanoTime() - debut) / 1e9;
+        System.err.printf("%d position(s) analysée(s), %d erreur(s) en %.1f s (%.1f positions/s, %.0f k nœuds/s)%n",
+                analyse.nbAnalyses.get(), analyse.nbErreurs.get(), secondes, analyse.nbAnalyses.get() / secondes,
+                analyse.noeuds.get() / secondes / 1e3);
+    }
+
+    /**
+     * Analyse les positions d'un flux au format texte.
+     *
+     * @param entree Le flux, lu jusqu'à sa fin.
+     * @throws IOException Si le flux ne peut pas être lu.
+     */
+    public void analyserTexte(InputStream entree) throws IOException {
+        BufferedReader lignes = new BufferedReader(new InputStreamReader(entree, StandardCharsets.UTF_8));
+        analyser(() -> {
+            String ligne = lignes.readLine();
+            if (ligne == null) {
+                return null;
+            }
+            String texte = ligne.trim();
+            return texte.startsWith("#") ? "" : texte;
+        });
+    }
+
+    /**
+     * Analyse les positions d'un flux au format binaire.
+     *
+     * @param entree Le flux, lu jusqu'à sa fin.
+     * @throws IOException Si le flux ne peut pas être lu ou s'il se termine au milieu d'un enregistrement.
+     */
+    public void analyserBinaire(InputStream entree) throws IOException {
+        InputStream donnees = new BufferedInputStream(entree, 1 << 16);
+        byte[] enregistrement = new byte[TAILLE_ENREGISTREMENT];
+        analyser(() -> {
+            int lus = donnees.readNBytes(enregistrement, 0, TAILLE_ENREGISTREMENT);
+            if (lus == 0) {
+                return null;
+            }
+            if (lus < TAILLE_ENREGISTREMENT) {
+                throw new EOFException("Enregistrement incomplet en fin de fichier");
+            }
+            return decoder(enregistrement);
+        });
+    }
+
+    /**
+     * Source de positions sous forme de texte, lue par un seul thread.
+     */
+    private interface Source {
+        /**
+         * Lit la position suivante.
+         *
+         * @return La position au format texte, une chaîne vide pour une ligne à ignorer
+         * (qui compte tout de même dans la numérotation), ou null à la fin du flux.
+         * @throws IOException Si le flux ne peut pas être lu.
+         */
+        String suivante() throws IOException;
+    }
+
+    /**
+     * Lit toutes les positions d'une source et les fait analyser par le pool, en attendant
+     * quand trop de positions sont en cours.
+     *
+     * @param source La source des positions.
+     * @throws IOException Si la source ne peut pas être lue.
+     */
+    private void analyser(Source source) throws IOException {
+        ThreadLocal<IAMinimax> ia = ThreadLocal.withInitial(() -> {
+            IAMinimax nouvelle = new IAMinimax(profondeur, tempsMs);
+            nouvelle.setBibliotheque(BibliothequeOuvertures.vide());
+            nouvelle.setBaseParties(BaseParties.vide());
+            return nouvelle;
+        });
+        ExecutorService pool = Executors.newWorkStealingPool(nbThreads);
+        Semaphore places = new Semaphore(POSITIONS_EN_ATTENTE_PAR_THREAD * nbThreads);
+        long numero = 0;
+        try {
+            String position;
+            while ((position = source.suivante()) != null) {
+                numero++;
+                if (position.isEmpty()) {
+                    continue;
+                }
+                long numeroPosition = numero;
+                String texte = position;
+                places.acquire();
+                pool.execute(() -> {
+                    try {
+                        ecrire(numeroPosition + " " + analyserPosition(texte, ia.get()));
+                        nbAnalyses.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        ecrire(numeroPosition + " erreur " + e.getMessage());
+                        nbErreurs.incrementAndGet();
+                    } finally {
+                        places.release();
+                    }
+                });
+            }
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Analyse interrompue", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Analyse une position.
+     *
+     * @param texte La position au format texte.
+     * @param ia    L'IA du thread courant.
+     * @return Le meilleur coup, le score et la profondeur, séparés par des espaces.
+     * @throws IllegalArgumentException Si la position n'est pas valide.
+     */
+    private String analyserPosition(String texte, IAMinimax ia) {
+        PartieOthello partie = Positions.nouvellePartie();
+        char couleur = lireCouleur(texte.charAt(texte.length() - 1));
+        String plateau = texte.substring(0, texte.length() - 1).replace('X', 'N').replace('O', 'B');
+        partie.chargerPosition(plateau, couleur);
+        EtatPartie etat = partie.getEtat();
+        if (etat == EtatPartie.TERMINEE) {
+            return "fin " + partie.getDifferencePions(couleur) + " 0";
+        }
+        if (etat == EtatPartie.PASSE_OBLIGATOIRE) {
+            return "pass ? 0";
+        }
+        int[] coup = ia.jouerCoup(partie, couleur);
+        StatistiquesRecherche statistiques = ia.getStatistiquesDernierCoup();
+        noeuds.addAndGet(statistiques.getNoeuds());
+        String score = (statistiques.getNbRecherches() > 0) ? String.valueOf(ia.getDernierScore()) : "?";
+        return (char) ('a' + coup[1]) + String.valueOf(coup[0] + 1) + " " + score + " "
+                + Math.round(statistiques.getProfondeur());
+    }
+
+    /**
+     * Écrit une ligne de résultat, en entier et aussitôt.
+     *
+     * @param ligne La ligne.
+     */
+    private void ecrire(String ligne) {
+        synchronized (sortie) {
+            sortie.println(ligne);
+            sortie.flush();
+        }
+    }
+
+    /**
+     * Convertit la couleur au trait d'une position.
+     *
+     * @param c {@code N} ou {@code X} pour les noirs, {@code B} ou {@code O} pour les blancs.
+     * @return 'N' ou 'B'.
+     * @throws IllegalArgumentException Si la couleur n'est pas reconnue.
+     */
+    private static char lireCouleur(char c) {
+        switch (Character.toUpperCase(c)) {
+            case 'N':
+            case 'X':
+                return 'N';
+            case 'B':
+            case 'O':
+                return 'B';
+            default:
+                throw new IllegalArgumentException("Couleur au trait inconnue : " + c);
+        }
+    }
+
+    /**
+     * Convertit un enregistrement binaire en position au format texte.
+     *
+     * @param enregistrement Les 17 octets de l'enregistrement.
+     * @return La position au format texte.
+     */
+    private static String decoder(byte[] enregistrement) {
+        long noirs = 0L;
+        long blancs = 0L;
+        for (int i = 0; i < 8; i++) {
+            noirs = (noirs << 8) | (enregistrement[i] & 0xFF);
+            blancs = (blancs << 8) | (enregistrement[8 + i] & 0xFF);
+        }
+        char[] texte = new char[65];
+        for (int indiceCase = 0; indiceCase < 64; indiceCase++) {
+            long masque = 1L << indiceCase;
+            texte[indiceCase] = ((noirs & masque) != 0) ? 'N' : ((blancs & masque) != 0) ? 'B' : '-';
+        }
+        texte[64] = (char) enregistrement[16];
+        return new String(texte);
+    }
+}
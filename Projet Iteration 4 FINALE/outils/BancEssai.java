@@ -0,0 +1,291 @@
+package outils;
+
+import modele.BaseParties;
+import modele.BibliothequeOuvertures;
+import modele.IAMinimax;
+import modele.IANaive;
+import modele.PartieAwale;
+import modele.PartieOthello;
+import modele.StatistiquesRecherche;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Banc d'essai des chemins critiques des modèles de jeu et des IA.
+ * <p>
+ * Chaque mesure exécute une opération en boucle : des itérations de préchauffage laissent
+ * le compilateur JIT optimiser le code, puis des itérations de durée fixe donnent le débit
+ * (opérations par seconde, moyenne et écart type) et la quantité de mémoire allouée par
+ * opération, lue dans les compteurs d'allocation du thread courant. Les résultats des
+ * opérations sont accumulés dans un champ volatil pour que le compilateur ne puisse pas
+ * supprimer le travail mesuré.
+ * <p>
+ * Les positions sont tirées d'une graine fixe : deux exécutions mesurent exactement le même
+ * travail et peuvent être comparées d'une version à l'autre.
+ * <p>
+ * Ce banc est une vérification rapide qui ne demande que les classes du projet. Les mesures
+ * de référence sont celles des bancs JMH du module {@code jmh} (mêmes positions, mêmes
+ * opérations), construits par Maven : {@code java -jar jmh/target/benchmarks.jar -prof gc}.
+ * <p>
+ * Utilisation : {@code java outils.BancEssai [filtre] [secondesParIteration] [nbIterations]},
+ * le filtre ne retenant que les mesures dont le nom le contient.
+ */
+public class BancEssai {
+    private static final long GRAINE = 20240917L;
+    private static final int NB_POSITIONS = 64;
+    private static final int NB_ITERATIONS_PRECHAUFFAGE = 3;
+
+    private static volatile long puits; // Reçoit les résultats des opérations mesurées
+
+    private final String filtre;
+    private final double secondesParIteration;
+    private final int nbIterations;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Une opération mesurée. Elle renvoie une valeur dépendant de son travail.
+     */
+    private interface Operation {
+        long executer();
+    }
+
+    /**
+     * Construit un banc d'essai.
+     *
+     * @param filtre               Le texte que doit contenir le nom d'une mesure pour être exécutée.
+     * @param secondesParIteration La durée de chaque itération.
+     * @param nbIterations         Le nombre d'itérations mesurées.
+     */
+    private BancEssai(String filtre, double secondesParIteration, int nbIterations) {
+        this.filtre = filtre;
+        this.secondesParIteration = secondesParIteration;
+        this.nbIterations = nbIterations;
+    }
+
+    /**
+     * Point d'entrée du banc d'essai.
+     *
+     * @param args Filtre (aucun par défaut), durée d'une itération en secondes (1 par défaut)
+     *             et nombre d'itérations mesurées (5 par défaut).
+     */
+    public static void main(String[] args) {
+        String filtre = (args.length > 0) ? args[0] : "";
+        double secondes = (args.length > 1) ? Double.parseDouble(args[1]) : 1.0;
+        int nbIterations = (args.length > 2) ? Integer.parseInt(args[2]) : 5;
+        BancEssai banc = new BancEssai(filtre, secondes, nbIterations);
+        System.out.printf("%-45s %16s %10s %12s%n", "Mesure", "op/s", "± %", "octets/op");
+        banc.mesurerOthello();
+        banc.mesurerAwale();
+        banc.mesurerIA();
+    }
+
+    /**
+     * Mesure les opérations de {@link PartieOthello}.
+     */
+    private void mesurerOthello() {
+        PartieOthello[] positions = Positions.aleatoires(NB_POSITIONS, 10, 40, GRAINE).toArray(new PartieOthello[0]);
+        int[][] coups = new int[NB_POSITIONS][];
+        for (int i = 0; i < NB_POSITIONS; i++) {
+            List<int[]> coupsPossibles = positions[i].getCoupsPossibles(positions[i].getJoueurCourant().getCouleur());
+            coups[i] = coupsPossibles.get(0);
+        }
+        int[] tampon = new int[64];
+        int[] indice = new int[1];
+
+        mesurer("PartieOthello.getCoupsPossibles", () -> {
+            PartieOthello partie = suivante(positions, indice);
+            return partie.getCoupsPossibles(partie.getJoueurCourant().getCouleur()).size();
+        });
+        mesurer("PartieOthello.remplirCoupsPossibles", () -> {
+            PartieOthello partie = suivante(positions, indice);
+            return partie.remplirCoupsPossibles(partie.getJoueurCourant().getCouleur(), tampon);
+        });
+        mesurer("PartieOthello.effectuerCoup + annulerCoup", () -> {
+            int i = indice[0]++ & (NB_POSITIONS - 1);
+            PartieOthello partie = positions[i];
+            partie.effectuerCoup(coups[i][0] * 8 + coups[i][1]);
+            long hash = partie.getHash();
+            partie.annulerCoup();
+            return hash;
+        });
+        mesurer("PartieOthello.effectuerCoup + estTerminee", () -> {
+            int i = indice[0]++ & (NB_POSITIONS - 1);
+            PartieOthello partie = positions[i];
+            partie.effectuerCoup(coups[i][0] * 8 + coups[i][1]);
+            boolean terminee = partie.estTerminee();
+            partie.annulerCoup();
+            return terminee ? 1 : 0;
+        });
+        mesurer("PartieOthello.copier", () -> suivante(positions, indice).copier().getHash());
+        mesurer("PartieOthello.copier + jouerCoup(int, int)", () -> {
+            int i = indice[0]++ & (NB_POSITIONS - 1);
+            PartieOthello copie = positions[i].copier();
+            copie.jouerCoup(coups[i][0], coups[i][1]);
+            return copie.getHash();
+        });
+        mesurer("PartieOthello.copier + jouerCoup(String)", () -> {
+            int i = indice[0]++ & (NB_POSITIONS - 1);
+            PartieOthello copie = positions[i].copier();
+            copie.jouerCoup((coups[i][0] + 1) + " " + (char) ('A' + coups[i][1]));
+            return copie.getHash();
+        });
+    }
+
+    /**
+     * Mesure les opérations de {@link PartieAwale}.
+     */
+    private void mesurerAwale() {
+        PartieAwale[] positions = Positions.aleatoiresAwale(NB_POSITIONS, GRAINE).toArray(new PartieAwale[0]);
+        String[] coups = new String[NB_POSITIONS];
+        for (int i = 0; i < NB_POSITIONS; i++) {
+            coups[i] = Positions.coupJouable(positions[i]);
+        }
+        int[] indice = new int[1];
+
+        mesurer("PartieAwale.copier", () -> suivante(positions, indice).copier().getPlateau()[0][0]);
+        mesurer("PartieAwale.copier + jouerCoup", () -> {
+            int i = indice[0]++ & (NB_POSITIONS - 1);
+            PartieAwale copie = positions[i].copier();
+            copie.jouerCoup(coups[i]);
+            return copie.getPlateau()[1][0];
+        });
+    }
+
+    /**
+     * Mesure les IA sur des positions fixes de milieu de partie, sans bibliothèque d'ouvertures.
+     */
+    private void mesurerIA() {
+        PartieOthello[] positions = Positions.aleatoires(NB_POSITIONS, 12, 30, GRAINE + 1).toArray(new PartieOthello[0]);
+        int[] indice = new int[1];
+
+        for (int profondeur = 2; profondeur <= 6; profondeur += 2) {
+            // Une petite table effacée à chaque coup : chaque position est recherchée sans rien connaître d'avance
+            IAMinimax ia = new IAMinimax(profondeur, 0, 1);
+            ia.setBibliotheque(BibliothequeOuvertures.vide());
+            ia.setBaseParties(BaseParties.vide());
+            mesurer("IAMinimax.jouerCoup profondeur " + profondeur, () -> {
+                PartieOthello partie = suivante(positions, indice);
+                ia.reinitialiser();
+                int[] coup = ia.jouerCoup(partie, partie.getJoueurCourant().getCouleur());
+                return coup[0] * 8 + coup[1];
+            });
+            afficherStatistiques(ia);
+        }
+
+        // Une recherche chronométrée à part : la lecture de l'horloge fausserait le débit mesuré ci-dessus
+        IAMinimax chronometree = new IAMinimax(6, 0, 1);
+        chronometree.setBibliotheque(BibliothequeOuvertures.vide());
+        chronometree.setBaseParties(BaseParties.vide());
+        chronometree.setChronometrage(true);
+        if ("IAMinimax.jouerCoup profondeur 6".contains(filtre)) {
+            for (PartieOthello partie : positions) {
+                chronometree.reinitialiser();
+                chronometree.jouerCoup(partie, partie.getJoueurCourant().getCouleur());
+            }
+            afficherStatistiques(chronometree);
+        }
+
+        IANaive naive = new IANaive();
+        naive.setBibliotheque(BibliothequeOuvertures.vide());
+        mesurer("IANaive.jouerCoup", () -> {
+            PartieOthello partie = suivante(positions, indice);
+            int[] coup = naive.jouerCoup(partie, partie.getJoueurCourant().getCouleur());
+            return coup[0] * 8 + coup[1];
+        });
+    }
+
+    /**
+     * Mesure une opération et affiche son débit et son allocation par opération.
+     *
+     * @param nom       Le nom de la mesure.
+     * @param operation L'opération à mesurer.
+     */
+    private void mesurer(String nom, Operation operation) {
+        if (!nom.contains(filtre)) {
+            return;
+        }
+        for (int i = 0; i < NB_ITERATIONS_PRECHAUFFAGE; i++) {
+            iterer(operation);
+        }
+        double[] debits = new double[nbIterations];
+        long nbOperations = 0;
+        long octetsAvant = octetsAlloues();
+        for (int i = 0; i < nbIterations; i++) {
+            long debut = System.nanoTime();
+            long n = iterer(operation);
+            debits[i] = n / ((System.nanoTime() - debut) / 1e9);
+            nbOperations += n;
+        }
+        long octets = octetsAlloues() - octetsAvant;
+
+        double moyenne = 0;
+        for (double debit : debits) {
+            moyenne += debit / nbIterations;
+        }
+        double variance = 0;
+        for (double debit : debits) {
+            variance += (debit - moyenne) * (debit - moyenne) / Math.max(1, nbIterations - 1);
+        }
+        String allocation = (octets >= 0) ? String.format("%.1f", (double) octets / nbOperations) : "n/d";
+        System.out.printf("%-45s %16.1f %10.1f %12s%n", nom, moyenne, 100 * Math.sqrt(variance) / moyenne, allocation);
+    }
+
+    /**
+     * Affiche les statistiques de recherche cumulées d'une IA, si elle a été mesurée.
+     *
+     * @param ia L'IA.
+     */
+    private void afficherStatistiques(IAMinimax ia) {
+        StatistiquesRecherche statistiques = ia.getStatistiquesCumulees();
+        if (statistiques.getNbCoups() > 0) {
+            System.out.println("    " + statistiques);
+        }
+    }
+
+    /**
+     * Exécute une opération en boucle pendant la durée d'une itération.
+     *
+     * @param operation L'opération.
+     * @return Le nombre d'exécutions.
+     */
+    private long iterer(Operation operation) {
+        long fin = System.nanoTime() + (long) (secondesParIteration * 1e9);
+        long n = 0;
+        long somme = 0;
+        do {
+            // L'horloge n'est lue que toutes les 16 exécutions pour ne pas peser sur les opérations rapides
+            for (int i = 0; i < 16; i++) {
+                somme += operation.executer();
+            }
+            n += 16;
+        } while (System.nanoTime() - fin < 0);
+        puits += somme;
+        return n;
+    }
+
+    /**
+     * Retourne le nombre d'octets alloués par le thread courant depuis son démarrage.
+     *
+     * @return Le nombre d'octets, ou -1 si la machine virtuelle ne fournit pas ce compteur.
+     */
+    private long octetsAlloues() {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * Retourne l'élément suivant d'un ensemble de positions, en boucle.
+     *
+     * @param positions Les positions (leur nombre est une puissance de 2).
+     * @param indice    Le compteur de l'opération, incrémenté.
+     * @param <T>       Le type de partie.
+     * @return La position suivante.
+     */
+    private static <T> T suivante(T[] positions, int[] indice) {
+        return positions[indice[0]++ & (positions.length - 1)];
+    }
+}
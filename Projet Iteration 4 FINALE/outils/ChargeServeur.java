@@ -0,0 +1,169 @@
+package outils;
+
+import serveur.Serveur;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Met le serveur de jeu à l'épreuve en ouvrant de nombreuses sessions simultanées sur
+ * l'adresse locale.
+ * <p>
+ * Toutes les sessions se connectent d'abord, puis chacune fait jouer à l'IA du serveur
+ * des parties d'Othello complètes contre elle-même avec {@code genmove}, en marquant
+ * éventuellement une pause entre les coups comme le ferait un joueur humain. L'outil
+ * mesure la latence de chaque coup vue par le client (médiane, 99e centile, maximum) et
+ * affiche pour finir le rapport du serveur.
+ * <p>
+ * Utilisation : {@code java outils.ChargeServeur [port] [nbSessions] [nbParties] [profondeur] [pauseMs]}.
+ */
+public class ChargeServeur {
+
+    /**
+     * Point d'entrée de l'outil.
+     *
+     * @param args Le port du serveur ({@link Serveur#PORT_PAR_DEFAUT} par défaut), le nombre
+     *             de sessions (100), le nombre de parties par session (1), la profondeur de
+     *             l'IA (4) et la pause entre deux coups en millisecondes (0).
+     * @throws Exception Si le serveur est injoignable ou si l'attente est interrompue.
+     */
+    public static void main(String[] args) throws Exception {
+        int port = (args.length > 0) ? Integer.parseInt(args[0]) : Serveur.PORT_PAR_DEFAUT;
+        int nbSessions = (args.length > 1) ? Integer.parseInt(args[1]) : 100;
+        int nbParties = (args.length > 2) ? Integer.parseInt(args[2]) : 1;
+        int profondeur = (args.length > 3) ? Integer.parseInt(args[3]) : 4;
+        long pauseMs = (args.length > 4) ? Long.parseLong(args[4]) : 0L;
+        System.out.println(nbSessions + " session(s) de " + nbParties + " partie(s), profondeur " + profondeur
+                + ", pause " + pauseMs + " ms");
+
+        CountDownLatch connectees = new CountDownLatch(nbSessions);
+        AtomicInteger echecs = new AtomicInteger();
+        List<long[]> latences = new ArrayList<>();
+        List<Thread> clients = new ArrayList<>();
+        long debut = System.nanoTime();
+        for (int i = 0; i < nbSessions; i++) {
+            long[] latencesSession = new long[128 * nbParties];
+            latences.add(latencesSession);
+            Thread client = new Thread(() -> {
+                try (Client session = new Client(port)) {
+                    connectees.countDown();
+                    connectees.await();
+                    session.envoyer("niveau " + profondeur);
+                    int nbCoups = 0;
+                    for (int partie = 0; partie < nbParties; partie++) {
+                        session.envoyer("clear_board");
+                        int passesConsecutives = 0;
+                        char couleur = 'b';
+                        while (passesConsecutives < 2) {
+                            long debutCoup = System.nanoTime();
+                            String coup = session.envoyer("genmove " + couleur);
+                            latencesSession[nbCoups++] = System.nanoTime() - debutCoup;
+                            passesConsecutives = coup.equals("pass") ? passesConsecutives + 1 : 0;
+                            couleur = (couleur == 'b') ? 'w' : 'b';
+                            if (pauseMs > 0) {
+                                Thread.sleep(pauseMs);
+                            }
+                        }
+                    }
+                    session.envoyer("quit");
+                } catch (IOException e) {
+                    echecs.incrementAndGet();
+                    connectees.countDown();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "client-" + i);
+            client.start();
+            clients.add(client);
+        }
+        connectees.await();
+        System.out.printf("Sessions connectées en %.2f s%n", (System.nanoTime() - debut) / 1e9);
+        for (Thread client : clients) {
+            client.join();
+        }
+        double secondes = (System.nanoTime() - debut) / 1e9;
+
+        long[] toutes = latences.stream().flatMapToLong(Arrays::stream).filter(l -> l > 0).sorted().toArray();
+        System.out.printf("%d coups en %.1f s (%.0f coups/s), %d échec(s)%n", toutes.length, secondes,
+                toutes.length / secondes, echecs.get());
+        if (toutes.length > 0) {
+            System.out.printf("Latence : médiane %.1f ms, 99e centile %.1f ms, maximum %.1f ms%n",
+                    centile(toutes, 0.50) / 1e6, centile(toutes, 0.99) / 1e6, toutes[toutes.length - 1] / 1e6);
+        }
+        try (Client session = new Client(port)) {
+            System.out.println("Serveur : " + session.envoyer("statistiques"));
+        }
+    }
+
+    /**
+     * Retourne un centile d'une série triée.
+     *
+     * @param valeurs La série, triée par ordre croissant et non vide.
+     * @param rang    Le rang du centile, entre 0 et 1.
+     * @return La valeur du centile.
+     */
+    private static long centile(long[] valeurs, double rang) {
+        return valeurs[Math.min(valeurs.length - 1, (int) (rang * valeurs.length))];
+    }
+
+    /**
+     * Connexion au serveur, qui envoie une commande et attend sa réponse.
+     */
+    private static class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader entree;
+        private final PrintWriter sortie;
+
+        /**
+         * Se connecte au serveur local.
+         *
+         * @param port Le port du serveur.
+         * @throws IOException Si la connexion échoue.
+         */
+        Client(int port) throws IOException {
+            this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            this.entree = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            this.sortie = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Envoie une commande et lit la réponse.
+         *
+         * @param commande La commande.
+         * @return Le contenu de la réponse, sans le {@code =} initial.
+         * @throws IOException Si la connexion est perdue ou si le serveur répond par une erreur.
+         */
+        String envoyer(String commande) throws IOException {
+            sortie.print(commande + "\n");
+            sortie.flush();
+            StringBuilder reponse = new StringBuilder();
+            String ligne;
+            while ((ligne = entree.readLine()) != null && !ligne.isEmpty()) {
+                reponse.append(reponse.length() > 0 ? "\n" : "").append(ligne);
+            }
+            if (reponse.length() == 0) {
+                throw new IOException("Connexion fermée par le serveur");
+            }
+            if (reponse.charAt(0) != '=') {
+                throw new IOException("Erreur du serveur pour « " + commande + " » : " + reponse);
+            }
+            return reponse.substring(1).trim();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package outils;
+
+import modele.BaseParties;
+import modele.EtatPartie;
+import modele.PartieOthello;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Construit hors ligne l'index d'une base de parties à partir de fichiers WTHOR, ou
+ * interroge un index existant.
+ * <p>
+ * Chaque partie des fichiers est rejouée par {@link LecteurWthor} ; toutes ses positions
+ * sont ajoutées à l'index, lisible par {@link BaseParties}. Les parties contenant un coup
+ * illégal sont écartées, ainsi que les positions atteintes par moins de parties qu'un
+ * minimum donné (2 par défaut).
+ * <p>
+ * L'interrogation rejoue une suite de coups depuis le départ ({@code f5d6c3}, les passes
+ * étant déduites) et affiche les résultats des parties passées par la position atteinte,
+ * puis ceux de chaque coup possible.
+ * <p>
+ * Utilisation : {@code java outils.ConstructeurBaseParties [--minimum n] index fichier.wtb...} ou
+ * {@code java outils.ConstructeurBaseParties --interroger index [coups]}.
+ */
+public class ConstructeurBaseParties {
+    private static final int PARTIES_MINIMUM_PAR_DEFAUT = 2;
+
+    /**
+     * Point d'entrée de la construction ou de l'interrogation.
+     *
+     * @param args Éventuellement {@code --minimum} et le nombre minimal de parties d'une
+     *             position, le fichier d'index puis les fichiers WTHOR ; ou {@code --interroger},
+     *             le fichier d'index et une suite de coups.
+     * @throws IOException Si un fichier ne peut pas être lu ou écrit.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 2 && args[0].equals("--interroger")) {
+            interroger(BaseParties.ouvrir(Paths.get(args[1])), (args.length > 2) ? args[2] : "");
+        } else if (args.length >= 4 && args[0].equals("--minimum")) {
+            construire(Integer.parseInt(args[1]), Arrays.copyOfRange(args, 2, args.length));
+        } else if (args.length >= 2) {
+            construire(PARTIES_MINIMUM_PAR_DEFAUT, args);
+        } else {
+            System.out.println("Utilisation : java outils.ConstructeurBaseParties [--minimum n] index fichier.wtb...");
+            System.out.println("              java outils.ConstructeurBaseParties --interroger index [coups]");
+        }
+    }
+
+    /**
+     * Construit l'index des fichiers WTHOR.
+     *
+     * @param partiesMinimum Le nombre minimal de parties d'une position indexée.
+     * @param fichiers       Le fichier d'index à écrire, puis les fichiers WTHOR.
+     * @throws IOException Si un fichier ne peut pas être lu ou écrit.
+     */
+    private static void construire(int partiesMinimum, String[] fichiers) throws IOException {
+        Path index = Paths.get(fichiers[0]);
+        BaseParties.Constructeur constructeur = new BaseParties.Constructeur();
+        long nbCoups = 0;
+        int nbRejetees = 0;
+        long debut = System.nanoTime();
+        for (int i = 1; i < fichiers.length; i++) {
+            LecteurWthor lecteur = LecteurWthor.ouvrir(Paths.get(fichiers[i]));
+            for (int indice = 0; indice < lecteur.getNbParties(); indice++) {
+                // Une partie illégale est vérifiée avant d'être ajoutée, pour ne rien indexer d'elle
+                int nbCoupsPartie = lecteur.rejouer(indice, null);
+                if (nbCoupsPartie < 0) {
+                    nbRejetees++;
+                    continue;
+                }
+                int partie = constructeur.ajouterPartie(lecteur.getAnnee(), lecteur.getJoueurNoir(indice),
+                        lecteur.getJoueurBlanc(indice), lecteur.getScoreNoir(indice), lecteur.getScoreTheorique(indice));
+                lecteur.rejouer(indice, (indicePartie, position) -> constructeur.ajouterPosition(partie,
+                        position.getHashCanonique(), position.getJoueurCourant() == position.getJoueur2()));
+                nbCoups += nbCoupsPartie;
+            }
+            System.out.println(fichiers[i] + " : " + lecteur.getNbParties() + " parties de " + lecteur.getAnnee());
+        }
+        double secondesLecture = (System.nanoTime() - debut) / 1e9;
+        int nbPositions = constructeur.ecrire(index, partiesMinimum);
+        System.out.printf("%d parties (%d rejetées), %d coups rejoués deux fois en %.2f s (%.1f M coups/s)%n",
+                constructeur.getNbParties(), nbRejetees, nbCoups, secondesLecture, 2 * nbCoups / secondesLecture / 1e6);
+        System.out.printf("%d positions distinctes écrites dans %s en %.2f s au total%n", nbPositions,
+                index.toAbsolutePath(), (System.nanoTime() - debut) / 1e9);
+    }
+
+    /**
+     * Affiche les résultats de la position atteinte par une suite de coups et de ses suites.
+     *
+     * @param base  La base à interroger.
+     * @param coups Les coups depuis le départ, par exemple {@code f5d6c3}.
+     * @throws IllegalArgumentException Si la suite de coups n'est pas légale.
+     */
+    private static void interroger(BaseParties base, String coups) {
+        PartieOthello partie = Positions.nouvellePartie();
+        for (int i = 0; i + 1 < coups.length(); i += 2) {
+            if (partie.getEtat() == EtatPartie.PASSE_OBLIGATOIRE) {
+                partie.effectuerPasse();
+            }
+            int colonne = Character.toLowerCase(coups.charAt(i)) - 'a';
+            int ligne = coups.charAt(i + 1) - '1';
+            if (ligne < 0 || ligne > 7 || colonne < 0 || colonne > 7 || !partie.effectuerCoup(ligne * 8 + colonne)) {
+                throw new IllegalArgumentException("Coup illégal : " + coups.substring(i, i + 2));
+            }
+        }
+        System.out.println(base.getNbParties() + " parties, " + base.getNbPositions() + " positions");
+        BaseParties.Resultats resultats = base.chercher(partie.getHashCanonique());
+        System.out.println("Position (" + partie.getJoueurCourant().getNom() + " au trait) : "
+                + ((resultats == null) ? "absente de la base" : resultats));
+        if (resultats == null) {
+            return;
+        }
+        for (int[] coup : partie.getCoupsPossibles(partie.getJoueurCourant().getCouleur())) {
+            partie.effectuerCoup(coup[0] * 8 + coup[1]);
+            BaseParties.Resultats suite = base.chercher(partie.getHashCanonique());
+            partie.annulerCoup();
+            if (suite != null) {
+                System.out.printf("  %c%d : %d partie(s), score %.1f %% pour %s%n", 'a' + coup[1], coup[0] + 1,
+                        suite.getNbParties(), 100 * (1 - suite.getScore()), partie.getJoueurCourant().getNom());
+            }
+        }
+        int[] coupBase = base.chercherCoup(partie);
+        if (coupBase != null) {
+            System.out.printf("Coup conseillé : %c%d%n", 'a' + coupBase[1], coupBase[0] + 1);
+        }
+    }
+}
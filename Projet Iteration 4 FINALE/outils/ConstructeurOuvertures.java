@@ -0,0 +1,99 @@
+package outils;
+
+import modele.BaseParties;
+import modele.BibliothequeOuvertures;
+import modele.IAMinimax;
+import modele.PartieOthello;
+import modele.Symetries;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Construit hors ligne le fichier de la bibliothèque d'ouvertures.
+ * <p>
+ * Toutes les positions atteignables depuis le départ en un nombre de coups donné sont
+ * énumérées (les transpositions et les positions symétriques d'une position déjà vue ne
+ * sont recherchées qu'une fois), puis chacune est
+ * recherchée en profondeur par {@link IAMinimax}. Le meilleur coup et son score sont
+ * enregistrés dans un fichier lisible par {@link BibliothequeOuvertures}.
+ * <p>
+ * Utilisation : {@code java outils.ConstructeurOuvertures [nbCoups] [profondeur] [fichier]}
+ */
+public class ConstructeurOuvertures {
+    private static final int TAILLE_TABLE_MO = 128;
+
+    /**
+     * Point d'entrée de la construction.
+     *
+     * @param args Nombre de coups depuis le départ (4 par défaut), profondeur de recherche
+     *             (10 par défaut) et fichier de sortie ({@value BibliothequeOuvertures#FICHIER_PAR_DEFAUT} par défaut).
+     * @throws IOException Si le fichier ne peut pas être écrit.
+     */
+    public static void main(String[] args) throws IOException {
+        int nbCoups = (args.length > 0) ? Integer.parseInt(args[0]) : 4;
+        int profondeur = (args.length > 1) ? Integer.parseInt(args[1]) : 10;
+        Path fichier = Paths.get((args.length > 2) ? args[2] : BibliothequeOuvertures.FICHIER_PAR_DEFAUT);
+
+        Map<Long, PartieOthello> positions = new LinkedHashMap<>();
+        enumerer(Positions.nouvellePartie(), nbCoups, positions);
+        System.out.println(positions.size() + " positions à rechercher à la profondeur " + profondeur);
+
+        IAMinimax ia = new IAMinimax(profondeur, 0, TAILLE_TABLE_MO);
+        ia.setBibliotheque(BibliothequeOuvertures.vide()); // Ne pas se citer soi-même
+        ia.setBaseParties(BaseParties.vide());
+        List<long[]> entrees = new ArrayList<>();
+        long debut = System.currentTimeMillis();
+        int nbRecherchees = 0;
+        for (Map.Entry<Long, PartieOthello> position : positions.entrySet()) {
+            PartieOthello partie = position.getValue();
+            int[] coup = ia.jouerCoup(partie, partie.getJoueurCourant().getCouleur());
+            // Un coup forcé est joué sans recherche, donc sans score : l'IA le joue de toute façon sans bibliothèque
+            if (coup != null && ia.getStatistiquesDernierCoup().getNbRecherches() > 0) {
+                int coupCanonique = Symetries.transformerCase(coup[0] * 8 + coup[1], partie.getSymetrieCanonique());
+                entrees.add(new long[]{position.getKey(), coupCanonique, profondeur, ia.getDernierScore()});
+            }
+            if (++nbRecherchees % 100 == 0) {
+                System.out.println(nbRecherchees + " positions recherchées ("
+                        + (System.currentTimeMillis() - debut) / 1000 + " s)");
+            }
+        }
+        BibliothequeOuvertures.ecrire(fichier, entrees);
+        System.out.println(entrees.size() + " entrées écrites dans " + fichier.toAbsolutePath());
+    }
+
+    /**
+     * Énumère les positions atteignables en au plus nbCoups coups, passes comprises.
+     *
+     * @param partie    La position courante, modifiée puis restaurée.
+     * @param nbCoups   Le nombre de coups restant à jouer.
+     * @param positions Les positions trouvées, indexées par hachage canonique.
+     */
+    private static void enumerer(PartieOthello partie, int nbCoups, Map<Long, PartieOthello> positions) {
+        long hashCanonique = partie.getHashCanonique();
+        if (partie.estTerminee() || positions.containsKey(hashCanonique)) {
+            return;
+        }
+        positions.put(hashCanonique, partie.copier());
+        if (nbCoups == 0) {
+            return;
+        }
+        List<int[]> coups = partie.getCoupsPossibles(partie.getJoueurCourant().getCouleur());
+        if (coups.isEmpty()) {
+            partie.effectuerPasse();
+            enumerer(partie, nbCoups - 1, positions);
+            partie.annulerCoup();
+            return;
+        }
+        for (int[] coup : coups) {
+            partie.effectuerCoup(coup[0] * 8 + coup[1]);
+            enumerer(partie, nbCoups - 1, positions);
+            partie.annulerCoup();
+        }
+    }
+}
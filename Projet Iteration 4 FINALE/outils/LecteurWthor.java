@@ -0,0 +1,205 @@
+package outils;
+
+import modele.EtatPartie;
+import modele.PartieOthello;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lit un fichier de parties d'Othello au format WTHOR ({@code .wtb}), projeté en mémoire.
+ * <p>
+ * Le fichier commence par un en-tête de 16 octets, petit-boutiste : date de création
+ * (4 octets), nombre de parties (4 octets), nombre d'enregistrements (2 octets, nul pour
+ * les parties), année des parties (2 octets), taille du plateau, type des parties et
+ * profondeur du score théorique (1 octet chacun), puis un octet réservé. Chaque partie
+ * occupe ensuite 68 octets : numéros du tournoi, du joueur noir et du joueur blanc
+ * (2 octets chacun), nombre de pions noirs en fin de partie, score théorique, puis les
+ * 60 coups, codés {@code 10 * ligne + colonne} (de 11 pour A1 à 88 pour H8), 0 marquant
+ * la fin de la partie.
+ * <p>
+ * Les passes ne sont pas enregistrées : elles sont déduites en rejouant la partie. Un
+ * lecteur rejoue les parties sur une seule {@link PartieOthello} et ne doit donc être
+ * utilisé que par un thread à la fois.
+ */
+public class LecteurWthor {
+    private static final int TAILLE_EN_TETE = 16;
+    private static final int TAILLE_PARTIE = 68;
+    private static final int NB_COUPS_MAX = 60;
+    private static final String POSITION_DEPART =
+            "---------------------------BN------NB---------------------------";
+
+    private final ByteBuffer parties;
+    private final int nbParties;
+    private final int annee;
+    private final PartieOthello partie = Positions.nouvellePartie();
+
+    /**
+     * Visite les positions d'une partie rejouée.
+     */
+    public interface Visiteur {
+        /**
+         * Reçoit une position de la partie.
+         *
+         * @param indicePartie Le rang de la partie dans le fichier.
+         * @param partie       La partie dans cette position, à ne pas modifier.
+         */
+        void visiter(int indicePartie, PartieOthello partie);
+    }
+
+    /**
+     * Construit un lecteur sur la zone des parties d'un fichier.
+     *
+     * @param parties   Les enregistrements des parties.
+     * @param nbParties Le nombre de parties.
+     * @param annee     L'année des parties.
+     */
+    private LecteurWthor(ByteBuffer parties, int nbParties, int annee) {
+        this.parties = parties;
+        this.nbParties = nbParties;
+        this.annee = annee;
+    }
+
+    /**
+     * Ouvre un fichier WTHOR en le projetant en mémoire.
+     *
+     * @param fichier Le fichier {@code .wtb}.
+     * @return Le lecteur.
+     * @throws IOException              Si le fichier ne peut pas être lu.
+     * @throws IllegalArgumentException Si le fichier n'est pas un fichier de parties WTHOR valide.
+     */
+    public static LecteurWthor ouvrir(Path fichier) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            if (taille < TAILLE_EN_TETE) {
+                throw new IllegalArgumentException("Fichier WTHOR tronqué : " + fichier);
+            }
+            ByteBuffer projection = canal.map(FileChannel.MapMode.READ_ONLY, 0, taille).order(ByteOrder.LITTLE_ENDIAN);
+            int nbParties = projection.getInt(4);
+            int taillePlateau = projection.get(12);
+            if (nbParties < 0 || TAILLE_EN_TETE + (long) nbParties * TAILLE_PARTIE != taille
+                    || (taillePlateau != 0 && taillePlateau != 8)) {
+                throw new IllegalArgumentException("Fichier WTHOR invalide : " + fichier);
+            }
+            int annee = projection.getShort(10) & 0xFFFF;
+            // La projection reste valide après la fermeture du canal
+            ByteBuffer parties = projection.position(TAILLE_EN_TETE).slice().order(ByteOrder.LITTLE_ENDIAN);
+            return new LecteurWthor(parties, nbParties, annee);
+        }
+    }
+
+    /**
+     * Retourne le nombre de parties du fichier.
+     *
+     * @return Le nombre de parties.
+     */
+    public int getNbParties() {
+        return nbParties;
+    }
+
+    /**
+     * Retourne l'année des parties du fichier.
+     *
+     * @return L'année.
+     */
+    public int getAnnee() {
+        return annee;
+    }
+
+    /**
+     * Retourne le numéro du tournoi d'une partie.
+     *
+     * @param indice Le rang de la partie dans le fichier.
+     * @return Le numéro du tournoi, dans la liste des tournois des archives.
+     */
+    public int getTournoi(int indice) {
+        return parties.getShort(indice * TAILLE_PARTIE) & 0xFFFF;
+    }
+
+    /**
+     * Retourne le numéro du joueur noir d'une partie.
+     *
+     * @param indice Le rang de la partie dans le fichier.
+     * @return Le numéro du joueur, dans la liste des joueurs des archives.
+     */
+    public int getJoueurNoir(int indice) {
+        return parties.getShort(indice * TAILLE_PARTIE + 2) & 0xFFFF;
+    }
+
+    /**
+     * Retourne le numéro du joueur blanc d'une partie.
+     *
+     * @param indice Le rang de la partie dans le fichier.
+     * @return Le numéro du joueur, dans la liste des joueurs des archives.
+     */
+    public int getJoueurBlanc(int indice) {
+        return parties.getShort(indice * TAILLE_PARTIE + 4) & 0xFFFF;
+    }
+
+    /**
+     * Retourne le nombre de pions noirs à la fin d'une partie.
+     *
+     * @param indice Le rang de la partie dans le fichier.
+     * @return Le nombre de pions noirs, les cases vides comptant pour le vainqueur.
+     */
+    public int getScoreNoir(int indice) {
+        return parties.get(indice * TAILLE_PARTIE + 6) & 0xFF;
+    }
+
+    /**
+     * Retourne le score théorique d'une partie.
+     *
+     * @param indice Le rang de la partie dans le fichier.
+     * @return Le nombre de pions noirs en fin de partie avec un jeu parfait.
+     */
+    public int getScoreTheorique(int indice) {
+        return parties.get(indice * TAILLE_PARTIE + 7) & 0xFF;
+    }
+
+    /**
+     * Rejoue une partie depuis la position de départ et présente chacune de ses positions
+     * au visiteur : la position de départ, puis celle qui suit chaque coup et chaque passe.
+     *
+     * @param indice   Le rang de la partie dans le fichier.
+     * @param visiteur Reçoit les positions, ou null pour seulement vérifier la partie.
+     * @return Le nombre de coups joués, passes non comprises, ou -1 si la partie contient
+     * un coup illégal (les positions qui le précèdent ont déjà été visitées).
+     */
+    public int rejouer(int indice, Visiteur visiteur) {
+        partie.chargerPosition(POSITION_DEPART, partie.getJoueur1().getCouleur());
+        if (visiteur != null) {
+            visiteur.visiter(indice, partie);
+        }
+        int adresse = indice * TAILLE_PARTIE + 8;
+        int nbCoups = 0;
+        while (nbCoups < NB_COUPS_MAX) {
+            int code = parties.get(adresse + nbCoups);
+            if (code == 0) {
+                break;
+            }
+            int ligne = code / 10 - 1;
+            int colonne = code % 10 - 1;
+            if (ligne < 0 || ligne > 7 || colonne < 0 || colonne > 7) {
+                return -1;
+            }
+            if (partie.getEtat() == EtatPartie.PASSE_OBLIGATOIRE) {
+                partie.effectuerPasse();
+                if (visiteur != null) {
+                    visiteur.visiter(indice, partie);
+                }
+            }
+            if (!partie.effectuerCoup(ligne * 8 + colonne)) {
+                return -1;
+            }
+            nbCoups++;
+            if (visiteur != null) {
+                visiteur.visiter(indice, partie);
+            }
+        }
+        return nbCoups;
+    }
+}
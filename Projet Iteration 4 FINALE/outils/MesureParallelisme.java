@@ -0,0 +1,67 @@
+package outils;
+
+import modele.IAMinimax;
+import modele.PartieOthello;
+
+import java.util.List;
+
+/**
+ * Mesure l'accélération de la recherche parallèle d'{@link IAMinimax} en fonction
+ * du nombre de threads.
+ * <p>
+ * Chaque configuration recherche le même ensemble fixe de positions de milieu de partie à
+ * profondeur fixe, avec une table de transposition neuve par position. Le temps total
+ * jusqu'à la profondeur demandée est comparé à celui de la recherche sur un seul thread.
+ * <p>
+ * Utilisation : {@code java outils.MesureParallelisme [profondeur] [threadsMax] [nbPositions]}
+ */
+public class MesureParallelisme {
+    private static final int TAILLE_TABLE_MO = 64;
+    private static final long GRAINE = 20240601L;
+
+    /**
+     * Point d'entrée de la mesure.
+     *
+     * @param args Profondeur (9 par défaut), nombre de threads maximal (nombre de cœurs par défaut)
+     *             et nombre de positions (20 par défaut).
+     */
+    public static void main(String[] args) {
+        int profondeur = (args.length > 0) ? Integer.parseInt(args[0]) : 9;
+        int threadsMax = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int nbPositions = (args.length > 2) ? Integer.parseInt(args[2]) : 20;
+
+        List<PartieOthello> positions = Positions.aleatoires(nbPositions, 12, 30, GRAINE);
+        System.out.println("Profondeur " + profondeur + ", " + positions.size() + " positions, "
+                + Runtime.getRuntime().availableProcessors() + " cœur(s) disponible(s)");
+
+        mesurer(positions, profondeur, 1); // Préchauffage du compilateur JIT
+        double tempsReference = 0;
+        for (int nbThreads = 1; nbThreads <= threadsMax; nbThreads *= 2) {
+            double temps = mesurer(positions, profondeur, nbThreads);
+            if (nbThreads == 1) {
+                tempsReference = temps;
+            }
+            System.out.printf("%3d thread(s) : %9.1f ms  accélération x%.2f%n",
+                    nbThreads, temps, tempsReference / temps);
+        }
+    }
+
+    /**
+     * Recherche toutes les positions avec un nombre de threads donné.
+     *
+     * @param positions  Les positions à rechercher.
+     * @param profondeur La profondeur de recherche.
+     * @param nbThreads  Le nombre de threads.
+     * @return Le temps total en millisecondes.
+     */
+    private static double mesurer(List<PartieOthello> positions, int profondeur, int nbThreads) {
+        long total = 0;
+        for (PartieOthello position : positions) {
+            IAMinimax ia = new IAMinimax(profondeur, 0, TAILLE_TABLE_MO, nbThreads);
+            long debut = System.nanoTime();
+            ia.jouerCoup(position, position.getJoueurCourant().getCouleur());
+            total += System.nanoTime() - debut;
+        }
+        return total / 1e6;
+    }
+}
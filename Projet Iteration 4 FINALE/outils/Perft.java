@@ -0,0 +1,157 @@
+package outils;
+
+import modele.EtatPartie;
+import modele.PartieOthello;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compte les feuilles de l'arbre des coups d'Othello jusqu'à une profondeur donnée (perft).
+ * <p>
+ * Une passe compte comme un coup ; une position où aucun des deux joueurs ne peut jouer
+ * est une feuille, quelle que soit la profondeur restante. Depuis la position de départ,
+ * les nombres obtenus sont comparés aux valeurs publiées : toute modification de la
+ * génération des coups doit les retrouver.
+ * <p>
+ * Utilisation : {@code java outils.Perft [profondeurMax] [nbThreads] [plateau couleurAuTrait]},
+ * le plateau étant décrit comme pour {@link PartieOthello#chargerPosition(String, char)}.
+ */
+public class Perft {
+    /** Nombres de feuilles publiés depuis la position de départ, indexés par profondeur. */
+    private static final long[] FEUILLES_DEPART = {
+            1L, 4L, 12L, 56L, 244L, 1_396L, 8_200L, 55_092L, 390_216L, 3_005_288L,
+            24_571_284L, 212_258_800L, 1_939_886_636L, 18_429_641_748L, 184_042_084_512L
+    };
+
+    private Perft() {
+    }
+
+    /**
+     * Point d'entrée de l'outil.
+     *
+     * @param args Profondeur maximale (9 par défaut), nombre de threads (nombre de cœurs par
+     *             défaut), puis éventuellement le plateau et la couleur au trait.
+     */
+    public static void main(String[] args) {
+        int profondeurMax = (args.length > 0) ? Integer.parseInt(args[0]) : 9;
+        int nbThreads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        PartieOthello partie = Positions.nouvellePartie();
+        boolean depart = args.length < 4;
+        if (!depart) {
+            partie.chargerPosition(args[2], args[3].charAt(0));
+        }
+
+        boolean correct = true;
+        for (int profondeur = 1; profondeur <= profondeurMax; profondeur++) {
+            long debut = System.nanoTime();
+            long feuilles = (nbThreads > 1) ? perftParallele(partie, profondeur, nbThreads) : perft(partie, profondeur);
+            double secondes = (System.nanoTime() - debut) / 1e9;
+            String verification = "";
+            if (depart && profondeur < FEUILLES_DEPART.length) {
+                boolean attendu = feuilles == FEUILLES_DEPART[profondeur];
+                correct &= attendu;
+                verification = attendu ? "  OK" : "  ERREUR (attendu " + FEUILLES_DEPART[profondeur] + ")";
+            }
+            System.out.printf("perft(%d) = %d en %.3f s, %.1f M feuilles/s%s%n",
+                    profondeur, feuilles, secondes, feuilles / secondes / 1e6, verification);
+        }
+        if (!correct) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compte les feuilles depuis une position, sur le thread courant. La partie est
+     * modifiée pendant le calcul puis rendue dans son état initial.
+     *
+     * @param partie     La position de départ.
+     * @param profondeur La profondeur (au moins 0).
+     * @return Le nombre de feuilles.
+     */
+    public static long perft(PartieOthello partie, int profondeur) {
+        return perft(partie, profondeur, new int[Math.max(profondeur, 1)][64]);
+    }
+
+    /**
+     * Compte les feuilles depuis une position en répartissant les coups de la racine
+     * entre plusieurs threads, chacun sur sa propre copie de la partie.
+     *
+     * @param partie     La position de départ (non modifiée).
+     * @param profondeur La profondeur (au moins 0).
+     * @param nbThreads  Le nombre de threads.
+     * @return Le nombre de feuilles.
+     */
+    public static long perftParallele(PartieOthello partie, int profondeur, int nbThreads) {
+        if (profondeur < 2 || partie.getEtat() != EtatPartie.COUPS_POSSIBLES) {
+            return perft(partie.copier(), profondeur);
+        }
+        char couleur = partie.getJoueurCourant().getCouleur();
+        int[] coups = new int[64];
+        int nbCoups = partie.remplirCoupsPossibles(couleur, coups);
+        ExecutorService executeur = Executors.newFixedThreadPool(nbThreads);
+        try {
+            List<Future<Long>> resultats = new ArrayList<>();
+            for (int i = 0; i < nbCoups; i++) {
+                PartieOthello copie = partie.copier();
+                copie.effectuerCoup(coups[i]);
+                resultats.add(executeur.submit(() -> perft(copie, profondeur - 1)));
+            }
+            long feuilles = 0;
+            for (Future<Long> resultat : resultats) {
+                feuilles += resultat.get();
+            }
+            return feuilles;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Calcul interrompu", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec du calcul", e.getCause());
+        } finally {
+            executeur.shutdownNow();
+        }
+    }
+
+    /**
+     * Compte les feuilles récursivement, les coups de chaque niveau étant rangés dans un
+     * tampon réservé à ce niveau.
+     *
+     * @param partie     La position courante.
+     * @param profondeur La profondeur restante.
+     * @param tampons    Un tampon de 64 coups par niveau.
+     * @return Le nombre de feuilles.
+     */
+    private static long perft(PartieOthello partie, int profondeur, int[][] tampons) {
+        if (profondeur == 0) {
+            return 1;
+        }
+        EtatPartie etat = partie.getEtat();
+        if (etat == EtatPartie.TERMINEE) {
+            return 1;
+        }
+        if (etat == EtatPartie.PASSE_OBLIGATOIRE) {
+            partie.effectuerPasse();
+            long feuilles = perft(partie, profondeur - 1, tampons);
+            partie.annulerCoup();
+            return feuilles;
+        }
+        char couleur = partie.getJoueurCourant().getCouleur();
+        if (profondeur == 1) {
+            // Dernier niveau : chaque coup légal est une feuille
+            return Long.bitCount(partie.getMasqueCoupsPossibles(couleur));
+        }
+        int[] coups = tampons[profondeur - 1];
+        int nbCoups = partie.remplirCoupsPossibles(couleur, coups);
+        long feuilles = 0;
+        for (int i = 0; i < nbCoups; i++) {
+            partie.effectuerCoup(coups[i]);
+            feuilles += perft(partie, profondeur - 1, tampons);
+            partie.annulerCoup();
+        }
+        return feuilles;
+    }
+}
@@ -0,0 +1,181 @@
+package outils;
+
+import modele.Joueur;
+import modele.PartieAwale;
+import modele.PartieOthello;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fournit des ensembles de positions d'Othello et d'Awalé reproductibles pour les outils de mesure.
+ */
+public final class Positions {
+
+    private Positions() {
+    }
+
+    /**
+     * Crée une partie d'Othello dans la position de départ, entre deux joueurs humains fictifs.
+     *
+     * @return La nouvelle partie.
+     */
+    public static PartieOthello nouvellePartie() {
+        return new PartieOthello(new Joueur("Noir", 'N'), new Joueur("Blanc", 'B'));
+    }
+
+    /**
+     * Génère des positions en jouant des coups aléatoires depuis la position de départ.
+     * Une même graine produit toujours les mêmes positions. Seules les positions où le
+     * joueur au trait a au moins un coup possible sont retenues.
+     *
+     * @param nbPositions Le nombre de positions à générer.
+     * @param nbCoupsMin  Le nombre minimal de coups joués depuis le départ.
+     * @param nbCoupsMax  Le nombre maximal de coups joués depuis le départ.
+     * @param graine      La graine du générateur aléatoire.
+     * @return Les positions générées.
+     */
+    public static List<PartieOthello> aleatoires(int nbPositions, int nbCoupsMin, int nbCoupsMax, long graine) {
+        Random generateur = new Random(graine);
+        List<PartieOthello> positions = new ArrayList<>();
+        while (positions.size() < nbPositions) {
+            PartieOthello partie = nouvellePartie();
+            int nbCoups = nbCoupsMin + generateur.nextInt(nbCoupsMax - nbCoupsMin + 1);
+            boolean valide = true;
+            for (int i = 0; i < nbCoups && valide; i++) {
+                valide = jouerCoupAleatoire(partie, generateur);
+            }
+            if (valide && partie.coupPossible(partie.getJoueurCourant().getCouleur())) {
+                positions.add(partie);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Génère des positions d'Awalé en jouant de 4 à 19 coups aléatoires depuis la position de
+     * départ. Une même graine produit toujours les mêmes positions.
+     *
+     * @param nbPositions Le nombre de positions à générer.
+     * @param graine      La graine du générateur aléatoire.
+     * @return Les positions générées.
+     */
+    public static List<PartieAwale> aleatoiresAwale(int nbPositions, long graine) {
+        Random generateur = new Random(graine);
+        List<PartieAwale> positions = new ArrayList<>();
+        for (int i = 0; i < nbPositions; i++) {
+            PartieAwale partie = new PartieAwale(new Joueur("Nord", '1'), new Joueur("Sud", '2'));
+            int nbCoups = 4 + generateur.nextInt(16);
+            for (int j = 0; j < nbCoups && jouerCoupAleatoire(partie, generateur); j++) {
+                partie.changerTour();
+            }
+            positions.add(partie);
+        }
+        return positions;
+    }
+
+    /**
+     * Retourne le premier coup d'Awalé valide pour le joueur courant, sans le jouer.
+     *
+     * @param partie La partie.
+     * @return Le coup (1 à 6), ou "P" si aucun trou n'est jouable.
+     */
+    public static String coupJouable(PartieAwale partie) {
+        for (int trou = 1; trou <= 6; trou++) {
+            if (partie.copier().jouerCoup(String.valueOf(trou))) {
+                return String.valueOf(trou);
+            }
+        }
+        return "P";
+    }
+
+    /**
+     * Énumère toutes les ouvertures distinctes d'un nombre de coups donné. Deux suites de
+     * coups menant à la même position ne comptent qu'une fois.
+     *
+     * @param nbCoups Le nombre de coups de chaque ouverture.
+     * @return Les suites de coups (indices de cases), dans un ordre reproductible.
+     */
+    public static List<int[]> ouvertures(int nbCoups) {
+        Map<Long, int[]> ouvertures = new LinkedHashMap<>();
+        enumererOuvertures(nouvellePartie(), new int[nbCoups], 0, ouvertures);
+        return new ArrayList<>(ouvertures.values());
+    }
+
+    /**
+     * Joue une suite de coups depuis la position courante d'une partie.
+     *
+     * @param partie La partie.
+     * @param coups  Les indices des cases jouées.
+     * @throws IllegalArgumentException Si un coup n'est pas légal.
+     */
+    public static void jouerSequence(PartieOthello partie, int[] coups) {
+        for (int coup : coups) {
+            if (!partie.effectuerCoup(coup)) {
+                throw new IllegalArgumentException("Coup illégal dans la séquence : " + coup);
+            }
+        }
+    }
+
+    /**
+     * Parcourt en profondeur les suites de coups et retient la première suite menant à chaque position.
+     *
+     * @param partie      La position courante.
+     * @param sequence    La suite de coups en cours de construction.
+     * @param ply         Le nombre de coups déjà joués.
+     * @param ouvertures  Les ouvertures trouvées, indexées par hachage de la position.
+     */
+    private static void enumererOuvertures(PartieOthello partie, int[] sequence, int ply, Map<Long, int[]> ouvertures) {
+        if (ply == sequence.length) {
+            ouvertures.putIfAbsent(partie.getHash(), sequence.clone());
+            return;
+        }
+        int[] coups = new int[64];
+        int nbCoups = partie.remplirCoupsPossibles(partie.getJoueurCourant().getCouleur(), coups);
+        for (int i = 0; i < nbCoups; i++) {
+            sequence[ply] = coups[i];
+            partie.effectuerCoup(coups[i]);
+            enumererOuvertures(partie, sequence, ply + 1, ouvertures);
+            partie.annulerCoup();
+        }
+    }
+
+    /**
+     * Joue un coup aléatoire pour le joueur courant.
+     *
+     * @param partie     La partie en cours.
+     * @param generateur Le générateur aléatoire.
+     * @return false si le joueur courant ne peut pas jouer.
+     */
+    private static boolean jouerCoupAleatoire(PartieOthello partie, Random generateur) {
+        List<int[]> coups = partie.getCoupsPossibles(partie.getJoueurCourant().getCouleur());
+        if (coups.isEmpty()) {
+            return false;
+        }
+        int[] coup = coups.get(generateur.nextInt(coups.size()));
+        partie.effectuerCoup(coup[0] * 8 + coup[1]);
+        return true;
+    }
+
+    /**
+     * Joue un coup d'Awalé valide choisi au hasard pour le joueur courant, sans changer de tour.
+     * Un coup refusé pouvant avoir modifié le plateau, chaque coup est d'abord essayé sur une copie.
+     *
+     * @param partie     La partie.
+     * @param generateur Le générateur aléatoire.
+     * @return false si aucun coup n'est valide.
+     */
+    private static boolean jouerCoupAleatoire(PartieAwale partie, Random generateur) {
+        int depart = generateur.nextInt(6);
+        for (int i = 0; i < 6; i++) {
+            String coup = String.valueOf(1 + (depart + i) % 6);
+            if (partie.copier().jouerCoup(coup)) {
+                return partie.jouerCoup(coup);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,341 @@
+package outils;
+
+import modele.EtatPartie;
+import modele.IAMCTS;
+import modele.IAMinimax;
+import modele.IANaive;
+import modele.JoueurIA;
+import modele.ModeleIA;
+import modele.PartieOthello;
+import modele.StatistiquesRecherche;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Oppose deux IA d'Othello sur un grand nombre de parties, sans interface, en parallèle
+ * sur tous les cœurs.
+ * <p>
+ * Les parties partent d'ouvertures distinctes tirées de l'ensemble de toutes les ouvertures
+ * d'un même nombre de coups, et chaque ouverture est jouée deux fois en échangeant les
+ * couleurs : ni l'ouverture ni le trait ne favorisent une IA. Le résultat donne les
+ * victoires, nuls et défaites de la première IA, la différence d'Elo estimée avec son
+ * intervalle de confiance à 95 %, le nombre de parties jouées par seconde et les
+ * statistiques de recherche cumulées de chaque IA.
+ * <p>
+ * Chaque thread possède ses propres instances des deux IA, prévenues par
+ * {@link ModeleIA#nouvellePartie()} avant chaque partie.
+ * <p>
+ * Utilisation : {@code java outils.Tournoi iaA iaB [nbParties] [nbThreads]}, une IA étant
+ * décrite par {@code naive}, {@code minimax[:profondeur[:tempsMs[:tableMo]]]} ou
+ * {@code mcts[:simulations[:tempsMs[:threads]]]}.
+ */
+public class Tournoi {
+    private static final long GRAINE = 20241017L;
+
+    private final Supplier<ModeleIA> fabriqueA;
+    private final Supplier<ModeleIA> fabriqueB;
+
+    /**
+     * Construit un tournoi entre deux IA.
+     *
+     * @param fabriqueA Crée une instance de la première IA.
+     * @param fabriqueB Crée une instance de la seconde IA.
+     */
+    public Tournoi(Supplier<ModeleIA> fabriqueA, Supplier<ModeleIA> fabriqueB) {
+        this.fabriqueA = fabriqueA;
+        this.fabriqueB = fabriqueB;
+    }
+
+    /**
+     * Point d'entrée du tournoi.
+     *
+     * @param args Les deux IA, le nombre de parties (1000 par défaut) et le nombre de threads
+     *             (nombre de cœurs par défaut).
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Utilisation : java outils.Tournoi iaA iaB [nbParties] [nbThreads]");
+            System.out.println("  ia : naive | minimax[:profondeur[:tempsMs[:tableMo]]] | mcts[:simulations[:tempsMs[:threads]]]");
+            return;
+        }
+        int nbParties = (args.length > 2) ? Integer.parseInt(args[2]) : 1000;
+        int nbThreads = (args.length > 3) ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        Tournoi tournoi = new Tournoi(fabrique(args[0]), fabrique(args[1]));
+        System.out.println(args[0] + " contre " + args[1] + " : " + nbParties + " parties sur " + nbThreads + " thread(s)");
+
+        long debut = System.nanoTime();
+        Resultat resultat = tournoi.jouer(nbParties, nbThreads);
+        double secondes = (System.nanoTime() - debut) / 1e9;
+        System.out.println(resultat);
+        if (resultat.getStatistiquesA() != null) {
+            System.out.println(args[0] + " : " + resultat.getStatistiquesA());
+        }
+        if (resultat.getStatistiquesB() != null) {
+            System.out.println(args[1] + " : " + resultat.getStatistiquesB());
+        }
+        System.out.printf("%d parties en %.1f s, %.2f parties/s%n", resultat.getNbParties(), secondes,
+                resultat.getNbParties() / secondes);
+    }
+
+    /**
+     * Crée la fabrique d'une IA à partir de sa description.
+     *
+     * @param description {@code naive}, {@code minimax[:profondeur[:tempsMs[:tableMo]]]} ou
+     *                    {@code mcts[:simulations[:tempsMs[:threads]]]}.
+     * @return La fabrique.
+     * @throws IllegalArgumentException Si la description n'est pas reconnue.
+     */
+    static Supplier<ModeleIA> fabrique(String description) {
+        String[] parties = description.split(":");
+        switch (parties[0]) {
+            case "naive":
+                return IANaive::new;
+            case "minimax":
+                int profondeur = (parties.length > 1) ? Integer.parseInt(parties[1]) : IAMinimax.PROFONDEUR_PAR_DEFAUT;
+                long tempsMs = (parties.length > 2) ? Long.parseLong(parties[2]) : 0L;
+                int tableMo = (parties.length > 3) ? Integer.parseInt(parties[3]) : IAMinimax.TAILLE_TABLE_PAR_DEFAUT_MO;
+                return () -> new IAMinimax(profondeur, tempsMs, tableMo);
+            case "mcts":
+                int simulations = (parties.length > 1) ? Integer.parseInt(parties[1]) : IAMCTS.SIMULATIONS_PAR_DEFAUT;
+                long tempsMctsMs = (parties.length > 2) ? Long.parseLong(parties[2]) : 0L;
+                int nbThreads = (parties.length > 3) ? Integer.parseInt(parties[3]) : 1;
+                return () -> new IAMCTS(simulations, tempsMctsMs, nbThreads);
+            default:
+                throw new IllegalArgumentException("IA inconnue : " + description);
+        }
+    }
+
+    /**
+     * Joue les parties du tournoi.
+     *
+     * @param nbParties Le nombre de parties (arrondi au nombre pair supérieur).
+     * @param nbThreads Le nombre de parties jouées simultanément.
+     * @return Le résultat du point de vue de la première IA.
+     */
+    public Resultat jouer(int nbParties, int nbThreads) {
+        List<int[]> ouvertures = choisirOuvertures((nbParties + 1) / 2);
+        List<ModeleIA[]> instances = Collections.synchronizedList(new ArrayList<>());
+        ThreadLocal<ModeleIA[]> ia = ThreadLocal.withInitial(() -> {
+            ModeleIA[] paire = {fabriqueA.get(), fabriqueB.get()};
+            instances.add(paire);
+            return paire;
+        });
+        ExecutorService executeur = Executors.newFixedThreadPool(nbThreads);
+        try {
+            List<Future<Integer>> parties = new ArrayList<>();
+            for (int[] ouverture : ouvertures) {
+                for (boolean aJoueNoir : new boolean[]{true, false}) {
+                    parties.add(executeur.submit(() -> {
+                        ModeleIA a = ia.get()[0];
+                        ModeleIA b = ia.get()[1];
+                        int difference = aJoueNoir ? jouerPartie(ouverture, a, b) : -jouerPartie(ouverture, b, a);
+                        return Integer.signum(difference);
+                    }));
+                }
+            }
+            Resultat resultat = new Resultat();
+            int pas = Math.max(1, parties.size() / 10);
+            for (Future<Integer> partie : parties) {
+                resultat.ajouter(partie.get());
+                if (resultat.getNbParties() % pas == 0 && resultat.getNbParties() < parties.size()) {
+                    System.out.println("  " + resultat.getNbParties() + "/" + parties.size() + " : " + resultat);
+                }
+            }
+            // Toutes les parties sont terminées : les statistiques des IA ne changent plus
+            for (ModeleIA[] paire : instances) {
+                resultat.ajouterStatistiques(paire[0].getStatistiquesCumulees(), paire[1].getStatistiquesCumulees());
+            }
+            return resultat;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tournoi interrompu", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec d'une partie", e.getCause());
+        } finally {
+            executeur.shutdownNow();
+        }
+    }
+
+    /**
+     * Choisit des ouvertures distinctes parmi toutes celles du plus petit nombre de coups
+     * qui en compte assez, dans un ordre aléatoire reproductible.
+     *
+     * @param nbOuvertures Le nombre d'ouvertures voulu.
+     * @return Les ouvertures (une ouverture peut revenir si le nombre demandé est très grand).
+     */
+    private static List<int[]> choisirOuvertures(int nbOuvertures) {
+        List<int[]> toutes = new ArrayList<>();
+        for (int nbCoups = 2; nbCoups <= 8 && toutes.size() < nbOuvertures; nbCoups++) {
+            toutes = Positions.ouvertures(nbCoups);
+        }
+        Collections.shuffle(toutes, new Random(GRAINE));
+        List<int[]> choisies = new ArrayList<>();
+        for (int i = 0; i < nbOuvertures; i++) {
+            choisies.add(toutes.get(i % toutes.size()));
+        }
+        return choisies;
+    }
+
+    /**
+     * Joue une partie complète depuis une ouverture.
+     *
+     * @param ouverture Les coups de l'ouverture.
+     * @param noir      L'IA qui joue les noirs.
+     * @param blanc     L'IA qui joue les blancs.
+     * @return Le nombre de pions noirs moins le nombre de pions blancs en fin de partie.
+     */
+    static int jouerPartie(int[] ouverture, ModeleIA noir, ModeleIA blanc) {
+        noir.nouvellePartie();
+        blanc.nouvellePartie();
+        PartieOthello partie = new PartieOthello(new JoueurIA("Noir", 'N', noir), new JoueurIA("Blanc", 'B', blanc));
+        Positions.jouerSequence(partie, ouverture);
+        EtatPartie etat;
+        while ((etat = partie.getEtat()) != EtatPartie.TERMINEE) {
+            if (etat == EtatPartie.PASSE_OBLIGATOIRE) {
+                partie.effectuerPasse();
+                continue;
+            }
+            JoueurIA joueur = (JoueurIA) partie.getJoueurCourant();
+            int[] coup = joueur.choisirCoup(partie);
+            if (coup == null || !partie.effectuerCoup(coup[0] * 8 + coup[1])) {
+                throw new IllegalStateException("Coup illégal de l'IA " + joueur.getNom());
+            }
+        }
+        return partie.getDifferencePions('N');
+    }
+
+    /**
+     * Bilan des parties du point de vue de la première IA.
+     */
+    public static class Resultat {
+        private int victoires;
+        private int nuls;
+        private int defaites;
+        private StatistiquesRecherche statistiquesA;
+        private StatistiquesRecherche statistiquesB;
+
+        /**
+         * Ajoute le résultat d'une partie.
+         *
+         * @param signe 1 pour une victoire, 0 pour un nul, -1 pour une défaite.
+         */
+        void ajouter(int signe) {
+            if (signe > 0) {
+                victoires++;
+            } else if (signe < 0) {
+                defaites++;
+            } else {
+                nuls++;
+            }
+        }
+
+        /**
+         * Ajoute les statistiques de recherche cumulées d'une paire d'instances des deux IA.
+         *
+         * @param a Les statistiques de l'instance de la première IA, ou null.
+         * @param b Les statistiques de l'instance de la seconde IA, ou null.
+         */
+        void ajouterStatistiques(StatistiquesRecherche a, StatistiquesRecherche b) {
+            if (a != null) {
+                if (statistiquesA == null) {
+                    statistiquesA = new StatistiquesRecherche();
+                }
+                statistiquesA.ajouter(a);
+            }
+            if (b != null) {
+                if (statistiquesB == null) {
+                    statistiquesB = new StatistiquesRecherche();
+                }
+                statistiquesB.ajouter(b);
+            }
+        }
+
+        /**
+         * Retourne les statistiques de recherche de la première IA sur tout le tournoi.
+         *
+         * @return Les statistiques, ou null si l'IA ne les mesure pas.
+         */
+        public StatistiquesRecherche getStatistiquesA() {
+            return statistiquesA;
+        }
+
+        /**
+         * Retourne les statistiques de recherche de la seconde IA sur tout le tournoi.
+         *
+         * @return Les statistiques, ou null si l'IA ne les mesure pas.
+         */
+        public StatistiquesRecherche getStatistiquesB() {
+            return statistiquesB;
+        }
+
+        /**
+         * Retourne le nombre de parties jouées.
+         *
+         * @return Le nombre de parties.
+         */
+        public int getNbParties() {
+            return victoires + nuls + defaites;
+        }
+
+        /**
+         * Retourne le score moyen par partie (1 par victoire, 0,5 par nul).
+         *
+         * @return Le score, entre 0 et 1.
+         */
+        public double getScore() {
+            return (victoires + 0.5 * nuls) / getNbParties();
+        }
+
+        /**
+         * Retourne la différence d'Elo estimée à partir du score.
+         *
+         * @return La différence d'Elo, infinie si toutes les parties ont été gagnées ou perdues.
+         */
+        public double getDifferenceElo() {
+            return elo(getScore());
+        }
+
+        /**
+         * Retourne la demi-largeur de l'intervalle de confiance à 95 % de la différence d'Elo,
+         * calculée à partir de l'écart type du score par partie.
+         *
+         * @return La marge d'erreur en points d'Elo, infinie si toutes les parties ont été
+         * gagnées ou perdues.
+         */
+        public double getMargeElo() {
+            int n = getNbParties();
+            double score = getScore();
+            if (score <= 0 || score >= 1) {
+                return Double.POSITIVE_INFINITY;
+            }
+            double variance = (victoires * (1 - score) * (1 - score) + nuls * (0.5 - score) * (0.5 - score)
+                    + defaites * score * score) / n;
+            double erreur = 1.96 * Math.sqrt(variance / n);
+            return (elo(Math.min(score + erreur, 1)) - elo(Math.max(score - erreur, 0))) / 2;
+        }
+
+        /**
+         * Convertit un score moyen en différence d'Elo.
+         *
+         * @param score Le score, entre 0 et 1.
+         * @return La différence d'Elo.
+         */
+        private static double elo(double score) {
+            return -400 * Math.log10(1 / score - 1);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("+%d =%d -%d, score %.1f %%, Elo %+.0f ± %.0f", victoires, nuls, defaites,
+                    100 * getScore(), getDifferenceElo(), getMargeElo());
+        }
+    }
+}
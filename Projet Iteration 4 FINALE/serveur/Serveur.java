@@ -0,0 +1,263 @@
+package serveur;
+
+import modele.IAMinimax;
+import modele.JetonAnnulation;
+import modele.PartieOthello;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Serveur TCP local hébergeant de nombreuses parties simultanées d'Othello et d'Awalé.
+ * <p>
+ * Chaque connexion est une session qui dialogue selon un protocole ligne à ligne inspiré
+ * de GTP (voir {@link Session}). Les sessions s'exécutent chacune sur son propre thread :
+ * un thread virtuel si la machine virtuelle en propose, sinon un thread d'un pool qui
+ * grandit à la demande. Les coups de l'IA sont calculés par un pool borné de threads
+ * « moteurs » : chaque moteur possède une seule IA, partagée par toutes les sessions qu'il
+ * sert, à laquelle la profondeur et le budget de temps sont passés à chaque coup. La mémoire
+ * des IA (tables de transposition du moteur et du solveur de fin de partie) est donc
+ * proportionnelle au nombre de moteurs, quels que soient le nombre de sessions et les
+ * niveaux qu'elles choisissent.
+ * <p>
+ * Un coup de l'IA ne dure jamais plus de {@link #TEMPS_MAXIMAL_MS} millisecondes, et il
+ * est abandonné si la session est interrompue ou si son client se déconnecte : aucune
+ * session ne peut accaparer un moteur.
+ * <p>
+ * Le serveur compte les sessions servies, le nombre de sessions simultanées (actuel et
+ * maximal) et la latence des coups de l'IA, file d'attente des moteurs comprise.
+ * <p>
+ * Utilisation : {@code java serveur.Serveur [port] [nbMoteurs]}, le port 0 laissant le
+ * système en choisir un libre.
+ */
+public class Serveur {
+    /** Port d'écoute par défaut. */
+    public static final int PORT_PAR_DEFAUT = 7878;
+    /** Budget maximal d'un coup de l'IA, en millisecondes, appliqué aussi quand la session n'en fixe pas. */
+    public static final long TEMPS_MAXIMAL_MS = 10_000;
+    private static final long CONTROLE_CONNEXION_MS = 100; // Fréquence du contrôle de la connexion pendant un calcul
+
+    private final ServerSocket socketServeur;
+    private final ExecutorService sessions;
+    private final boolean threadsVirtuels;
+    private final ExecutorService moteurs;
+    private final Set<Socket> connexions = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<IAMinimax> iaParMoteur =
+            ThreadLocal.withInitial(() -> new IAMinimax(Session.PROFONDEUR_MAXIMALE));
+
+    private final LongAdder sessionsServies = new LongAdder();
+    private final AtomicInteger sessionsActives = new AtomicInteger();
+    private final AtomicInteger picSessions = new AtomicInteger();
+    private final LongAdder coupsCalcules = new LongAdder();
+    private final LongAdder latenceTotaleNanos = new LongAdder();
+    private final AtomicLong latenceMaxNanos = new AtomicLong();
+
+    /**
+     * Construit un serveur qui écoute sur l'adresse locale.
+     *
+     * @param port      Le port d'écoute, 0 pour un port libre quelconque.
+     * @param nbMoteurs Le nombre de coups de l'IA calculés simultanément.
+     * @throws IOException Si le port ne peut pas être ouvert.
+     */
+    public Serveur(int port, int nbMoteurs) throws IOException {
+        if (nbMoteurs < 1) {
+            throw new IllegalArgumentException("Nombre de moteurs invalide : " + nbMoteurs);
+        }
+        this.socketServeur = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        ExecutorService virtuels = creerExecuteurVirtuel();
+        this.threadsVirtuels = virtuels != null;
+        this.sessions = threadsVirtuels ? virtuels : Executors.newCachedThreadPool(fabriqueThreads("session"));
+        this.moteurs = Executors.newFixedThreadPool(nbMoteurs, fabriqueThreads("moteur"));
+    }
+
+    /**
+     * Point d'entrée du serveur.
+     *
+     * @param args Le port ({@link #PORT_PAR_DEFAUT} par défaut) et le nombre de moteurs
+     *             (nombre de cœurs par défaut).
+     * @throws IOException Si le port ne peut pas être ouvert.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = (args.length > 0) ? Integer.parseInt(args[0]) : PORT_PAR_DEFAUT;
+        int nbMoteurs = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Serveur serveur = new Serveur(port, nbMoteurs);
+        System.out.println("Serveur à l'écoute sur le port " + serveur.getPort() + ", " + nbMoteurs
+                + " moteur(s), sessions sur " + (serveur.threadsVirtuels ? "threads virtuels" : "threads système"));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println(serveur.getRapport())));
+        serveur.servir();
+    }
+
+    /**
+     * Retourne le port d'écoute.
+     *
+     * @return Le port.
+     */
+    public int getPort() {
+        return socketServeur.getLocalPort();
+    }
+
+    /**
+     * Accepte les connexions jusqu'à l'arrêt du serveur, chacune ouvrant une session.
+     */
+    public void servir() {
+        while (!socketServeur.isClosed()) {
+            Socket socket;
+            try {
+                socket = socketServeur.accept();
+            } catch (IOException e) {
+                break; // Socket fermée par arreter()
+            }
+            connexions.add(socket);
+            sessionsServies.increment();
+            picSessions.accumulateAndGet(sessionsActives.incrementAndGet(), Math::max);
+            sessions.execute(() -> {
+                try {
+                    new Session(this, socket).executer();
+                } finally {
+                    connexions.remove(socket);
+                    sessionsActives.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Arrête d'accepter des connexions, ferme celles qui sont ouvertes et interrompt les
+     * sessions et les moteurs.
+     */
+    public void arreter() {
+        try {
+            socketServeur.close();
+        } catch (IOException e) {
+            // Déjà fermée
+        }
+        for (Socket socket : connexions) {
+            try {
+                socket.close(); // Débloque la session qui attend une commande
+            } catch (IOException e) {
+                // Déjà fermée
+            }
+        }
+        sessions.shutdownNow();
+        moteurs.shutdownNow();
+    }
+
+    /**
+     * Calcule un coup de l'IA sur un moteur et attend le résultat. Le calcul est abandonné
+     * si le thread de la session est interrompu ou si la connexion est perdue.
+     *
+     * @param partie          La position (elle n'est pas modifiée).
+     * @param couleur         La couleur de l'IA.
+     * @param profondeur      La profondeur de recherche.
+     * @param tempsMs         Le budget de temps en millisecondes, 0 pour {@link #TEMPS_MAXIMAL_MS}.
+     * @param connexionPerdue Indique, pendant l'attente, si le client s'est déconnecté.
+     * @return Le coup choisi, ou null si aucun coup n'est possible.
+     * @throws InterruptedException Si la session est interrompue pendant l'attente.
+     * @throws IOException          Si la connexion est perdue pendant le calcul.
+     */
+    int[] calculerCoup(PartieOthello partie, char couleur, int profondeur, long tempsMs,
+                       BooleanSupplier connexionPerdue) throws InterruptedException, IOException {
+        PartieOthello copie = partie.copier();
+        long budgetMs = (tempsMs > 0) ? Math.min(tempsMs, TEMPS_MAXIMAL_MS) : TEMPS_MAXIMAL_MS;
+        JetonAnnulation jeton = new JetonAnnulation();
+        long debut = System.nanoTime();
+        Future<int[]> calcul = moteurs.submit(() -> jouerSurMoteur(copie, couleur, profondeur, budgetMs, jeton));
+        try {
+            while (true) {
+                try {
+                    return calcul.get(CONTROLE_CONNEXION_MS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    if (connexionPerdue.getAsBoolean()) {
+                        throw new IOException("Connexion perdue pendant le calcul d'un coup");
+                    }
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec du calcul d'un coup", e.getCause());
+        } finally {
+            // Sans effet si le coup est calculé ; sinon libère le moteur au plus vite
+            jeton.annuler();
+            calcul.cancel(true);
+            long latence = System.nanoTime() - debut;
+            coupsCalcules.increment();
+            latenceTotaleNanos.add(latence);
+            latenceMaxNanos.accumulateAndGet(latence, Math::max);
+        }
+    }
+
+    /**
+     * Joue un coup avec l'IA du moteur courant, sur le thread du moteur lui-même, dans une
+     * profondeur et un budget de temps donnés.
+     *
+     * @param partie     La position, copie propre au calcul.
+     * @param couleur    La couleur de l'IA.
+     * @param profondeur La profondeur de recherche.
+     * @param budgetMs   Le budget de temps en millisecondes.
+     * @param jeton      Le jeton qui interrompt la recherche.
+     * @return Le coup choisi, ou null si aucun coup n'est possible.
+     */
+    private int[] jouerSurMoteur(PartieOthello partie, char couleur, int profondeur, long budgetMs,
+                                 JetonAnnulation jeton) {
+        return iaParMoteur.get().jouerCoup(partie, couleur, profondeur, budgetMs, jeton);
+    }
+
+    /**
+     * Retourne un rapport sur l'activité du serveur depuis son démarrage.
+     *
+     * @return Le rapport, sur une ligne.
+     */
+    public String getRapport() {
+        long nbCoups = coupsCalcules.sum();
+        double latenceMoyenneMs = (nbCoups > 0) ? latenceTotaleNanos.sum() / 1e6 / nbCoups : 0;
+        Runtime jvm = Runtime.getRuntime();
+        return String.format("sessions servies %d, actives %d, pic %d ; coups IA %d, latence moyenne %.1f ms,"
+                        + " maximale %.1f ms ; mémoire %d Mo / %d Mo",
+                sessionsServies.sum(), sessionsActives.get(), picSessions.get(), nbCoups, latenceMoyenneMs,
+                latenceMaxNanos.get() / 1e6, (jvm.totalMemory() - jvm.freeMemory()) >> 20, jvm.maxMemory() >> 20);
+    }
+
+    /**
+     * Crée l'exécuteur à threads virtuels de la machine virtuelle, s'il existe. Il est
+     * cherché par réflexion pour que le serveur fonctionne aussi sur les versions qui ne
+     * le proposent pas.
+     *
+     * @return L'exécuteur, ou null si les threads virtuels ne sont pas disponibles.
+     */
+    private static ExecutorService creerExecuteurVirtuel() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Crée une fabrique de threads démons numérotés.
+     *
+     * @param prefixe Le début du nom des threads.
+     * @return La fabrique.
+     */
+    private static ThreadFactory fabriqueThreads(String prefixe) {
+        AtomicInteger numero = new AtomicInteger();
+        return tache -> {
+            Thread thread = new Thread(tache, prefixe + "-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,466 @@
+package serveur;
+
+import modele.Coup;
+import modele.EtatPartie;
+import modele.IAMinimax;
+import modele.Joueur;
+import modele.PartieAwale;
+import modele.PartieOthello;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Une connexion au serveur, qui joue une partie à la fois.
+ * <p>
+ * Le protocole reprend la forme de GTP : chaque ligne reçue est une commande, précédée
+ * d'un numéro facultatif ; chaque réponse commence par {@code =} (succès) ou {@code ?}
+ * (erreur), suivi du numéro s'il y en avait un, et se termine par une ligne vide.
+ * <p>
+ * Commandes :
+ * <ul>
+ *     <li>{@code protocol_version}, {@code name}, {@code version}, {@code known_command nom},
+ *     {@code list_commands}, {@code quit} : comme en GTP ;</li>
+ *     <li>{@code jeu othello|awale} : choisit le jeu et commence une partie (Othello par défaut) ;</li>
+ *     <li>{@code clear_board} : recommence une partie du jeu courant ;</li>
+ *     <li>{@code play couleur coup} : joue un coup du joueur au trait. À Othello, la couleur
+ *     est {@code b} (noirs) ou {@code w} (blancs) et le coup une case comme {@code d3} ou
+ *     {@code pass} ; à l'Awalé, la couleur est {@code 1} ou {@code 2} et le coup un trou
+ *     de 1 à 6 ou {@code pass} ;</li>
+ *     <li>{@code genmove couleur} : fait jouer l'IA (Othello seulement) et renvoie son coup ;</li>
+ *     <li>{@code niveau profondeur [tempsMs]} : règle l'IA de la session (profondeur de 1 à
+ *     20, budget par coup d'au plus {@link Serveur#TEMPS_MAXIMAL_MS} millisecondes, ce
+ *     maximum s'appliquant aussi sans budget ou avec un budget nul) ;</li>
+ *     <li>{@code showboard}, {@code final_score} : affichent le plateau et le score
+ *     ({@code B+4}, {@code W+2}, {@code 0}) ;</li>
+ *     <li>{@code statistiques} : renvoie le rapport d'activité du serveur.</li>
+ * </ul>
+ */
+class Session {
+    private static final List<String> COMMANDES = Arrays.asList(
+            "protocol_version", "name", "version", "known_command", "list_commands", "quit",
+            "jeu", "clear_board", "play", "genmove", "niveau", "showboard", "final_score", "statistiques");
+    static final int PROFONDEUR_MAXIMALE = 20; // Profondeur maximale de l'IA des moteurs
+
+    private final Serveur serveur;
+    private final Socket socket;
+    private boolean othello = true;
+    private PartieOthello partieOthello;
+    private PartieAwale partieAwale;
+    private int profondeur = IAMinimax.PROFONDEUR_PAR_DEFAUT;
+    private long tempsMs;
+    private BufferedReader entree; // Ouverte par executer()
+
+    /**
+     * Construit une session sur une connexion acceptée.
+     *
+     * @param serveur Le serveur, qui calcule les coups de l'IA.
+     * @param socket  La connexion.
+     */
+    Session(Serveur serveur, Socket socket) {
+        this.serveur = serveur;
+        this.socket = socket;
+        nouvellePartie();
+    }
+
+    /**
+     * Lit et exécute les commandes jusqu'à {@code quit} ou la fermeture de la connexion.
+     */
+    void executer() {
+        try (Socket connexion = socket;
+             BufferedReader lecteur = new BufferedReader(new InputStreamReader(connexion.getInputStream(), StandardCharsets.UTF_8));
+             Writer sortie = new OutputStreamWriter(connexion.getOutputStream(), StandardCharsets.UTF_8);
+             PrintWriter reponses = new PrintWriter(sortie)) {
+            entree = lecteur;
+            String ligne;
+            while ((ligne = entree.readLine()) != null) {
+                String[] mots = ligne.trim().split("\\s+");
+                if (mots[0].isEmpty() || mots[0].startsWith("#")) {
+                    continue;
+                }
+                String numero = "";
+                int debut = 0;
+                if (mots[0].chars().allMatch(Character::isDigit)) {
+                    numero = mots[0];
+                    debut = 1;
+                }
+                if (debut >= mots.length) {
+                    repondre(reponses, false, numero, "commande absente");
+                    continue;
+                }
+                String commande = mots[debut].toLowerCase(Locale.ROOT);
+                String[] arguments = Arrays.copyOfRange(mots, debut + 1, mots.length);
+                try {
+                    repondre(reponses, true, numero, executer(commande, arguments));
+                } catch (IllegalArgumentException e) {
+                    repondre(reponses, false, numero, e.getMessage());
+                }
+                if (commande.equals("quit")) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // Connexion perdue, éventuellement pendant le calcul d'un coup : la session se termine
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Serveur arrêté pendant le calcul d'un coup
+        }
+    }
+
+    /**
+     * Envoie une réponse au client.
+     *
+     * @param reponses La sortie de la connexion.
+     * @param succes   true pour une réponse {@code =}, false pour une erreur {@code ?}.
+     * @param numero   Le numéro de la commande, vide s'il n'y en avait pas.
+     * @param texte    Le contenu de la réponse.
+     */
+    private static void repondre(PrintWriter reponses, boolean succes, String numero, String texte) {
+        reponses.print((succes ? "=" : "?") + numero + (texte.isEmpty() || texte.startsWith("\n") ? "" : " ") + texte + "\n\n");
+        reponses.flush();
+    }
+
+    /**
+     * Exécute une commande.
+     *
+     * @param commande  Le nom de la commande, en minuscules.
+     * @param arguments Ses arguments.
+     * @return Le contenu de la réponse.
+     * @throws IllegalArgumentException Si la commande est inconnue ou ne peut pas être exécutée.
+     * @throws InterruptedException     Si la session est interrompue pendant le calcul d'un coup.
+     * @throws IOException              Si la connexion est perdue pendant le calcul d'un coup.
+     */
+    private String executer(String commande, String[] arguments) throws InterruptedException, IOException {
+        switch (commande) {
+            case "protocol_version":
+                return "2";
+            case "name":
+                return "Othello";
+            case "version":
+                return "1.0";
+            case "known_command":
+                return String.valueOf(arguments.length > 0 && COMMANDES.contains(arguments[0]));
+            case "list_commands":
+                return String.join("\n", COMMANDES);
+            case "quit":
+                return "";
+            case "jeu":
+                verifierNombreArguments(arguments, 1);
+                if (!arguments[0].equalsIgnoreCase("othello") && !arguments[0].equalsIgnoreCase("awale")) {
+                    throw new IllegalArgumentException("jeu inconnu");
+                }
+                othello = arguments[0].equalsIgnoreCase("othello");
+                nouvellePartie();
+                return "";
+            case "clear_board":
+                nouvellePartie();
+                return "";
+            case "play":
+                verifierNombreArguments(arguments, 2);
+                if (othello) {
+                    jouerOthello(arguments[0], arguments[1]);
+                } else {
+                    jouerAwale(arguments[0], arguments[1]);
+                }
+                return "";
+            case "genmove":
+                verifierNombreArguments(arguments, 1);
+                return genererCoup(arguments[0]);
+            case "niveau":
+                return regler(arguments);
+            case "showboard":
+                return "\n" + (othello ? plateauOthello() : plateauAwale());
+            case "final_score":
+                return score();
+            case "statistiques":
+                return serveur.getRapport();
+            default:
+                throw new IllegalArgumentException("unknown command");
+        }
+    }
+
+    /**
+     * Commence une nouvelle partie du jeu courant.
+     */
+    private void nouvellePartie() {
+        if (othello) {
+            partieOthello = new PartieOthello(new Joueur("Noirs", 'N'), new Joueur("Blancs", 'B'));
+        } else {
+            partieAwale = new PartieAwale(new Joueur("Joueur 1", '1'), new Joueur("Joueur 2", '2'));
+        }
+    }
+
+    /**
+     * Joue un coup d'Othello. Une fois la partie finie, seul le passe est accepté, pour
+     * les deux couleurs.
+     *
+     * @param couleur La couleur du joueur.
+     * @param coup    La case ({@code d3}) ou {@code pass}.
+     * @throws IllegalArgumentException Si ce n'est pas au tour de cette couleur ou si le coup est illégal.
+     */
+    private void jouerOthello(String couleur, String coup) {
+        char couleurJoueur = couleurOthello(couleur);
+        EtatPartie etat = partieOthello.getEtat();
+        if (etat == EtatPartie.TERMINEE && coup.equalsIgnoreCase("pass")) {
+            return; // Les deux joueurs passent une fois la partie finie
+        }
+        verifierTrait(couleurJoueur == partieOthello.getJoueurCourant().getCouleur());
+        if (coup.equalsIgnoreCase("pass")) {
+            if (etat != EtatPartie.PASSE_OBLIGATOIRE) {
+                throw new IllegalArgumentException("illegal move");
+            }
+            partieOthello.effectuerPasse();
+        } else if (!partieOthello.effectuerCoup(lireCase(coup))) {
+            throw new IllegalArgumentException("illegal move");
+        }
+    }
+
+    /**
+     * Joue un coup d'Awalé, en suivant les règles de la partie en console (y compris pour
+     * le passe). Un coup refusé pouvant avoir modifié le plateau, il est d'abord essayé sur
+     * une copie.
+     *
+     * @param couleur Le numéro du joueur (1 ou 2).
+     * @param coup    Le trou (1 à 6) ou {@code pass}.
+     * @throws IllegalArgumentException Si ce n'est pas au tour de ce joueur ou si le coup est illégal.
+     */
+    private void jouerAwale(String couleur, String coup) {
+        if (!couleur.equals("1") && !couleur.equals("2")) {
+            throw new IllegalArgumentException("invalid color");
+        }
+        verifierTrait(couleur.charAt(0) == partieAwale.getJoueurCourant().getCouleur());
+        if (partieAwale.estTerminee()) {
+            throw new IllegalArgumentException("partie terminée");
+        }
+        if (coup.equalsIgnoreCase("pass")) {
+            partieAwale.passerTour();
+        } else if (coup.equalsIgnoreCase("P") || !partieAwale.copier().jouerCoup(coup)) {
+            throw new IllegalArgumentException("illegal move");
+        } else {
+            partieAwale.jouerCoup(coup);
+        }
+        partieAwale.changerTour();
+    }
+
+    /**
+     * Fait jouer l'IA de la session au joueur au trait. Une fois la partie finie, l'IA
+     * passe quelle que soit la couleur demandée.
+     *
+     * @param couleur La couleur du joueur au trait.
+     * @return Le coup joué ({@code d3}), ou {@code pass}.
+     * @throws IllegalArgumentException Si le jeu n'est pas Othello ou si ce n'est pas au tour de cette couleur.
+     * @throws InterruptedException     Si la session est interrompue pendant le calcul.
+     * @throws IOException              Si la connexion est perdue pendant le calcul.
+     */
+    private String genererCoup(String couleur) throws InterruptedException, IOException {
+        if (!othello) {
+            throw new IllegalArgumentException("pas d'IA pour l'Awalé");
+        }
+        char couleurIA = couleurOthello(couleur);
+        EtatPartie etat = partieOthello.getEtat();
+        if (etat == EtatPartie.TERMINEE) {
+            return "pass";
+        }
+        verifierTrait(couleurIA == partieOthello.getJoueurCourant().getCouleur());
+        if (etat == EtatPartie.PASSE_OBLIGATOIRE) {
+            partieOthello.effectuerPasse();
+            return "pass";
+        }
+        int[] coup = serveur.calculerCoup(partieOthello, couleurIA, profondeur, tempsMs, this::connexionPerdue);
+        int indiceCase = coup[0] * 8 + coup[1];
+        partieOthello.effectuerCoup(indiceCase);
+        return ecrireCase(indiceCase);
+    }
+
+    /**
+     * Vérifie, pendant le calcul d'un coup, que le client est toujours connecté. Le client
+     * ne lit rien à ce moment-là : un caractère déjà reçu (commande suivante envoyée
+     * d'avance) est remis dans le tampon de lecture, et seule la fin du flux signale une
+     * déconnexion.
+     *
+     * @return true si la connexion est fermée ou en erreur.
+     */
+    private boolean connexionPerdue() {
+        try {
+            socket.setSoTimeout(1);
+            entree.mark(1);
+            if (entree.read() < 0) {
+                return true;
+            }
+            entree.reset();
+            return false;
+        } catch (SocketTimeoutException e) {
+            return false; // Rien à lire : le client attend la réponse
+        } catch (IOException e) {
+            return true;
+        } finally {
+            try {
+                socket.setSoTimeout(0);
+            } catch (IOException e) {
+                // Socket fermée : la lecture suivante échouera
+            }
+        }
+    }
+
+    /**
+     * Règle le niveau de l'IA de la session.
+     *
+     * @param arguments La profondeur, puis éventuellement le budget de temps en millisecondes.
+     * @return Le niveau retenu.
+     * @throws IllegalArgumentException Si les valeurs sont invalides.
+     */
+    private String regler(String[] arguments) {
+        if (arguments.length < 1 || arguments.length > 2) {
+            throw new IllegalArgumentException("syntax error");
+        }
+        try {
+            int nouvelleProfondeur = Integer.parseInt(arguments[0]);
+            long nouveauTemps = (arguments.length > 1) ? Long.parseLong(arguments[1]) : 0L;
+            if (nouvelleProfondeur < 1 || nouvelleProfondeur > PROFONDEUR_MAXIMALE
+                    || nouveauTemps < 0 || nouveauTemps > Serveur.TEMPS_MAXIMAL_MS) {
+                throw new IllegalArgumentException("niveau invalide");
+            }
+            profondeur = nouvelleProfondeur;
+            tempsMs = nouveauTemps;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("syntax error");
+        }
+        return profondeur + " " + tempsMs;
+    }
+
+    /**
+     * Calcule le score de la partie courante, du point de vue du premier joueur.
+     *
+     * @return {@code B+n} ou {@code 1+n} si le premier joueur mène, {@code W+n} ou
+     * {@code 2+n} si c'est le second, {@code 0} en cas d'égalité.
+     */
+    private String score() {
+        int difference;
+        if (othello) {
+            difference = partieOthello.getDifferencePions('N');
+        } else {
+            difference = partieAwale.getGrenier(partieAwale.getJoueur1()) - partieAwale.getGrenier(partieAwale.getJoueur2());
+        }
+        if (difference == 0) {
+            return "0";
+        }
+        String premier = othello ? "B" : "1";
+        String second = othello ? "W" : "2";
+        return (difference > 0 ? premier : second) + "+" + Math.abs(difference);
+    }
+
+    /**
+     * Dessine le plateau d'Othello.
+     *
+     * @return Le plateau, une ligne par rangée.
+     */
+    private String plateauOthello() {
+        char[][] plateau = partieOthello.getPlateau();
+        StringBuilder texte = new StringBuilder("  A B C D E F G H\n");
+        for (int ligne = 0; ligne < 8; ligne++) {
+            texte.append(ligne + 1);
+            for (int colonne = 0; colonne < 8; colonne++) {
+                char pion = plateau[ligne][colonne];
+                texte.append(' ').append(pion == 'N' ? 'X' : pion == 'B' ? 'O' : '.');
+            }
+            texte.append('\n');
+        }
+        return texte.append("Au trait : ").append(partieOthello.getJoueurCourant().getNom()).toString();
+    }
+
+    /**
+     * Dessine le plateau d'Awalé.
+     *
+     * @return Les deux rangées et les greniers.
+     */
+    private String plateauAwale() {
+        int[][] plateau = partieAwale.getPlateau();
+        return "2 : " + Arrays.toString(plateau[0]) + " grenier " + partieAwale.getGrenier(partieAwale.getJoueur2()) + "\n"
+                + "1 : " + Arrays.toString(plateau[1]) + " grenier " + partieAwale.getGrenier(partieAwale.getJoueur1()) + "\n"
+                + "Au trait : " + partieAwale.getJoueurCourant().getNom();
+    }
+
+    /**
+     * Convertit une couleur du protocole en couleur d'Othello.
+     *
+     * @param couleur {@code b}, {@code black}, {@code w} ou {@code white}.
+     * @return 'N' ou 'B'.
+     * @throws IllegalArgumentException Si la couleur n'est pas reconnue.
+     */
+    private static char couleurOthello(String couleur) {
+        switch (couleur.toLowerCase(Locale.ROOT)) {
+            case "b":
+            case "black":
+                return 'N';
+            case "w":
+            case "white":
+                return 'B';
+            default:
+                throw new IllegalArgumentException("invalid color");
+        }
+    }
+
+    /**
+     * Convertit une case du protocole ({@code d3} : colonne puis ligne) en indice de case.
+     *
+     * @param texte La case.
+     * @return L'indice de la case.
+     * @throws IllegalArgumentException Si la case n'est pas sur le plateau.
+     */
+    private static int lireCase(String texte) {
+        if (texte.length() != 2) {
+            throw new IllegalArgumentException("invalid coordinate");
+        }
+        int colonne = Character.toUpperCase(texte.charAt(0)) - 'A';
+        int ligne = texte.charAt(1) - '1';
+        try {
+            return Coup.obtenir(ligne, colonne).getIndiceCase();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid coordinate");
+        }
+    }
+
+    /**
+     * Écrit une case sous la forme du protocole.
+     *
+     * @param indiceCase L'indice de la case.
+     * @return La case ({@code d3}).
+     */
+    private static String ecrireCase(int indiceCase) {
+        return (char) ('a' + (indiceCase & 7)) + String.valueOf((indiceCase >>> 3) + 1);
+    }
+
+    /**
+     * Vérifie qu'un nombre exact d'arguments a été fourni.
+     *
+     * @param arguments Les arguments.
+     * @param nombre    Le nombre attendu.
+     * @throws IllegalArgumentException Si le nombre ne correspond pas.
+     */
+    private static void verifierNombreArguments(String[] arguments, int nombre) {
+        if (arguments.length != nombre) {
+            throw new IllegalArgumentException("syntax error");
+        }
+    }
+
+    /**
+     * Vérifie que la couleur indiquée est celle du joueur au trait.
+     *
+     * @param auTrait true si c'est le cas.
+     * @throws IllegalArgumentException Sinon.
+     */
+    private static void verifierTrait(boolean auTrait) {
+        if (!auTrait) {
+            throw new IllegalArgumentException("ce n'est pas au tour de cette couleur");
+        }
+    }
+}
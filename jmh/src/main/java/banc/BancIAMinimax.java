@@ -0,0 +1,60 @@
+package banc;
+
+import modele.BaseParties;
+import modele.BibliothequeOuvertures;
+import modele.IAMinimax;
+import modele.PartieOthello;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import outils.Positions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Banc d'essai de {@link IAMinimax#jouerCoup(PartieOthello, char)} à plusieurs profondeurs,
+ * sur 64 positions de milieu de partie tirées d'une graine fixe, sans bibliothèque
+ * d'ouvertures ni base de parties. La table, petite, est effacée avant chaque coup : chaque
+ * position est recherchée sans rien connaître d'avance.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BancIAMinimax {
+    @Param({"2", "4", "6"})
+    private int profondeur;
+
+    private PartieOthello[] positions;
+    private IAMinimax ia;
+    private int indice;
+
+    /**
+     * Tire les positions et construit l'IA de la profondeur mesurée.
+     */
+    @Setup
+    public void preparer() {
+        positions = Positions.aleatoires(BancPartieOthello.NB_POSITIONS, 12, 30, BancPartieOthello.GRAINE + 1)
+                .toArray(new PartieOthello[0]);
+        ia = new IAMinimax(profondeur, 0, 1);
+        ia.setBibliotheque(BibliothequeOuvertures.vide());
+        ia.setBaseParties(BaseParties.vide());
+    }
+
+    @Benchmark
+    public int[] jouerCoup() {
+        PartieOthello partie = positions[indice++ & (positions.length - 1)];
+        ia.reinitialiser();
+        return ia.jouerCoup(partie, partie.getJoueurCourant().getCouleur());
+    }
+}
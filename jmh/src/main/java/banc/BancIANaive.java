@@ -0,0 +1,51 @@
+package banc;
+
+import modele.BibliothequeOuvertures;
+import modele.IANaive;
+import modele.PartieOthello;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import outils.Positions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Banc d'essai de {@link IANaive#jouerCoup(PartieOthello, char)} sur les positions de
+ * {@link BancIAMinimax}, sans bibliothèque d'ouvertures.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BancIANaive {
+    private PartieOthello[] positions;
+    private IANaive ia;
+    private int indice;
+
+    /**
+     * Tire les positions et construit l'IA.
+     */
+    @Setup
+    public void preparer() {
+        positions = Positions.aleatoires(BancPartieOthello.NB_POSITIONS, 12, 30, BancPartieOthello.GRAINE + 1)
+                .toArray(new PartieOthello[0]);
+        ia = new IANaive();
+        ia.setBibliotheque(BibliothequeOuvertures.vide());
+    }
+
+    @Benchmark
+    public int[] jouerCoup() {
+        PartieOthello partie = positions[indice++ & (positions.length - 1)];
+        return ia.jouerCoup(partie, partie.getJoueurCourant().getCouleur());
+    }
+}
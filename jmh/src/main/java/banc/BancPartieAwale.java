@@ -0,0 +1,67 @@
+package banc;
+
+import modele.PartieAwale;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import outils.Positions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bancs d'essai des opérations de {@link PartieAwale} sur 64 positions tirées d'une graine
+ * fixe. Les coups sont joués sur des copies : les positions ne changent jamais.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BancPartieAwale {
+    private PartieAwale[] positions;
+    private String[] coups;
+    private int indice;
+
+    /**
+     * Tire les positions et le premier coup valide de chacune.
+     */
+    @Setup
+    public void preparer() {
+        positions = Positions.aleatoiresAwale(BancPartieOthello.NB_POSITIONS, BancPartieOthello.GRAINE)
+                .toArray(new PartieAwale[0]);
+        coups = new String[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            coups[i] = Positions.coupJouable(positions[i]);
+        }
+    }
+
+    @Benchmark
+    public PartieAwale copier() {
+        return positions[suivant()].copier();
+    }
+
+    @Benchmark
+    public PartieAwale copierJouerCoup() {
+        int i = suivant();
+        PartieAwale copie = positions[i].copier();
+        copie.jouerCoup(coups[i]);
+        return copie;
+    }
+
+    /**
+     * Retourne l'indice de la position suivante, en boucle.
+     *
+     * @return L'indice.
+     */
+    private int suivant() {
+        return indice++ & (positions.length - 1);
+    }
+}
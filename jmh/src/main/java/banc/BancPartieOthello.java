@@ -0,0 +1,117 @@
+package banc;
+
+import modele.PartieOthello;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import outils.Positions;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bancs d'essai des opérations de {@link PartieOthello} sur 64 positions de milieu de partie
+ * tirées d'une graine fixe, parcourues en boucle. Les opérations qui modifient une position
+ * l'annulent ou travaillent sur une copie, si bien que chaque mesure voit les mêmes positions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BancPartieOthello {
+    static final long GRAINE = 20240917L;
+    static final int NB_POSITIONS = 64; // Une puissance de 2
+
+    private PartieOthello[] positions;
+    private int[][] coups;
+    private final int[] tampon = new int[64];
+    private int indice;
+
+    /**
+     * Tire les positions et le premier coup possible de chacune.
+     */
+    @Setup
+    public void preparer() {
+        positions = Positions.aleatoires(NB_POSITIONS, 10, 40, GRAINE).toArray(new PartieOthello[0]);
+        coups = new int[NB_POSITIONS][];
+        for (int i = 0; i < NB_POSITIONS; i++) {
+            coups[i] = positions[i].getCoupsPossibles(positions[i].getJoueurCourant().getCouleur()).get(0);
+        }
+    }
+
+    @Benchmark
+    public List<int[]> getCoupsPossibles() {
+        PartieOthello partie = positions[suivant()];
+        return partie.getCoupsPossibles(partie.getJoueurCourant().getCouleur());
+    }
+
+    @Benchmark
+    public int remplirCoupsPossibles() {
+        PartieOthello partie = positions[suivant()];
+        return partie.remplirCoupsPossibles(partie.getJoueurCourant().getCouleur(), tampon);
+    }
+
+    @Benchmark
+    public boolean estTerminee() {
+        return positions[suivant()].estTerminee();
+    }
+
+    @Benchmark
+    public long effectuerCoupAnnulerCoup() {
+        int i = suivant();
+        PartieOthello partie = positions[i];
+        partie.effectuerCoup(coups[i][0] * 8 + coups[i][1]);
+        long hash = partie.getHash();
+        partie.annulerCoup();
+        return hash;
+    }
+
+    @Benchmark
+    public boolean effectuerCoupEstTerminee() {
+        int i = suivant();
+        PartieOthello partie = positions[i];
+        partie.effectuerCoup(coups[i][0] * 8 + coups[i][1]);
+        boolean terminee = partie.estTerminee();
+        partie.annulerCoup();
+        return terminee;
+    }
+
+    @Benchmark
+    public PartieOthello copier() {
+        return positions[suivant()].copier();
+    }
+
+    @Benchmark
+    public PartieOthello copierJouerCoup() {
+        int i = suivant();
+        PartieOthello copie = positions[i].copier();
+        copie.jouerCoup(coups[i][0], coups[i][1]);
+        return copie;
+    }
+
+    @Benchmark
+    public PartieOthello copierJouerCoupTexte() {
+        int i = suivant();
+        PartieOthello copie = positions[i].copier();
+        copie.jouerCoup((coups[i][0] + 1) + " " + (char) ('A' + coups[i][1]));
+        return copie;
+    }
+
+    /**
+     * Retourne l'indice de la position suivante, en boucle.
+     *
+     * @return L'indice.
+     */
+    private int suivant() {
+        return indice++ & (NB_POSITIONS - 1);
+    }
+}